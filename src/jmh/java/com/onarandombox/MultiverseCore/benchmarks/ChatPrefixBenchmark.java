@@ -0,0 +1,42 @@
+package com.onarandombox.MultiverseCore.benchmarks;
+
+import com.onarandombox.MultiverseCore.listeners.MVAsyncPlayerChatListener;
+import org.bukkit.event.player.AsyncPlayerChatEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChatPrefixBenchmark {
+
+    private MVAsyncPlayerChatListener listener;
+
+    @Setup
+    public void setUp(MultiverseState state) {
+        state.core.getMVConfig().setPrefixChat(true);
+        listener = new MVAsyncPlayerChatListener(state.core, state.core.getPlayerListener());
+    }
+
+    @Benchmark
+    public String prefixChat(MultiverseState state) {
+        AsyncPlayerChatEvent event = new AsyncPlayerChatEvent(false, state.player, "Hello!",
+                Collections.emptySet());
+        listener.playerChat(event);
+        return event.getFormat();
+    }
+}
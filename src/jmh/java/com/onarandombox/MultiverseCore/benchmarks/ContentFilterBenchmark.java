@@ -0,0 +1,71 @@
+package com.onarandombox.MultiverseCore.benchmarks;
+
+import com.onarandombox.MultiverseCore.display.ContentFilter;
+import org.bukkit.ChatColor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Compares plain {@link ContentFilter} matching against the regex matching it used to do, on world list lines.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContentFilterBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int worlds;
+
+    private List<String> lines;
+    private ContentFilter filter;
+    private Pattern regex;
+
+    @Setup
+    public void setUp() {
+        lines = new ArrayList<>(worlds);
+        for (int i = 0; i < worlds; i++) {
+            lines.add(ChatColor.AQUA + "world_" + i + ChatColor.WHITE + " - " + ChatColor.GREEN + "NORMAL");
+        }
+        filter = new ContentFilter("LD_9");
+        regex = Pattern.compile("(?i).*ld_9.*");
+    }
+
+    @Benchmark
+    public int checkMatch() {
+        int matched = 0;
+        for (String line : lines) {
+            if (filter.checkMatch(line)) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    @Benchmark
+    public int regexMatch() {
+        int matched = 0;
+        for (String line : lines) {
+            if (regex.matcher(ChatColor.stripColor(line)).find()) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+}
@@ -0,0 +1,41 @@
+package com.onarandombox.MultiverseCore.benchmarks;
+
+import com.onarandombox.MultiverseCore.api.MVDestination;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DestinationFactoryBenchmark {
+
+    @Benchmark
+    public MVDestination worldDestinationCached(MultiverseState state) {
+        return state.core.getDestFactory().getDestination("w:world_" + (state.worlds - 1));
+    }
+
+    @Benchmark
+    public MVDestination exactDestinationParsed(MultiverseState state) {
+        return state.core.getDestFactory().getDestination("e:world_" + (state.worlds - 1) + ":10,64,10:0:90");
+    }
+
+    @Benchmark
+    public MVDestination worldDestinationParsed(MultiverseState state) {
+        state.core.getDestFactory().invalidateCache();
+        return state.core.getDestFactory().getDestination("w:world_" + (state.worlds - 1));
+    }
+
+    @Benchmark
+    public MVDestination invalidDestination(MultiverseState state) {
+        return state.core.getDestFactory().getDestination("no_such_world");
+    }
+}
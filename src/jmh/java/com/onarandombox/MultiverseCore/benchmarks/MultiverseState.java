@@ -0,0 +1,69 @@
+package com.onarandombox.MultiverseCore.benchmarks;
+
+import com.onarandombox.MultiverseCore.MultiverseCore;
+import com.onarandombox.MultiverseCore.api.MultiverseWorld;
+import com.onarandombox.MultiverseCore.utils.TestInstanceCreator;
+import org.bukkit.World;
+import org.bukkit.WorldType;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A Multiverse instance on the mocked server of the tests, with a fixed set of synthetic worlds.
+ *
+ * <p>Worlds are named {@code world_0} to {@code world_N-1}, with the aliases {@code alias_0} to {@code alias_N-1}.
+ * Everything Bukkit does is a Mockito mock, so compare numbers between runs rather than reading them as is.</p>
+ */
+@State(Scope.Benchmark)
+public class MultiverseState {
+
+    @Param({"10", "100", "1000"})
+    public int worlds;
+
+    public MultiverseCore core;
+    public Player player;
+    /**
+     * The last world that was added, lookups for it can't get lucky.
+     */
+    public MultiverseWorld lastWorld;
+
+    private TestInstanceCreator creator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        creator = new TestInstanceCreator();
+        if (!creator.setUp()) {
+            throw new IllegalStateException("Could not set up the mocked server.");
+        }
+        core = creator.getCore();
+        for (int i = 0; i < worlds; i++) {
+            String name = "world_" + i;
+            core.getMVWorldManager().addWorld(name, World.Environment.NORMAL, String.valueOf(i), WorldType.NORMAL,
+                    true, null);
+            lastWorld = core.getMVWorldManager().getMVWorld(name);
+            lastWorld.setAlias("alias_" + i);
+        }
+
+        player = mock(Player.class);
+        when(player.getName()).thenReturn("Benchmarker");
+        when(player.getDisplayName()).thenReturn("Benchmarker");
+        when(player.getWorld()).thenReturn(lastWorld.getCBWorld());
+        when(player.getLocation()).thenReturn(lastWorld.getSpawnLocation());
+        when(player.hasPermission(anyString())).thenReturn(true);
+        when(player.isPermissionSet(anyString())).thenReturn(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        creator.tearDown();
+    }
+}
@@ -0,0 +1,30 @@
+package com.onarandombox.MultiverseCore.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PermissionsBenchmark {
+
+    @Benchmark
+    public boolean hasPermission(MultiverseState state) {
+        return state.core.getMVPerms().hasPermission(state.player,
+                "multiverse.access.world_" + (state.worlds - 1), false);
+    }
+
+    @Benchmark
+    public boolean canEnterWorld(MultiverseState state) {
+        return state.core.getMVPerms().canEnterWorld(state.player, state.lastWorld);
+    }
+}
@@ -0,0 +1,31 @@
+package com.onarandombox.MultiverseCore.benchmarks;
+
+import org.bukkit.Location;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SafeTeleporterBenchmark {
+
+    @Benchmark
+    public Location getSafeLocationOnGround(MultiverseState state) {
+        return state.core.getSafeTTeleporter().getSafeLocation(new Location(state.lastWorld.getCBWorld(), 10, 64, 10));
+    }
+
+    @Benchmark
+    public Location getSafeLocationInGround(MultiverseState state) {
+        // The mocked worlds are dirt below y 64, so this has to search upwards.
+        return state.core.getSafeTTeleporter().getSafeLocation(new Location(state.lastWorld.getCBWorld(), 10, 60, 10));
+    }
+}
@@ -0,0 +1,96 @@
+package com.onarandombox.MultiverseCore.benchmarks;
+
+import com.onarandombox.MultiverseCore.WorldProperties;
+import com.onarandombox.MultiverseCore.utils.TestInstanceCreator;
+import com.onarandombox.MultiverseCore.utils.WorldManager;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the heap the properties of unloaded worlds take while they're compacted, against while they're inflated.
+ *
+ * <p>Each call reads the used heap after a full GC with the worlds compacted, inflates all of them through
+ * {@link WorldManager#getConfigWorlds()}, reads it again and compacts them again. The heap saved per world is reported
+ * as the {@code savedBytesPerWorld} secondary result. The time is mostly the GCs, only the secondary result matters.
+ * Run with {@code -Djmh.include=WorldConfigMemory}.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WorldConfigMemoryBenchmark {
+    private static final int GC_ROUNDS = 3;
+
+    @Param({"1000"})
+    public int worlds;
+
+    private TestInstanceCreator creator;
+    private WorldManager worldManager;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class HeapCounters {
+        public long savedBytesPerWorld;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        creator = new TestInstanceCreator();
+        if (!creator.setUp()) {
+            throw new IllegalStateException("Could not set up the mocked server.");
+        }
+        worldManager = (WorldManager) creator.getCore().getMVWorldManager();
+        YamlConfiguration config = new YamlConfiguration();
+        for (int i = 0; i < worlds; i++) {
+            WorldProperties props = new WorldProperties();
+            props.setAlias("alias_" + i);
+            // Worlds that aren't loaded are the ones that get compacted.
+            props.setAutoLoad(false);
+            config.set("worlds.unloaded_" + i, props);
+        }
+        worldManager.loadWorldConfig(config);
+        worldManager.loadWorlds(false);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        creator.tearDown();
+    }
+
+    @Benchmark
+    public FileConfiguration inflateAndCompact(HeapCounters counters) {
+        long compacted = usedHeap();
+        FileConfiguration inflated = worldManager.getConfigWorlds();
+        long inflatedHeap = usedHeap();
+        counters.savedBytesPerWorld = (inflatedHeap - compacted) / worlds;
+        // Loading the worlds compacts the ones that aren't loaded again.
+        worldManager.loadWorlds(false);
+        return inflated;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < GC_ROUNDS; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
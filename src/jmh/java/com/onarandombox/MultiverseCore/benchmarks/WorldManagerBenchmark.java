@@ -0,0 +1,35 @@
+package com.onarandombox.MultiverseCore.benchmarks;
+
+import com.onarandombox.MultiverseCore.api.MultiverseWorld;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorldManagerBenchmark {
+
+    @Benchmark
+    public MultiverseWorld getMVWorldByName(MultiverseState state) {
+        return state.core.getMVWorldManager().getMVWorld("world_" + (state.worlds - 1));
+    }
+
+    @Benchmark
+    public MultiverseWorld getMVWorldByAlias(MultiverseState state) {
+        return state.core.getMVWorldManager().getMVWorld("alias_" + (state.worlds - 1));
+    }
+
+    @Benchmark
+    public MultiverseWorld getMVWorldMissing(MultiverseState state) {
+        return state.core.getMVWorldManager().getMVWorld("no_such_world");
+    }
+}
@@ -0,0 +1,44 @@
+package com.onarandombox.MultiverseCore.benchmarks;
+
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Zombie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WorldPurgerBenchmark {
+
+    private Zombie zombie;
+
+    @Setup
+    public void setUp(MultiverseState state) {
+        zombie = mock(Zombie.class);
+        when(zombie.getType()).thenReturn(EntityType.ZOMBIE);
+        when(zombie.getWorld()).thenReturn(state.lastWorld.getCBWorld());
+        state.lastWorld.getMonsterList().add("ZOMBIE");
+        state.lastWorld.getMonsterList().add("SKELETON");
+    }
+
+    @Benchmark
+    public boolean shouldWeKillThisCreature(MultiverseState state) {
+        return state.core.getMVWorldManager().getTheWorldPurger().shouldWeKillThisCreature(state.lastWorld, zombie);
+    }
+}
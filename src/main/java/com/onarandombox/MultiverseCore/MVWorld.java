@@ -16,7 +16,9 @@ import com.onarandombox.MultiverseCore.configuration.SpawnSettings;
 import com.onarandombox.MultiverseCore.configuration.WorldPropertyValidator;
 import com.onarandombox.MultiverseCore.enums.AllowedPortalType;
 import com.onarandombox.MultiverseCore.enums.EnglishChatColor;
+import com.onarandombox.MultiverseCore.exceptions.PropertyChangeDeniedException;
 import com.onarandombox.MultiverseCore.exceptions.PropertyDoesNotExistException;
+import com.onarandombox.MultiverseCore.utils.PermissionBatch;
 import me.main__.util.SerializationConfig.ChangeDeniedException;
 import me.main__.util.SerializationConfig.NoSuchPropertyException;
 import me.main__.util.SerializationConfig.VirtualProperty;
@@ -29,6 +31,7 @@ import org.bukkit.World;
 import org.bukkit.World.Environment;
 import org.bukkit.WorldType;
 import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.serialization.ConfigurationSerializable;
 import org.bukkit.configuration.serialization.SerializableAs;
 import org.bukkit.entity.Player;
 import org.bukkit.permissions.Permission;
@@ -37,9 +40,13 @@ import org.bukkit.util.Vector;
 import org.jetbrains.annotations.Nullable;
 import org.json.simple.JSONObject;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.logging.Level;
 
@@ -54,6 +61,10 @@ public class MVWorld implements MultiverseWorld {
     private final String name; // The Worlds Name, EG its folder name.
     private final UUID worldUID;
     private final WorldProperties props;
+    // Set while setPropertyValues() runs, so the spawning-property is applied once at the end.
+    private boolean changingProperties;
+    private boolean spawningChanged;
+    private volatile WorldRules rules;
 
     public MVWorld(MultiverseCore plugin, World world, WorldProperties properties) {
         this(plugin, world, properties, true);
@@ -92,6 +103,7 @@ public class MVWorld implements MultiverseWorld {
         this.props.flushChanges();
 
         validateProperties();
+        this.rules = WorldRules.compile(this.props);
     }
 
     private void setupProperties() {
@@ -261,34 +273,46 @@ public class MVWorld implements MultiverseWorld {
         @Override
         public SpawnSettings validateChange(String property, SpawnSettings newValue, SpawnSettings oldValue,
                                       MVWorld object) throws ChangeDeniedException {
-            boolean allowMonsters, allowAnimals;
-            if (getAnimalList().isEmpty()) {
-                allowAnimals = canAnimalsSpawn();
+            if (MVWorld.this.changingProperties) {
+                // Applied once when all properties are set.
+                MVWorld.this.spawningChanged = true;
             } else {
-                allowAnimals = true;
-            }
-            if (getMonsterList().isEmpty()) {
-                allowMonsters = canMonstersSpawn();
-            } else {
-                allowMonsters = true;
-            }
-            final World world = getCBWorld();
-            if (world != null) {
-                if (MVWorld.this.props.getAnimalSpawnRate() != -1) {
-                    world.setTicksPerAnimalSpawns(MVWorld.this.props.getAnimalSpawnRate());
+                applySpawning();
+                if (MultiverseCoreConfiguration.getInstance().isAutoPurgeEnabled()) {
+                    plugin.getMVWorldManager().getTheWorldPurger().purgeWorld(MVWorld.this);
                 }
-                if (MVWorld.this.props.getMonsterSpawnRate() != -1) {
-                    world.setTicksPerMonsterSpawns(MVWorld.this.props.getMonsterSpawnRate());
-                }
-                world.setSpawnFlags(allowMonsters, allowAnimals);
-            }
-            if (MultiverseCoreConfiguration.getInstance().isAutoPurgeEnabled()) {
-                plugin.getMVWorldManager().getTheWorldPurger().purgeWorld(MVWorld.this);
             }
             return super.validateChange(property, newValue, oldValue, object);
         }
     }
 
+    /**
+     * Applies the spawning-property to the world.
+     */
+    private void applySpawning() {
+        boolean allowMonsters, allowAnimals;
+        if (getAnimalList().isEmpty()) {
+            allowAnimals = canAnimalsSpawn();
+        } else {
+            allowAnimals = true;
+        }
+        if (getMonsterList().isEmpty()) {
+            allowMonsters = canMonstersSpawn();
+        } else {
+            allowMonsters = true;
+        }
+        final World world = getCBWorld();
+        if (world != null) {
+            if (this.props.getAnimalSpawnRate() != -1) {
+                world.setTicksPerAnimalSpawns(this.props.getAnimalSpawnRate());
+            }
+            if (this.props.getMonsterSpawnRate() != -1) {
+                world.setTicksPerMonsterSpawns(this.props.getMonsterSpawnRate());
+            }
+            world.setSpawnFlags(allowMonsters, allowAnimals);
+        }
+    }
+
     /**
      * Used to apply the gameMode-property.
      */
@@ -407,9 +431,9 @@ public class MVWorld implements MultiverseWorld {
             this.addToUpperLists(this.permission);
 
             // Add ignore to it's parent:
-            this.ignoreperm.addParent("mv.bypass.gamemode.*", true);
+            this.addToParent(this.ignoreperm, "mv.bypass.gamemode.*");
             // Add limit bypass to it's parent
-            this.limitbypassperm.addParent("mv.bypass.playerlimit.*", true);
+            this.addToParent(this.limitbypassperm, "mv.bypass.playerlimit.*");
         } catch (IllegalArgumentException e) {
             Logging.finer("Permissions nodes were already added for " + this.name);
         }
@@ -457,6 +481,20 @@ public class MVWorld implements MultiverseWorld {
         return location;
     }
 
+    /**
+     * Like {@link Permission#addParent(String, boolean)}, but the parent is recalculated through the
+     * {@link PermissionBatch}.
+     */
+    private void addToParent(Permission perm, String parentName) {
+        Permission parent = this.plugin.getServer().getPluginManager().getPermission(parentName);
+        if (parent == null) {
+            parent = new Permission(parentName);
+            this.plugin.getServer().getPluginManager().addPermission(parent);
+        }
+        parent.getChildren().put(perm.getName(), true);
+        this.plugin.getPermissionBatch().recalculate(parent);
+    }
+
     private void addToUpperLists(Permission perm) {
         Permission all = this.plugin.getServer().getPluginManager().getPermission("multiverse.*");
         Permission allWorlds = this.plugin.getServer().getPluginManager().getPermission("multiverse.access.*");
@@ -476,11 +514,16 @@ public class MVWorld implements MultiverseWorld {
             all = new Permission("multiverse.*");
             this.plugin.getServer().getPluginManager().addPermission(all);
         }
-        all.getChildren().put("multiverse.access.*", true);
-        all.getChildren().put("multiverse.exempt.*", true);
+        boolean allChanged = all.getChildren().put("multiverse.access.*", true) == null;
+        allChanged |= all.getChildren().put("multiverse.exempt.*", true) == null;
 
-        this.plugin.getServer().getPluginManager().recalculatePermissionDefaults(all);
-        this.plugin.getServer().getPluginManager().recalculatePermissionDefaults(allWorlds);
+        // Deferred while worlds are loaded in bulk, so the parents aren't recalculated for every world.
+        PermissionBatch batch = this.plugin.getPermissionBatch();
+        if (allChanged) {
+            batch.recalculate(all);
+        }
+        batch.recalculate(allWorlds);
+        batch.recalculate(allExemption);
     }
 
     /**
@@ -488,7 +531,10 @@ public class MVWorld implements MultiverseWorld {
      * @param other The other world object.
      */
     public void copyValues(MVWorld other) {
+        // Not through the WorldPropertyAccessors, the SerializationConfig has to copy the virtual properties.
         props.copyValues(other.props);
+        this.rules = WorldRules.compile(this.props);
+        this.rulesChanged();
     }
 
     /**
@@ -497,6 +543,106 @@ public class MVWorld implements MultiverseWorld {
      */
     public void copyValues(WorldProperties other) {
         props.copyValues(other);
+        this.rules = WorldRules.compile(this.props);
+        this.rulesChanged();
+    }
+
+    /**
+     * Gets the rules the listeners check, compiled from the current properties.
+     * @return The {@link WorldRules}.
+     */
+    public WorldRules getRules() {
+        return this.rules;
+    }
+
+    /**
+     * Replaces the rules for a property that is about to change.
+     * <p>
+     * Called once a change is validated, before the property is set, so the new value is passed on.
+     *
+     * @param property The name of the property.
+     * @param value Its new value.
+     */
+    public void updateRules(String property, Object value) {
+        // Not compiled yet while the world is set up.
+        if (this.rules != null) {
+            WorldRules old = this.rules;
+            this.rules = old.with(property, value);
+            if (this.rules != old) {
+                this.rulesChanged();
+            }
+        }
+    }
+
+    private void rulesChanged() {
+        if (this.plugin.getFeatureListeners() != null) {
+            // A world that turns a feature off may need its listener.
+            this.plugin.getFeatureListeners().update();
+        }
+    }
+
+    /**
+     * Takes over the properties that were reloaded from the config, only setting the ones that changed.
+     * <p>
+     * The changed properties go through {@link #setPropertyValues(Map)}, so their validators apply them to the world.
+     * If one can't be set from its string form, like a list, or is refused, all values are copied instead.
+     *
+     * @param other The reloaded world properties object.
+     * @return True if any property changed.
+     */
+    public boolean reloadValues(WorldProperties other) {
+        Map<String, Object> current = flatten(this.props.serialize());
+        Map<String, Object> reloaded = flatten(other.serialize());
+        if (current.equals(reloaded)) {
+            return false;
+        }
+        Map<String, String> changes = new LinkedHashMap<String, String>();
+        boolean copyAll = !current.keySet().equals(reloaded.keySet());
+        for (Map.Entry<String, Object> entry : reloaded.entrySet()) {
+            if (copyAll) {
+                break;
+            }
+            if (!Objects.equals(entry.getValue(), current.get(entry.getKey()))) {
+                copyAll = entry.getValue() instanceof Collection;
+                changes.put(entry.getKey(), String.valueOf(entry.getValue()));
+            }
+        }
+        if (!copyAll) {
+            try {
+                this.setPropertyValues(changes);
+                Logging.fine("Reloaded %s of '%s'.", changes.keySet(), this.getName());
+                return true;
+            } catch (PropertyDoesNotExistException e) {
+                Logging.finer("Can't set '%s' of '%s' by itself, copying all values.", e.getMessage(), this.getName());
+            } catch (PropertyChangeDeniedException e) {
+                Logging.finer("'%s' refused '%s', copying all values.", this.getName(), e.getProperty());
+            }
+        }
+        this.copyValues(other);
+        return true;
+    }
+
+    /**
+     * Flattens serialized properties into dotted paths, so nested properties can be compared one by one.
+     */
+    private static Map<String, Object> flatten(Map<String, Object> serialized) {
+        Map<String, Object> flat = new LinkedHashMap<String, Object>();
+        flatten("", serialized, flat);
+        return flat;
+    }
+
+    private static void flatten(String prefix, Map<?, ?> serialized, Map<String, Object> flat) {
+        for (Map.Entry<?, ?> entry : serialized.entrySet()) {
+            String path = prefix + entry.getKey();
+            Object value = entry.getValue();
+            if (value instanceof ConfigurationSerializable) {
+                flatten(path + ".", ((ConfigurationSerializable) value).serialize(), flat);
+            } else if (value instanceof Map) {
+                flatten(path + ".", (Map<?, ?>) value, flat);
+            } else {
+                flat.put(path, value);
+            }
+        }
     }
 
     /**
@@ -598,6 +744,8 @@ public class MVWorld implements MultiverseWorld {
     private List<String> getOldAndEvilList(String property) {
         if (property.equalsIgnoreCase("worldblacklist"))
             return this.props.getWorldBlacklist();
+        else if (property.equalsIgnoreCase("hazardblocks"))
+            return this.props.getHazardBlocks();
         else if (property.equalsIgnoreCase("animals"))
             return this.props.getAnimalList();
         else if (property.equalsIgnoreCase("monsters"))
@@ -610,6 +758,10 @@ public class MVWorld implements MultiverseWorld {
      */
     @Override
     public String getPropertyValue(String property) throws PropertyDoesNotExistException {
+        String value = WorldPropertyAccessors.getValue(this.props, property);
+        if (value != null) {
+            return value;
+        }
         try {
             return this.props.getProperty(property, true);
         } catch (NoSuchPropertyException e) {
@@ -629,6 +781,53 @@ public class MVWorld implements MultiverseWorld {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setPropertyValues(Map<String, String> properties)
+            throws PropertyDoesNotExistException, PropertyChangeDeniedException {
+        List<Map.Entry<String, String>> changes = new ArrayList<Map.Entry<String, String>>(properties.entrySet());
+        // Remember the old values first, this also makes sure every property exists before anything changes.
+        List<String> oldValues = new ArrayList<String>(changes.size());
+        for (Map.Entry<String, String> change : changes) {
+            oldValues.add(this.getPropertyValue(change.getKey()));
+        }
+
+        this.changingProperties = true;
+        this.spawningChanged = false;
+        String denied = null;
+        try {
+            int applied = 0;
+            for (; applied < changes.size(); applied++) {
+                Map.Entry<String, String> change = changes.get(applied);
+                if (!this.setPropertyValue(change.getKey(), change.getValue())) {
+                    denied = change.getKey();
+                    break;
+                }
+            }
+            if (denied != null) {
+                Logging.fine("'%s' refused a value for '%s', reverting %d changes.", this.getName(), denied, applied);
+                for (int i = applied - 1; i >= 0; i--) {
+                    this.setPropertyValue(changes.get(i).getKey(), oldValues.get(i));
+                }
+            }
+        } finally {
+            this.changingProperties = false;
+        }
+
+        if (this.spawningChanged) {
+            this.spawningChanged = false;
+            this.applySpawning();
+            if (denied == null && MultiverseCoreConfiguration.getInstance().isAutoPurgeEnabled()) {
+                this.plugin.getMVWorldManager().getTheWorldPurger().purgeWorld(this);
+            }
+        }
+        if (denied != null) {
+            throw new PropertyChangeDeniedException(denied);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -841,6 +1040,14 @@ public class MVWorld implements MultiverseWorld {
         return this.props.getWorldBlacklist();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getHazardBlocks() {
+        return this.props.getHazardBlocks();
+    }
+
     /**
      * {@inheritDoc}
      */
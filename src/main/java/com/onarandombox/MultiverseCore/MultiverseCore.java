@@ -56,6 +56,8 @@ import com.onarandombox.MultiverseCore.commands.ModifyClearCommand;
 import com.onarandombox.MultiverseCore.commands.ModifyCommand;
 import com.onarandombox.MultiverseCore.commands.ModifyRemoveCommand;
 import com.onarandombox.MultiverseCore.commands.ModifySetCommand;
+import com.onarandombox.MultiverseCore.commands.PerfCommand;
+import com.onarandombox.MultiverseCore.commands.PregenCommand;
 import com.onarandombox.MultiverseCore.commands.PurgeCommand;
 import com.onarandombox.MultiverseCore.commands.RegenCommand;
 import com.onarandombox.MultiverseCore.commands.ReloadCommand;
@@ -75,12 +77,16 @@ import com.onarandombox.MultiverseCore.destination.CannonDestination;
 import com.onarandombox.MultiverseCore.destination.DestinationFactory;
 import com.onarandombox.MultiverseCore.destination.ExactDestination;
 import com.onarandombox.MultiverseCore.destination.PlayerDestination;
+import com.onarandombox.MultiverseCore.destination.RandomDestination;
 import com.onarandombox.MultiverseCore.destination.WorldDestination;
 import com.onarandombox.MultiverseCore.event.MVDebugModeEvent;
 import com.onarandombox.MultiverseCore.event.MVVersionEvent;
 import com.onarandombox.MultiverseCore.listeners.MVAsyncPlayerChatListener;
+import com.onarandombox.MultiverseCore.listeners.MVAutoHealListener;
 import com.onarandombox.MultiverseCore.listeners.MVChatListener;
+import com.onarandombox.MultiverseCore.listeners.MVEnderPortalListener;
 import com.onarandombox.MultiverseCore.listeners.MVEntityListener;
+import com.onarandombox.MultiverseCore.listeners.MVHungerListener;
 import com.onarandombox.MultiverseCore.listeners.MVMapListener;
 import com.onarandombox.MultiverseCore.listeners.MVPlayerChatListener;
 import com.onarandombox.MultiverseCore.listeners.MVPlayerListener;
@@ -89,14 +95,22 @@ import com.onarandombox.MultiverseCore.listeners.MVWeatherListener;
 import com.onarandombox.MultiverseCore.listeners.MVWorldInitListener;
 import com.onarandombox.MultiverseCore.listeners.MVWorldListener;
 import com.onarandombox.MultiverseCore.utils.AnchorManager;
+import com.onarandombox.MultiverseCore.utils.BedSpawnCache;
+import com.onarandombox.MultiverseCore.utils.ChunkPregenerator;
 import com.onarandombox.MultiverseCore.utils.CompatibilityLayer;
+import com.onarandombox.MultiverseCore.utils.ConfigFileWatcher;
+import com.onarandombox.MultiverseCore.utils.FeatureListeners;
 import com.onarandombox.MultiverseCore.utils.MVEconomist;
 import com.onarandombox.MultiverseCore.utils.MVMessaging;
 import com.onarandombox.MultiverseCore.utils.MVPermissions;
 import com.onarandombox.MultiverseCore.utils.MVPlayerSession;
 import com.onarandombox.MultiverseCore.utils.MaterialConverter;
+import com.onarandombox.MultiverseCore.utils.PermissionBatch;
+import com.onarandombox.MultiverseCore.utils.RandomLocationPool;
 import com.onarandombox.MultiverseCore.utils.TestingMode;
+import com.onarandombox.MultiverseCore.utils.metrics.LatencyProbe;
 import com.onarandombox.MultiverseCore.utils.metrics.MetricsConfigurator;
+import com.onarandombox.MultiverseCore.utils.metrics.PerformanceMonitor;
 import com.onarandombox.MultiverseCore.utils.SimpleBlockSafety;
 import com.onarandombox.MultiverseCore.utils.SimpleLocationManipulation;
 import com.onarandombox.MultiverseCore.utils.SimpleSafeTTeleporter;
@@ -110,6 +124,8 @@ import org.bukkit.ChatColor;
 import org.bukkit.Difficulty;
 import org.bukkit.GameMode;
 import org.bukkit.Location;
+import org.bukkit.PortalType;
+import org.bukkit.World;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.configuration.Configuration;
@@ -133,6 +149,13 @@ public class MultiverseCore extends JavaPlugin implements MVPlugin, Core {
     private static Map<String, String> teleportQueue = new HashMap<String, String>();
 
     private AnchorManager anchorManager = new AnchorManager(this);
+    private final PerformanceMonitor performanceMonitor = new PerformanceMonitor(this);
+    private final PermissionBatch permissionBatch = new PermissionBatch(this);
+    private final ConfigFileWatcher configWatcher = new ConfigFileWatcher(this);
+    private final ChunkPregenerator chunkPregenerator = new ChunkPregenerator(this);
+    private final RandomLocationPool randomLocationPool = new RandomLocationPool(this);
+    private final BedSpawnCache bedSpawnCache = new BedSpawnCache(this);
+    private final FeatureListeners featureListeners = new FeatureListeners(this);
     // TODO please let's make this non-static
     private volatile MultiverseCoreConfiguration config;
 
@@ -215,13 +238,17 @@ public class MultiverseCore extends JavaPlugin implements MVPlugin, Core {
     // Configurations
     private FileConfiguration multiverseConfig = null;
 
-    private final MVWorldManager worldManager = new WorldManager(this);
+    private final WorldManager worldManager = new WorldManager(this);
 
     // Setup the block/player/entity listener.
     private final MVPlayerListener playerListener = new MVPlayerListener(this);
     private final MVEntityListener entityListener = new MVEntityListener(this);
     private final MVWeatherListener weatherListener = new MVWeatherListener(this);
     private final MVPortalListener portalListener = new MVPortalListener(this);
+    // Only registered while a world uses their feature.
+    private final MVHungerListener hungerListener = new MVHungerListener(this);
+    private final MVAutoHealListener autoHealListener = new MVAutoHealListener(this);
+    private final MVEnderPortalListener enderPortalListener = new MVEnderPortalListener(this);
     private final MVWorldListener worldListener = new MVWorldListener(this);
     private MVChatListener chatListener;
 
@@ -315,6 +342,7 @@ public class MultiverseCore extends JavaPlugin implements MVPlugin, Core {
             Logging.severe("Your configs were not loaded. Very little will function in Multiverse.");
         }
         this.anchorManager.loadAnchors();
+        this.chunkPregenerator.loadProgress();
 
         // Now set the firstspawnworld (after the worlds are loaded):
         this.worldManager.setFirstSpawnWorld(getMVConfig().getFirstSpawnWorld());
@@ -335,7 +363,7 @@ public class MultiverseCore extends JavaPlugin implements MVPlugin, Core {
         } else {
             this.chatListener = new MVPlayerChatListener(this, this.playerListener);
         }
-        getServer().getPluginManager().registerEvents(this.chatListener, this);
+        this.performanceMonitor.registerTimedListener(this.chatListener);
 
         this.initializeBuscript();
         this.setupMetrics();
@@ -376,13 +404,26 @@ public class MultiverseCore extends JavaPlugin implements MVPlugin, Core {
 
     private void initializeDestinationFactory() {
         this.destFactory = new DestinationFactory(this);
-        this.destFactory.registerDestinationType(WorldDestination.class, "");
-        this.destFactory.registerDestinationType(WorldDestination.class, "w");
-        this.destFactory.registerDestinationType(ExactDestination.class, "e");
-        this.destFactory.registerDestinationType(PlayerDestination.class, "pl");
-        this.destFactory.registerDestinationType(CannonDestination.class, "ca");
-        this.destFactory.registerDestinationType(BedDestination.class, "b");
-        this.destFactory.registerDestinationType(AnchorDestination.class, "a");
+        this.permissionBatch.begin();
+        try {
+            this.registerDestinationTypes();
+        } finally {
+            this.permissionBatch.end();
+        }
+    }
+
+    private void registerDestinationTypes() {
+        this.destFactory.registerDestinationType(WorldDestination::new, "", true);
+        this.destFactory.registerDestinationType(WorldDestination::new, "w", true);
+        // Exact and cannon destinations can be moved with setDestination(Location), so they can't be shared.
+        this.destFactory.registerDestinationType(ExactDestination::new, "e");
+        this.destFactory.registerDestinationType(PlayerDestination::new, "pl");
+        this.destFactory.registerDestinationType(CannonDestination::new, "ca");
+        // Bed destinations remember the last bed they resolved, so they can't be shared.
+        this.destFactory.registerDestinationType(BedDestination::new, "b");
+        this.destFactory.registerDestinationType(AnchorDestination::new, "a", true);
+        // Random destinations keep the location they took from the pool, every teleport needs a new one.
+        this.destFactory.registerDestinationType(RandomDestination::new, "r");
     }
 
     /**
@@ -390,10 +431,18 @@ public class MultiverseCore extends JavaPlugin implements MVPlugin, Core {
      */
     private void registerEvents() {
         PluginManager pm = getServer().getPluginManager();
-        pm.registerEvents(this.playerListener, this);
-        pm.registerEvents(this.entityListener, this);
-        pm.registerEvents(this.weatherListener, this);
-        pm.registerEvents(this.portalListener, this);
+        // These are timed while the performance monitor is enabled.
+        this.performanceMonitor.registerTimedListener(this.playerListener);
+        this.performanceMonitor.registerTimedListener(this.entityListener);
+        this.performanceMonitor.registerTimedListener(this.portalListener);
+        // These are registered once a world turns their feature off.
+        if (this.featureListeners.isEmpty()) {
+            this.featureListeners.add(this.hungerListener, rules -> !rules.hasHunger());
+            this.featureListeners.add(this.autoHealListener, rules -> !rules.hasAutoHeal());
+            this.featureListeners.add(this.weatherListener, rules -> !rules.isWeatherEnabled());
+            this.featureListeners.add(this.enderPortalListener, rules -> !rules.isPortalAllowed(PortalType.ENDER));
+        }
+        this.featureListeners.start();
         Logging.info(ChatColor.GREEN + "We are aware of the warning about the deprecated event. There is no alternative that allows us to do what we need to do and performance impact is negligible. It is safe to ignore.");
         pm.registerEvents(this.worldListener, this);
         pm.registerEvents(new MVMapListener(this), this);
@@ -404,6 +453,28 @@ public class MultiverseCore extends JavaPlugin implements MVPlugin, Core {
      */
     @Override
     public void loadConfigs() {
+        this.loadMVConfig();
+        this.migrateWorldConfig();
+        this.worldManager.loadWorldConfig(new File(getDataFolder(), "worlds.yml"));
+
+        this.applyMVConfig();
+        this.saveMVConfigs();
+        this.applyDebugLevel();
+        this.configWatcher.setEnabled(getMVConfig().isWatchingConfigFiles());
+    }
+
+    /**
+     * Reloads only config.yml, leaving worlds.yml alone.
+     */
+    public void reloadMVConfig() {
+        this.loadMVConfig();
+        this.applyMVConfig();
+        this.saveMVConfig();
+        this.applyDebugLevel();
+        this.configWatcher.setEnabled(getMVConfig().isWatchingConfigFiles());
+    }
+
+    private void loadMVConfig() {
         // Now grab the Configuration Files.
         this.multiverseConfig = YamlConfiguration.loadConfiguration(new File(getDataFolder(), "config.yml"));
         InputStream resourceURL = this.getClass().getResourceAsStream("/defaults/config.yml");
@@ -429,9 +500,9 @@ public class MultiverseCore extends JavaPlugin implements MVPlugin, Core {
         } finally {
             config = ((wantedConfig == null) ? new MultiverseCoreConfiguration() : wantedConfig);
         }
-        this.migrateWorldConfig();
-        this.worldManager.loadWorldConfig(new File(getDataFolder(), "worlds.yml"));
+    }
 
+    private void applyMVConfig() {
         this.messaging.setCooldown(getMVConfig().getMessageCooldown());
 
         // Remove old values.
@@ -441,8 +512,9 @@ public class MultiverseCore extends JavaPlugin implements MVPlugin, Core {
 
         // Old Config Format
         this.migrate22Values();
-        this.saveMVConfigs();
+    }
 
+    private void applyDebugLevel() {
         int level = Logging.getDebugLevel();
         Logging.setDebugLevel(getMVConfig().getGlobalDebug());
         if (level != Logging.getDebugLevel()) {
@@ -792,6 +864,8 @@ public class MultiverseCore extends JavaPlugin implements MVPlugin, Core {
         this.commandHandler.registerCommand(new ScriptCommand(this));
         this.commandHandler.registerCommand(new GameruleCommand(this));
         this.commandHandler.registerCommand(new GamerulesCommand(this));
+        this.commandHandler.registerCommand(new PerfCommand(this));
+        this.commandHandler.registerCommand(new PregenCommand(this));
     }
 
     /**
@@ -799,7 +873,13 @@ public class MultiverseCore extends JavaPlugin implements MVPlugin, Core {
      */
     @Override
     public void onDisable() {
+        this.configWatcher.setEnabled(false);
+        this.featureListeners.stop();
+        this.chunkPregenerator.shutdown();
+        this.randomLocationPool.shutdown();
         this.saveMVConfigs();
+        // Background saves can't run anymore once we're disabled.
+        this.anchorManager.flushAnchors();
         Logging.shutdown();
     }
 
@@ -1036,6 +1116,16 @@ public class MultiverseCore extends JavaPlugin implements MVPlugin, Core {
         return this.worldManager;
     }
 
+    /**
+     * Gets the rules of a world, which is what the listeners check on every event.
+     *
+     * @param world A bukkit world.
+     * @return The {@link WorldRules} of the world, or null if Multiverse doesn't manage it.
+     */
+    public WorldRules getWorldRules(World world) {
+        return this.worldManager.getRules(world);
+    }
+
     /**
      * Gets the {@link MVPlayerListener}.
      *
@@ -1072,6 +1162,42 @@ public class MultiverseCore extends JavaPlugin implements MVPlugin, Core {
         return this.weatherListener;
     }
 
+    /**
+     * Gets the {@link MVHungerListener}.
+     *
+     * @return The {@link MVHungerListener}.
+     */
+    public MVHungerListener getHungerListener() {
+        return this.hungerListener;
+    }
+
+    /**
+     * Gets the {@link MVAutoHealListener}.
+     *
+     * @return The {@link MVAutoHealListener}.
+     */
+    public MVAutoHealListener getAutoHealListener() {
+        return this.autoHealListener;
+    }
+
+    /**
+     * Gets the {@link MVEnderPortalListener}.
+     *
+     * @return The {@link MVEnderPortalListener}.
+     */
+    public MVEnderPortalListener getEnderPortalListener() {
+        return this.enderPortalListener;
+    }
+
+    /**
+     * Gets the listeners that are only registered while a world uses their feature.
+     *
+     * @return The {@link FeatureListeners}.
+     */
+    public FeatureListeners getFeatureListeners() {
+        return this.featureListeners;
+    }
+
     /**
      * Saves the Multiverse-Config.
      *
@@ -1081,6 +1207,7 @@ public class MultiverseCore extends JavaPlugin implements MVPlugin, Core {
         try {
             this.multiverseConfig.set("multiverse-configuration", getMVConfig());
             this.multiverseConfig.save(new File(getDataFolder(), "config.yml"));
+            this.configWatcher.rememberContents(new File(getDataFolder(), "config.yml"));
             return true;
         } catch (IOException e) {
             Logging.severe("Could not save Multiverse config.yml config. Please check your file permissions.");
@@ -1102,7 +1229,13 @@ public class MultiverseCore extends JavaPlugin implements MVPlugin, Core {
      */
     @Override
     public boolean saveMVConfigs() {
-        return this.saveMVConfig() && this.saveWorldConfig();
+        LatencyProbe probe = this.performanceMonitor.probe("config.save");
+        long start = probe.start();
+        try {
+            return this.saveMVConfig() && this.saveWorldConfig();
+        } finally {
+            probe.stop(start);
+        }
     }
 
     /**
@@ -1157,6 +1290,60 @@ public class MultiverseCore extends JavaPlugin implements MVPlugin, Core {
         return this.anchorManager;
     }
 
+    /**
+     * Gets the monitor that records how much time Multiverse's hot paths take.
+     *
+     * @return The {@link PerformanceMonitor}.
+     */
+    public PerformanceMonitor getPerformanceMonitor() {
+        return this.performanceMonitor;
+    }
+
+    /**
+     * Gets the watcher that reloads the config files when they are changed on disk.
+     *
+     * @return The {@link ConfigFileWatcher}.
+     */
+    public ConfigFileWatcher getConfigWatcher() {
+        return this.configWatcher;
+    }
+
+    /**
+     * Gets the pregenerator that generates chunks around world spawns ahead of time.
+     *
+     * @return The {@link ChunkPregenerator}.
+     */
+    public ChunkPregenerator getChunkPregenerator() {
+        return this.chunkPregenerator;
+    }
+
+    /**
+     * Gets the pool of safe random locations that random teleports take their destination from.
+     *
+     * @return The {@link RandomLocationPool}.
+     */
+    public RandomLocationPool getRandomLocationPool() {
+        return this.randomLocationPool;
+    }
+
+    /**
+     * Gets the cache of the beds of offline players.
+     *
+     * @return The {@link BedSpawnCache}.
+     */
+    public BedSpawnCache getBedSpawnCache() {
+        return this.bedSpawnCache;
+    }
+
+    /**
+     * Gets the batch that defers recalculating parent permissions while many permissions are registered.
+     *
+     * @return The {@link PermissionBatch}.
+     */
+    public PermissionBatch getPermissionBatch() {
+        return this.permissionBatch;
+    }
+
     /**
      * {@inheritDoc}
      */
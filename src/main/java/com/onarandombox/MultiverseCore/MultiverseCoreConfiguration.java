@@ -77,6 +77,12 @@ public class MultiverseCoreConfiguration extends SerializationConfig implements
     private volatile boolean autopurge;
     @Property
     private volatile boolean idonotwanttodonate;
+    @Property
+    private volatile boolean watchconfigfiles;
+    @Property
+    private volatile int pregenmillispertick;
+    @Property
+    private volatile double pregenminimumtps;
 
     public MultiverseCoreConfiguration() {
         super();
@@ -111,6 +117,9 @@ public class MultiverseCoreConfiguration extends SerializationConfig implements
         portalsearchradius = 128;
         autopurge = true;
         idonotwanttodonate = false;
+        watchconfigfiles = false;
+        pregenmillispertick = 10;
+        pregenminimumtps = 18.0;
         // END CHECKSTYLE-SUPPRESSION: MagicNumberCheck
     }
 
@@ -382,4 +391,34 @@ public class MultiverseCoreConfiguration extends SerializationConfig implements
     public void setShowDonateMessage(boolean showDonateMessage) {
         this.idonotwanttodonate = !showDonateMessage;
     }
+
+    @Override
+    public boolean isWatchingConfigFiles() {
+        return watchconfigfiles;
+    }
+
+    @Override
+    public void setWatchingConfigFiles(boolean watchConfigFiles) {
+        this.watchconfigfiles = watchConfigFiles;
+    }
+
+    @Override
+    public int getPregenMillisPerTick() {
+        return pregenmillispertick;
+    }
+
+    @Override
+    public void setPregenMillisPerTick(int millisPerTick) {
+        this.pregenmillispertick = millisPerTick;
+    }
+
+    @Override
+    public double getPregenMinimumTps() {
+        return pregenminimumtps;
+    }
+
+    @Override
+    public void setPregenMinimumTps(double minimumTps) {
+        this.pregenminimumtps = minimumTps;
+    }
 }
@@ -300,6 +300,8 @@ public class WorldProperties extends SerializationConfig {
     private volatile int playerLimit;
     @Property
     private volatile boolean allowFlight;
+    @Property
+    private volatile List<String> hazardBlocks;
     // End of properties
     // --------------------------------------------------------------
 
@@ -352,6 +354,7 @@ public class WorldProperties extends SerializationConfig {
         this.generator = null;
         this.playerLimit = -1;
         this.allowFlight = true;
+        this.hazardBlocks = new ArrayList<String>();
     }
 
     private static double getDefaultScale(Environment environment) {
@@ -470,6 +473,10 @@ public class WorldProperties extends SerializationConfig {
         return this.worldBlacklist;
     }
 
+    public List<String> getHazardBlocks() {
+        return this.hazardBlocks;
+    }
+
     public double getScaling() {
         return this.scale;
     }
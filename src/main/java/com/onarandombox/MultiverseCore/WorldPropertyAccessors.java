@@ -0,0 +1,140 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore;
+
+import me.main__.util.SerializationConfig.Property;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads the plain properties of {@link WorldProperties} through method handles that are looked up once.
+ * <p>
+ * Plain properties are the booleans, numbers and strings that are stored in a field of their own. Reading those
+ * through {@link WorldProperties#getProperty(String, boolean)} means a reflective lookup of the field and a
+ * serializor on every call. Everything else, like nested, virtual and enum properties, is left to the
+ * SerializationConfig. Writes always are, because its validators fire the property change events.
+ * <p>
+ * There are no handles for copying all properties, like {@link MVWorld#copyValues(WorldProperties)} does. Virtual
+ * properties are copied into the bukkit world and nested ones into their own objects, which only the
+ * SerializationConfig knows how to do, and it can only copy all properties at once. Copying the plain ones through
+ * handles as well would add to that copy, not replace it. Copies are rare anyway: a reloaded world sets only the
+ * properties that changed, and copies all of them only if one of those can't be set by itself.
+ */
+final class WorldPropertyAccessors {
+    private static final Map<String, Accessor> ACCESSORS;
+
+    static {
+        Map<String, Accessor> accessors = new HashMap<String, Accessor>();
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        for (Field field : WorldProperties.class.getDeclaredFields()) {
+            if (!field.isAnnotationPresent(Property.class) || Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            Accessor accessor;
+            try {
+                field.setAccessible(true);
+                accessor = Accessor.of(field.getType(), lookup.unreflectGetter(field));
+            } catch (IllegalAccessException | SecurityException e) {
+                accessor = null;
+            }
+            if (accessor != null) {
+                accessors.put(field.getName().toLowerCase(Locale.ENGLISH), accessor);
+            }
+        }
+        ACCESSORS = Collections.unmodifiableMap(accessors);
+    }
+
+    private WorldPropertyAccessors() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Reads a plain property.
+     * @param props The properties to read from.
+     * @param property The name of the property, or one of its aliases.
+     * @return The value like {@link WorldProperties#getProperty(String, boolean)} would return it, or null if this
+     *         isn't a plain property or it has no value.
+     */
+    static String getValue(WorldProperties props, String property) {
+        String name = property.toLowerCase(Locale.ENGLISH);
+        String alias = WorldProperties.getAliases().get(name);
+        if (alias != null) {
+            name = alias.toLowerCase(Locale.ENGLISH);
+        }
+        Accessor accessor = ACCESSORS.get(name);
+        if (accessor == null) {
+            return null;
+        }
+        try {
+            return accessor.get(props);
+        } catch (Throwable t) {
+            // The handles match their fields exactly, so this can only be an error.
+            throw new IllegalStateException("Could not read property '" + property + "'", t);
+        }
+    }
+
+    /**
+     * Reads one field, using the handle's exact type so primitives aren't boxed.
+     */
+    private abstract static class Accessor {
+        protected final MethodHandle getter;
+
+        Accessor(MethodHandle getter) {
+            this.getter = getter;
+        }
+
+        abstract String get(WorldProperties props) throws Throwable;
+
+        static Accessor of(Class<?> type, MethodHandle getter) {
+            if (type == boolean.class) {
+                return new Accessor(getter) {
+                    @Override
+                    String get(WorldProperties props) throws Throwable {
+                        return String.valueOf((boolean) this.getter.invokeExact(props));
+                    }
+                };
+            } else if (type == int.class) {
+                return new Accessor(getter) {
+                    @Override
+                    String get(WorldProperties props) throws Throwable {
+                        return String.valueOf((int) this.getter.invokeExact(props));
+                    }
+                };
+            } else if (type == long.class) {
+                return new Accessor(getter) {
+                    @Override
+                    String get(WorldProperties props) throws Throwable {
+                        return String.valueOf((long) this.getter.invokeExact(props));
+                    }
+                };
+            } else if (type == double.class) {
+                return new Accessor(getter) {
+                    @Override
+                    String get(WorldProperties props) throws Throwable {
+                        return String.valueOf((double) this.getter.invokeExact(props));
+                    }
+                };
+            } else if (type == String.class) {
+                return new Accessor(getter) {
+                    @Override
+                    String get(WorldProperties props) throws Throwable {
+                        return (String) this.getter.invokeExact(props);
+                    }
+                };
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore;
+
+import com.onarandombox.MultiverseCore.enums.AllowedPortalType;
+import org.bukkit.PortalType;
+
+/**
+ * The properties of a world that the listeners check on every event, compiled into one immutable object.
+ * <p>
+ * Each {@link MVWorld} holds the rules for its current properties and replaces them in a single write when one of
+ * these properties changes, so a listener reads all of them from the same point in time without any lookups.
+ * Properties that are kept by the bukkit world, like pvp, aren't rules, since they can change without Multiverse
+ * noticing.
+ */
+public final class WorldRules {
+    private final boolean hunger;
+    private final boolean autoHeal;
+    private final boolean weather;
+    private final AllowedPortalType allowedPortals;
+    private final boolean bedRespawn;
+    private final String respawnWorld;
+
+    private WorldRules(boolean hunger, boolean autoHeal, boolean weather, AllowedPortalType allowedPortals,
+                       boolean bedRespawn, String respawnWorld) {
+        this.hunger = hunger;
+        this.autoHeal = autoHeal;
+        this.weather = weather;
+        this.allowedPortals = allowedPortals != null ? allowedPortals : AllowedPortalType.ALL;
+        this.bedRespawn = bedRespawn;
+        this.respawnWorld = respawnWorld != null ? respawnWorld : "";
+    }
+
+    /**
+     * Compiles the rules of a world.
+     * @param props The properties of the world.
+     * @return The rules.
+     */
+    static WorldRules compile(WorldProperties props) {
+        return new WorldRules(props.getHunger(), props.getAutoHeal(), props.isWeatherEnabled(),
+                props.getAllowedPortals(), props.getBedRespawn(), props.getRespawnToWorld());
+    }
+
+    /**
+     * Gets the rules with one property changed, since properties are validated before they're set.
+     * @param property The name of the property.
+     * @param value Its new value.
+     * @return The changed rules, or these if the property isn't one of the rules.
+     */
+    WorldRules with(String property, Object value) {
+        if (property.equalsIgnoreCase("hunger") && value instanceof Boolean) {
+            return new WorldRules((Boolean) value, this.autoHeal, this.weather, this.allowedPortals, this.bedRespawn,
+                    this.respawnWorld);
+        } else if (property.equalsIgnoreCase("autoHeal") && value instanceof Boolean) {
+            return new WorldRules(this.hunger, (Boolean) value, this.weather, this.allowedPortals, this.bedRespawn,
+                    this.respawnWorld);
+        } else if (property.equalsIgnoreCase("allowWeather") && value instanceof Boolean) {
+            return new WorldRules(this.hunger, this.autoHeal, (Boolean) value, this.allowedPortals, this.bedRespawn,
+                    this.respawnWorld);
+        } else if (property.equalsIgnoreCase("portalForm") && value instanceof AllowedPortalType) {
+            return new WorldRules(this.hunger, this.autoHeal, this.weather, (AllowedPortalType) value, this.bedRespawn,
+                    this.respawnWorld);
+        } else if (property.equalsIgnoreCase("bedRespawn") && value instanceof Boolean) {
+            return new WorldRules(this.hunger, this.autoHeal, this.weather, this.allowedPortals, (Boolean) value,
+                    this.respawnWorld);
+        } else if (property.equalsIgnoreCase("respawnWorld") && value instanceof String) {
+            return new WorldRules(this.hunger, this.autoHeal, this.weather, this.allowedPortals, this.bedRespawn,
+                    (String) value);
+        }
+        return this;
+    }
+
+    /**
+     * @return True if players get hungry in the world.
+     */
+    public boolean hasHunger() {
+        return this.hunger;
+    }
+
+    /**
+     * @return True if players heal over time in the world.
+     */
+    public boolean hasAutoHeal() {
+        return this.autoHeal;
+    }
+
+    /**
+     * @return True if it may rain or storm in the world.
+     */
+    public boolean isWeatherEnabled() {
+        return this.weather;
+    }
+
+    /**
+     * @return The portals that may be created in the world.
+     */
+    public AllowedPortalType getAllowedPortals() {
+        return this.allowedPortals;
+    }
+
+    /**
+     * @param type A type of portal.
+     * @return True if portals of that type may be created in the world.
+     */
+    public boolean isPortalAllowed(PortalType type) {
+        return this.allowedPortals.isPortalAllowed(type);
+    }
+
+    /**
+     * @return True if players who die in the world respawn at their bed or anchor.
+     */
+    public boolean hasBedRespawn() {
+        return this.bedRespawn;
+    }
+
+    /**
+     * @return The name of the world players respawn in, or an empty string for this world.
+     */
+    public String getRespawnWorld() {
+        return this.respawnWorld;
+    }
+
+    @Override
+    public String toString() {
+        return "WorldRules{hunger=" + this.hunger + ", autoHeal=" + this.autoHeal + ", weather=" + this.weather
+                + ", allowedPortals=" + this.allowedPortals + ", bedRespawn=" + this.bedRespawn
+                + ", respawnWorld='" + this.respawnWorld + "'}";
+    }
+}
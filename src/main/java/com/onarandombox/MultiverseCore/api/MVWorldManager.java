@@ -7,6 +7,8 @@
 
 package com.onarandombox.MultiverseCore.api;
 
+import com.onarandombox.MultiverseCore.exceptions.PropertyChangeDeniedException;
+import com.onarandombox.MultiverseCore.exceptions.PropertyDoesNotExistException;
 import com.onarandombox.MultiverseCore.utils.PurgeWorlds;
 import com.onarandombox.MultiverseCore.utils.SimpleWorldPurger;
 import org.bukkit.World;
@@ -16,8 +18,11 @@ import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.generator.ChunkGenerator;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Multiverse 2 World Manager API
@@ -159,6 +164,7 @@ public interface MVWorldManager {
 
     /**
      * Returns a list of all the worlds Multiverse knows about.
+     * This is an unmodifiable snapshot that can safely be read from any thread.
      *
      * @return A list of {@link MultiverseWorld}.
      */
@@ -263,6 +269,7 @@ public interface MVWorldManager {
 
     /**
      * Gets the list of worlds in the config, but unloaded.
+     * This is an unmodifiable snapshot that can safely be read from any thread.
      *
      * @return A List of worlds as strings.
      */
@@ -276,11 +283,53 @@ public interface MVWorldManager {
     /**
      * Load the config from a file.
      *
+     * The {@code worlds} section of the returned configuration holds the properties of every world. The world
+     * manager may drop the properties of worlds that aren't loaded from it later to save memory, use
+     * {@link #getMVWorld(String)} or {@link #getUnloadedWorlds()} to get at the worlds after that.
+     *
      * @param file The file to load.
      * @return A loaded configuration.
      */
     FileConfiguration loadWorldConfig(File file);
 
+    /**
+     * Takes over a world config that was already loaded, like {@link #loadWorldConfig(File)} does after loading it.
+     *
+     * @param config The loaded world config.
+     * @return The world config.
+     */
+    default FileConfiguration loadWorldConfig(FileConfiguration config) {
+        return this.loadWorldConfig(config, true);
+    }
+
+    /**
+     * Takes over a world config that was already loaded, optionally keeping the worlds that are missing from it.
+     * <p>
+     * The default implementation saves the config to a temporary file and loads that with
+     * {@link #loadWorldConfig(File)}, so it always drops the missing worlds.
+     *
+     * @param config        The loaded world config.
+     * @param removeMissing True to drop and unload the worlds that are no longer in the config, like for
+     *                      {@code /mv reload}. False to keep them, like when the file changed on disk and may
+     *                      still be being written.
+     * @return The world config.
+     * @throws IllegalStateException Thrown if the default implementation could not write the temporary file.
+     */
+    default FileConfiguration loadWorldConfig(FileConfiguration config, boolean removeMissing) {
+        File file = null;
+        try {
+            file = File.createTempFile("worlds", ".yml");
+            config.save(file);
+            return this.loadWorldConfig(file);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write the world config to a temporary file", e);
+        } finally {
+            if (file != null) {
+                file.delete();
+            }
+        }
+    }
+
     /**
      * Saves the world config to disk.
      *
@@ -288,6 +337,43 @@ public interface MVWorldManager {
      */
     boolean saveWorldsConfig();
 
+    /**
+     * Sets many properties on many worlds. Each world is changed as by
+     * {@link MultiverseWorld#setPropertyValues(Map)}, so a world that refuses a value keeps its old values (or, if it
+     * uses the default implementation of that method, the ones before the refused value) while the other worlds are
+     * still changed. The world config isn't saved, call {@link #saveWorldsConfig()} once afterwards.
+     *
+     * @param worlds     The worlds to change.
+     * @param properties The names of world properties mapped to values in string representation, set in order.
+     * @return The worlds that refused a value, mapped to the property they refused. Empty if all worlds changed.
+     * @throws PropertyDoesNotExistException Thrown if a property does not exist. No world was changed.
+     */
+    default Map<MultiverseWorld, String> setPropertyValues(Collection<MultiverseWorld> worlds,
+                                                           Map<String, String> properties)
+            throws PropertyDoesNotExistException {
+        Map<MultiverseWorld, String> denied = new LinkedHashMap<MultiverseWorld, String>();
+        for (MultiverseWorld world : worlds) {
+            // All worlds have the same properties and check them before changing anything, so a missing one is
+            // noticed by the first world.
+            try {
+                world.setPropertyValues(properties);
+            } catch (PropertyChangeDeniedException e) {
+                denied.put(world, e.getProperty());
+            }
+        }
+        return denied;
+    }
+
+    /**
+     * Tells the world manager that the alias of a world is about to change, so it can be found by the new alias
+     * right away. Does nothing by default, for world managers that look aliases up in the worlds themselves.
+     *
+     * @param world The world.
+     * @param alias Its new alias, or null if it's being removed.
+     */
+    default void updateAlias(MultiverseWorld world, String alias) {
+    }
+
     /**
      * Remove the world from the Multiverse list and from the config.
      *
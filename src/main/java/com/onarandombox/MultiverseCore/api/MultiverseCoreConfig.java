@@ -239,4 +239,62 @@ public interface MultiverseCoreConfig extends ConfigurationSerializable {
      * @param idonotwanttodonate True if donation/patreon messages should be shown.
      */
     void setShowDonateMessage(boolean idonotwanttodonate);
+
+    /**
+     * Gets whether or not config.yml, worlds.yml and anchors.yml are reloaded when they are changed on disk.
+     *
+     * The default implementation never watches them.
+     *
+     * @return True if the config files are watched.
+     */
+    default boolean isWatchingConfigFiles() {
+        return false;
+    }
+
+    /**
+     * Sets whether or not config.yml, worlds.yml and anchors.yml are reloaded when they are changed on disk.
+     * The default implementation ignores this.
+     *
+     * @param watchConfigFiles True if the config files should be watched.
+     */
+    default void setWatchingConfigFiles(boolean watchConfigFiles) {
+    }
+
+    /**
+     * Gets how many milliseconds of each tick may be spent on generating chunks with /mv pregen.
+     * The default implementation allows 10 milliseconds.
+     *
+     * @return The time per tick in milliseconds.
+     */
+    default int getPregenMillisPerTick() {
+        return 10;
+    }
+
+    /**
+     * Sets how many milliseconds of each tick may be spent on generating chunks with /mv pregen.
+     * The default implementation ignores this.
+     *
+     * @param millisPerTick The time per tick in milliseconds.
+     */
+    default void setPregenMillisPerTick(int millisPerTick) {
+    }
+
+    /**
+     * Gets the TPS below which /mv pregen waits for the server to catch up.
+     * The default implementation waits below 18 TPS.
+     *
+     * @return The minimum TPS.
+     */
+    default double getPregenMinimumTps() {
+        return 18.0;
+    }
+
+    /**
+     * Sets the TPS below which /mv pregen waits for the server to catch up.
+     * The default implementation ignores this.
+     *
+     * @param minimumTps The minimum TPS.
+     */
+    default void setPregenMinimumTps(double minimumTps) {
+    }
 }
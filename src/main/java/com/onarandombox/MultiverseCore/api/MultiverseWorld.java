@@ -8,6 +8,7 @@
 package com.onarandombox.MultiverseCore.api;
 
 import com.onarandombox.MultiverseCore.enums.AllowedPortalType;
+import com.onarandombox.MultiverseCore.exceptions.PropertyChangeDeniedException;
 import com.onarandombox.MultiverseCore.exceptions.PropertyDoesNotExistException;
 import org.bukkit.ChatColor;
 import org.bukkit.Difficulty;
@@ -20,7 +21,9 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.permissions.Permission;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * The API for a Multiverse Handled World.
@@ -155,6 +158,32 @@ public interface MultiverseWorld {
      */
     boolean setPropertyValue(String property, String value) throws PropertyDoesNotExistException;
 
+    /**
+     * Sets many properties at once. Either all values are set, or none: if one is refused, the ones set before it
+     * are reverted. Work shared by several properties, like applying the spawn settings and purging, is only done
+     * once. Like {@link #setPropertyValue(String, String)}, this doesn't save the world config.
+     *
+     * <p>
+     * The default implementation checks that all properties exist and then sets the values one by one with
+     * {@link #setPropertyValue(String, String)}, so it can't revert the values set before a refused one.
+     *
+     * @param properties The names of world properties mapped to values in string representation, set in order.
+     * @throws PropertyDoesNotExistException Thrown if a property was not found in the world. Nothing was changed.
+     * @throws PropertyChangeDeniedException Thrown if a value was refused. Nothing was changed, unless this is the
+     *                                       default implementation, which keeps the values set before that one.
+     */
+    default void setPropertyValues(Map<String, String> properties)
+            throws PropertyDoesNotExistException, PropertyChangeDeniedException {
+        for (String property : properties.keySet()) {
+            this.getPropertyValue(property);
+        }
+        for (Map.Entry<String, String> property : properties.entrySet()) {
+            if (!this.setPropertyValue(property.getKey(), property.getValue())) {
+                throw new PropertyChangeDeniedException(property.getKey());
+            }
+        }
+    }
+
     /**
      * Adds a value to the given property. The property must be a {@link com.onarandombox.MultiverseCore.enums.AddProperties}.
      *
@@ -651,6 +680,18 @@ public interface MultiverseWorld {
      */
     List<String> getWorldBlacklist();
 
+    /**
+     * Gets a list of the blocks that players should never be teleported on or into in this world,
+     * on top of the ones that always hurt, like lava.
+     * <p>
+     * The default implementation has no extra hazards.
+     *
+     * @return A List of block names.
+     */
+    default List<String> getHazardBlocks() {
+        return Collections.emptyList();
+    }
+
     /**
      * Gets all the names of all properties that can be SET.
      *
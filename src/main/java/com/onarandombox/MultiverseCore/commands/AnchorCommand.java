@@ -8,6 +8,7 @@
 package com.onarandombox.MultiverseCore.commands;
 
 import com.onarandombox.MultiverseCore.MultiverseCore;
+import com.onarandombox.MultiverseCore.destination.AnchorDestination;
 import org.bukkit.ChatColor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
@@ -134,6 +135,9 @@ public class AnchorCommand extends PaginatedCoreCommand<String> {
 
         if (!this.plugin.getMVPerms().hasPermission(sender, "multiverse.core.anchor.create", true)) {
             sender.sendMessage(ChatColor.RED + "You don't have the permission to create anchors!");
+        } else if (args.get(0).equals(AnchorDestination.NEAREST)) {
+            sender.sendMessage("Anchor '" + args.get(0) + "' was " + ChatColor.RED + " NOT " + ChatColor.WHITE
+                    + "created, that name stands for the nearest anchor!");
         } else {
             Player player = (Player) sender;
             if (this.plugin.getAnchorManager().saveAnchorLocation(args.get(0), player.getLocation())) {
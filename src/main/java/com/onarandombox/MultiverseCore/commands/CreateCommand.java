@@ -31,9 +31,9 @@ public class CreateCommand extends MultiverseCommand {
     public CreateCommand(MultiverseCore plugin) {
         super(plugin);
         this.setName("Create World");
-        this.setCommandUsage(String.format("/mv create %s{NAME} {ENV} %s-s [SEED] -g [GENERATOR[:ID]] -t [WORLDTYPE] [-n] -a [true|false]",
+        this.setCommandUsage(String.format("/mv create %s{NAME} {ENV} %s-s [SEED] -g [GENERATOR[:ID]] -t [WORLDTYPE] [-n] -a [true|false] -p [PREGEN RADIUS]",
                 ChatColor.GREEN, ChatColor.GOLD));
-        this.setArgRange(2, 11); // SUPPRESS CHECKSTYLE: MagicNumberCheck
+        this.setArgRange(2, 13); // SUPPRESS CHECKSTYLE: MagicNumberCheck
         this.addKey("mvcreate");
         this.addKey("mvc");
         this.addKey("mv create");
@@ -44,6 +44,7 @@ public class CreateCommand extends MultiverseCommand {
         this.addCommandExample("/mv create " + ChatColor.GOLD + "flatroom" + ChatColor.GREEN + " normal" + ChatColor.AQUA + " -t flat");
         this.addCommandExample("/mv create " + ChatColor.GOLD + "gargamel" + ChatColor.GREEN + " normal" + ChatColor.DARK_AQUA + " -s gargamel");
         this.addCommandExample("/mv create " + ChatColor.GOLD + "moonworld" + ChatColor.GREEN + " normal" + ChatColor.DARK_AQUA + " -g BukkitFullOfMoon");
+        this.addCommandExample("/mv create " + ChatColor.GOLD + "launch" + ChatColor.GREEN + " normal" + ChatColor.DARK_AQUA + " -p 2000");
         this.worldManager = this.plugin.getMVWorldManager();
     }
 	
@@ -65,6 +66,7 @@ public class CreateCommand extends MultiverseCommand {
             allowStructures = Boolean.parseBoolean(structureString);
         }
         String typeString = CommandHandler.getFlag("-t", args);
+        String pregenString = CommandHandler.getFlag("-p", args);
         boolean useSpawnAdjust = true;
         for (String s : args) {
             if (s.equalsIgnoreCase("-n")) {
@@ -107,6 +109,18 @@ public class CreateCommand extends MultiverseCommand {
             EnvironmentCommand.showWorldTypes(sender);
             return;
         }
+        int pregenRadius = 0;
+        if (pregenString != null) {
+            try {
+                pregenRadius = Integer.parseInt(pregenString);
+            } catch (NumberFormatException e) {
+                pregenRadius = -1;
+            }
+            if (pregenRadius <= 0) {
+                sender.sendMessage(ChatColor.RED + "The pregen radius must be a positive number of blocks.");
+                return;
+            }
+        }
         // Determine if the generator is valid. #918
         if (generator != null) {
             List<String> genarray = new ArrayList<String>(Arrays.asList(generator.split(":")));
@@ -124,6 +138,10 @@ public class CreateCommand extends MultiverseCommand {
 
         if (this.worldManager.addWorld(worldName, environment, seed, type, allowStructures, generator, useSpawnAdjust)) {
             Command.broadcastCommandMessage(sender, "Complete!");
+            if (pregenRadius > 0) {
+                this.plugin.getChunkPregenerator().start(this.worldManager.getMVWorld(worldName).getCBWorld(), pregenRadius);
+                Command.broadcastCommandMessage(sender, "Generating the chunks around its spawn, see /mv pregen " + worldName);
+            }
         } else {
             Command.broadcastCommandMessage(sender, "FAILED.");
         }
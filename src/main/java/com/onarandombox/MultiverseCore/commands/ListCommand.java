@@ -13,6 +13,7 @@ import com.onarandombox.MultiverseCore.display.ColorAlternator;
 import com.onarandombox.MultiverseCore.display.ContentDisplay;
 import com.onarandombox.MultiverseCore.display.ContentFilter;
 import com.onarandombox.MultiverseCore.display.DisplayHandlers;
+import com.onarandombox.MultiverseCore.display.LazyContent;
 import com.onarandombox.MultiverseCore.display.settings.PagedDisplaySettings;
 import org.bukkit.ChatColor;
 import org.bukkit.World;
@@ -21,9 +22,8 @@ import org.bukkit.entity.Player;
 import org.bukkit.permissions.PermissionDefault;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Displays a listing of all worlds that a player can enter.
@@ -67,28 +67,46 @@ public class ListCommand extends MultiverseCommand {
 
         ContentDisplay.forContent(getListContents(sender))
                 .header("%s====[ Multiverse World List ]====", ChatColor.GOLD)
-                .displayHandler(DisplayHandlers.PAGE_LIST)
+                .displayHandler(DisplayHandlers.LAZY_PAGE_LIST)
                 .colorTool(ColorAlternator.with(ChatColor.AQUA, ChatColor.GOLD))
                 .filter(filter)
                 .setting(PagedDisplaySettings.SHOW_PAGE, page)
                 .show(sender);
     }
 
-    private Collection<String> getListContents(@NotNull CommandSender sender) {
+    private LazyContent<ListEntry> getListContents(@NotNull CommandSender sender) {
         Player player = (sender instanceof Player) ? (Player) sender : null;
 
-        List<String> worldList = this.plugin.getMVWorldManager().getMVWorlds().stream()
+        Stream<ListEntry> loadedWorlds = this.plugin.getMVWorldManager().getMVWorlds().stream()
                 .filter(world -> player == null || plugin.getMVPerms().canEnterWorld(player, world))
                 .filter(world -> canSeeWorld(player, world))
-                .map(world -> hiddenText(world) + world.getColoredWorldString() + " - " + parseColouredEnvironment(world.getEnvironment()))
-                .collect(Collectors.toList());
+                .map(ListEntry::new);
 
-        this.plugin.getMVWorldManager().getUnloadedWorlds().stream()
+        Stream<ListEntry> unloadedWorlds = this.plugin.getMVWorldManager().getUnloadedWorlds().stream()
                 .filter(world -> plugin.getMVPerms().hasPermission(sender, "multiverse.access." + world, true))
-                .map(world -> ChatColor.GRAY + world + " - UNLOADED")
-                .forEach(worldList::add);
-        
-        return worldList;
+                .map(ListEntry::new);
+
+        // Only the worlds on the shown page get formatted.
+        return LazyContent.of(Stream.concat(loadedWorlds, unloadedWorlds), this::formatEntry)
+                .filterOn(this::entryFilterText);
+    }
+
+    private String formatEntry(ListEntry entry) {
+        if (entry.world == null) {
+            return ChatColor.GRAY + entry.unloadedName + " - UNLOADED";
+        }
+        return hiddenText(entry.world) + entry.world.getColoredWorldString() + " - "
+                + parseColouredEnvironment(entry.world.getEnvironment());
+    }
+
+    private String entryFilterText(ListEntry entry) {
+        if (entry.world == null) {
+            return entry.unloadedName + " - UNLOADED";
+        }
+        String alias = entry.world.getAlias();
+        return (entry.world.isHidden() ? "[H] " : "")
+                + ((alias == null || alias.isEmpty()) ? entry.world.getName() : alias)
+                + " - " + entry.world.getEnvironment();
     }
 
     private boolean canSeeWorld(Player player, MultiverseWorld world) {
@@ -116,4 +134,22 @@ public class ListCommand extends MultiverseCommand {
         }
         return color + env.toString();
     }
+
+    /**
+     * A loaded or an unloaded world in the listing.
+     */
+    private static final class ListEntry {
+        private final MultiverseWorld world;
+        private final String unloadedName;
+
+        private ListEntry(MultiverseWorld world) {
+            this.world = world;
+            this.unloadedName = null;
+        }
+
+        private ListEntry(String unloadedName) {
+            this.world = null;
+            this.unloadedName = unloadedName;
+        }
+    }
 }
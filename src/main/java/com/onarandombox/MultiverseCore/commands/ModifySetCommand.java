@@ -17,7 +17,10 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.bukkit.permissions.PermissionDefault;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Used to set world-properties.
@@ -29,8 +32,9 @@ public class ModifySetCommand extends MultiverseCommand {
         super(plugin);
         this.worldManager = this.plugin.getMVWorldManager();
         this.setName("Modify a World (Set a value)");
-        this.setCommandUsage("/mv modify" + ChatColor.GREEN + " set {PROPERTY} {VALUE}" + ChatColor.GOLD + " [WORLD]");
-        this.setArgRange(1, 3);
+        this.setCommandUsage("/mv modify" + ChatColor.GREEN + " set {PROPERTY} {VALUE}" + ChatColor.GOLD + " [WORLD]"
+                + ChatColor.WHITE + " or " + ChatColor.GREEN + "{PROPERTY}={VALUE}..." + ChatColor.GOLD + " [WORLD,...|*]");
+        this.setArgRange(1, 11); // SUPPRESS CHECKSTYLE: MagicNumberCheck
         this.addKey("mvm set");
         this.addKey("mvmset");
         this.addKey("mv modify set");
@@ -51,6 +55,9 @@ public class ModifySetCommand extends MultiverseCommand {
         this.addCommandExample("/mvm " + ChatColor.GOLD + "set " + ChatColor.GREEN + "heal " + ChatColor.RED + "true");
         this.addCommandExample("/mvm " + ChatColor.GOLD + "set " + ChatColor.GREEN + "adjustspawn " + ChatColor.RED + "false");
         this.addCommandExample("/mvm " + ChatColor.GOLD + "set " + ChatColor.GREEN + "spawn");
+        this.addCommandExample("/mvm " + ChatColor.GOLD + "set " + ChatColor.GREEN + "animals=false monsters=false "
+                + ChatColor.RED + "world,world_nether");
+        this.addCommandExample("/mvm " + ChatColor.GOLD + "set " + ChatColor.GREEN + "pvp " + ChatColor.RED + "false *");
         this.setPermission("multiverse.core.modify.set", "Modify various aspects of worlds. See the help wiki for how to use this command properly. "
                 + "If you do not include a world, the current world will be used.", PermissionDefault.OP);
     }
@@ -58,7 +65,7 @@ public class ModifySetCommand extends MultiverseCommand {
     @Override
     public void runCommand(CommandSender sender, List<String> args) {
         // Special case for spawn:
-        if (args.size() == 1) {
+        if (args.size() == 1 && !args.get(0).contains("=")) {
             if (!(sender instanceof Player)) {
                 sender.sendMessage("You must be a player to set the" + ChatColor.GREEN + " spawn");
                 return;
@@ -73,53 +80,108 @@ public class ModifySetCommand extends MultiverseCommand {
             }
             return;
         }
-        // We NEED a world from the command line
-        Player p = null;
-        if (sender instanceof Player) {
-            p = (Player) sender;
-        }
 
-        if (args.size() == 2 && p == null) {
-            sender.sendMessage("From the command line, WORLD is required.");
-            sender.sendMessage(this.getCommandDesc());
-            sender.sendMessage(this.getCommandUsage());
-            sender.sendMessage("Nothing changed.");
-            return;
+        Map<String, String> properties = new LinkedHashMap<String, String>();
+        String worldNames = null;
+        if (args.get(0).contains("=")) {
+            // Many properties at once: PROPERTY=VALUE... [WORLD,...]
+            for (int i = 0; i < args.size(); i++) {
+                String arg = args.get(i);
+                int split = arg.indexOf('=');
+                if (split == 0) {
+                    sender.sendMessage(ChatColor.RED + "Missing the property in: " + ChatColor.GRAY + arg);
+                    sender.sendMessage(this.getCommandUsage());
+                    return;
+                } else if (split > 0) {
+                    properties.put(arg.substring(0, split), arg.substring(split + 1));
+                } else if (i == args.size() - 1) {
+                    worldNames = arg;
+                } else {
+                    sender.sendMessage(ChatColor.RED + "Expected " + ChatColor.GREEN + "{PROPERTY}={VALUE}"
+                            + ChatColor.RED + " but got: " + ChatColor.GRAY + arg);
+                    sender.sendMessage(this.getCommandUsage());
+                    return;
+                }
+            }
+        } else {
+            if (args.size() < 2 || args.size() > 3) {
+                sender.sendMessage(this.getCommandUsage());
+                return;
+            }
+            properties.put(args.get(0), args.get(1));
+            if (args.size() == 3) {
+                worldNames = args.get(2);
+            }
         }
 
-        MultiverseWorld world;
-        String value = args.get(1);
-        String property = args.get(0);
-
-        if (args.size() == 2) {
-            world = this.worldManager.getMVWorld(p.getWorld().getName());
+        // We NEED a world from the command line
+        List<MultiverseWorld> worlds = new ArrayList<MultiverseWorld>();
+        if (worldNames == null) {
+            if (!(sender instanceof Player)) {
+                sender.sendMessage("From the command line, WORLD is required.");
+                sender.sendMessage(this.getCommandDesc());
+                sender.sendMessage(this.getCommandUsage());
+                sender.sendMessage("Nothing changed.");
+                return;
+            }
+            MultiverseWorld world = this.worldManager.getMVWorld(((Player) sender).getWorld().getName());
+            if (world != null) {
+                worlds.add(world);
+            }
+        } else if (worldNames.equals("*")) {
+            worlds.addAll(this.worldManager.getMVWorlds());
         } else {
-            world = this.worldManager.getMVWorld(args.get(2));
+            for (String worldName : worldNames.split(",")) {
+                MultiverseWorld world = this.worldManager.getMVWorld(worldName);
+                if (world == null) {
+                    sender.sendMessage("That world does not exist: " + worldName);
+                    return;
+                }
+                worlds.add(world);
+            }
         }
 
-        if (world == null) {
+        if (worlds.isEmpty()) {
             sender.sendMessage("That world does not exist!");
             return;
         }
 
-        if ((property.equalsIgnoreCase("aliascolor") || property.equalsIgnoreCase("color")) && !EnglishChatColor.isValidAliasColor(value)) {
-            sender.sendMessage(value + " is not a valid color. Please pick one of the following:");
-            sender.sendMessage(EnglishChatColor.getAllColors());
-            return;
+        for (Map.Entry<String, String> property : properties.entrySet()) {
+            if ((property.getKey().equalsIgnoreCase("aliascolor") || property.getKey().equalsIgnoreCase("color"))
+                    && !EnglishChatColor.isValidAliasColor(property.getValue())) {
+                sender.sendMessage(property.getValue() + " is not a valid color. Please pick one of the following:");
+                sender.sendMessage(EnglishChatColor.getAllColors());
+                return;
+            }
         }
         try {
-            if (world.setPropertyValue(property, value)) {
-                sender.sendMessage(ChatColor.GREEN + "Success!" + ChatColor.WHITE + " Property " + ChatColor.AQUA + property
-                        + ChatColor.WHITE + " was set to " + ChatColor.GREEN + value);
-                if (!plugin.saveWorldConfig()) {
-                    sender.sendMessage(ChatColor.RED + "There was an issue saving worlds.yml!  Your changes will only be temporary!");
+            Map<MultiverseWorld, String> denied = this.worldManager.setPropertyValues(worlds, properties);
+            for (Map.Entry<MultiverseWorld, String> entry : denied.entrySet()) {
+                if (worlds.size() > 1) {
+                    sender.sendMessage(ChatColor.RED + "Nothing changed in " + entry.getKey().getColoredWorldString()
+                            + ChatColor.RED + ":");
                 }
+                sender.sendMessage(ChatColor.RED + entry.getKey().getPropertyHelp(entry.getValue()));
+            }
+            if (denied.size() == worlds.size()) {
+                return;
+            }
+            if (properties.size() == 1 && worlds.size() == 1) {
+                Map.Entry<String, String> property = properties.entrySet().iterator().next();
+                sender.sendMessage(ChatColor.GREEN + "Success!" + ChatColor.WHITE + " Property " + ChatColor.AQUA
+                        + property.getKey() + ChatColor.WHITE + " was set to " + ChatColor.GREEN + property.getValue());
             } else {
-                sender.sendMessage(ChatColor.RED + world.getPropertyHelp(property));
+                sender.sendMessage(ChatColor.GREEN + "Success!" + ChatColor.WHITE + " Set " + ChatColor.AQUA
+                        + properties.size() + ChatColor.WHITE + " properties in " + ChatColor.AQUA
+                        + (worlds.size() - denied.size()) + ChatColor.WHITE + " worlds.");
+            }
+            // Saved once, however many worlds and properties changed.
+            if (!plugin.saveWorldConfig()) {
+                sender.sendMessage(ChatColor.RED + "There was an issue saving worlds.yml!  Your changes will only be temporary!");
             }
         } catch (PropertyDoesNotExistException e) {
-            sender.sendMessage(ChatColor.RED + "Sorry, You can't set: '" + ChatColor.GRAY + property + ChatColor.RED + "'");
-            sender.sendMessage("Valid world-properties: " + world.getAllPropertyNames());
+            sender.sendMessage(ChatColor.RED + "Sorry, You can't set: '" + ChatColor.GRAY + e.getMessage() + ChatColor.RED + "'");
+            sender.sendMessage("Valid world-properties: " + worlds.get(0).getAllPropertyNames());
         }
     }
 }
@@ -0,0 +1,100 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.commands;
+
+import com.onarandombox.MultiverseCore.MultiverseCore;
+import com.onarandombox.MultiverseCore.display.ColorAlternator;
+import com.onarandombox.MultiverseCore.display.ContentDisplay;
+import com.onarandombox.MultiverseCore.display.ContentFilter;
+import com.onarandombox.MultiverseCore.display.DisplayHandlers;
+import com.onarandombox.MultiverseCore.display.LazyContent;
+import com.onarandombox.MultiverseCore.display.settings.PagedDisplaySettings;
+import com.onarandombox.MultiverseCore.utils.metrics.LatencyProbe;
+import com.onarandombox.MultiverseCore.utils.metrics.PerformanceMonitor;
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.permissions.PermissionDefault;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shows how much time Multiverse's hot paths take.
+ */
+public class PerfCommand extends MultiverseCommand {
+
+    public PerfCommand(MultiverseCore plugin) {
+        super(plugin);
+        this.setName("Performance Monitor");
+        this.setCommandUsage("/mv perf" + ChatColor.GOLD + " [on|off|reset|FILTER] [PAGE]");
+        this.setArgRange(0, 2);
+        this.addKey("mv perf");
+        this.addKey("mvperf");
+        this.addCommandExample("/mv perf " + ChatColor.GOLD + "on");
+        this.addCommandExample("/mv perf");
+        this.addCommandExample("/mv perf " + ChatColor.GOLD + "event 2");
+        this.addCommandExample("/mv perf " + ChatColor.GOLD + "reset");
+        this.setPermission("multiverse.core.perf", "Shows how much time Multiverse's hot paths take.", PermissionDefault.OP);
+    }
+
+    @Override
+    public void runCommand(CommandSender sender, List<String> args) {
+        PerformanceMonitor monitor = this.plugin.getPerformanceMonitor();
+        if (args.size() == 1) {
+            if (args.get(0).equalsIgnoreCase("on")) {
+                monitor.setEnabled(true);
+                sender.sendMessage("Multiverse performance monitor is " + ChatColor.GREEN + "ON");
+                return;
+            } else if (args.get(0).equalsIgnoreCase("off")) {
+                monitor.setEnabled(false);
+                sender.sendMessage("Multiverse performance monitor is " + ChatColor.RED + "OFF");
+                return;
+            } else if (args.get(0).equalsIgnoreCase("reset")) {
+                monitor.reset();
+                sender.sendMessage("Multiverse performance monitor was " + ChatColor.AQUA + "reset");
+                return;
+            }
+        }
+
+        ContentFilter filter = ContentFilter.DEFAULT;
+        int page = 1;
+        if (args.size() >= 1) {
+            try {
+                page = Integer.parseInt(args.get(args.size() - 1));
+                if (args.size() == 2) {
+                    filter = new ContentFilter(args.get(0));
+                }
+            } catch (NumberFormatException ignore) {
+                filter = new ContentFilter(args.get(0));
+            }
+        }
+
+        if (!monitor.isEnabled()) {
+            sender.sendMessage(String.format("%sThe performance monitor is off, use %s/mv perf on%s to start it.",
+                    ChatColor.GRAY, ChatColor.GOLD, ChatColor.GRAY));
+        }
+        ContentDisplay.forContent(LazyContent.of(monitor.getActiveProbes(), this::formatProbe).filterOn(LatencyProbe::getName))
+                .header("%s====[ Multiverse Performance ]====", ChatColor.GOLD)
+                .displayHandler(DisplayHandlers.LAZY_PAGE_LIST)
+                .colorTool(ColorAlternator.with(ChatColor.AQUA, ChatColor.GOLD))
+                .emptyMessage("Nothing was recorded yet.")
+                .filter(filter)
+                .setting(PagedDisplaySettings.SHOW_PAGE, page)
+                .show(sender);
+    }
+
+    private String formatProbe(LatencyProbe probe) {
+        long count = probe.getCount();
+        long avgMicros = TimeUnit.NANOSECONDS.toMicros(probe.getTotalNanos() / Math.max(1, count));
+        return String.format("%s%s: %s%d calls, %.1fms total, avg %dus, p50 <%dus, p99 <%dus, max %dus",
+                probe.getName(), ChatColor.WHITE, ChatColor.GRAY, count,
+                probe.getTotalNanos() / 1e6, avgMicros, // SUPPRESS CHECKSTYLE: MagicNumberCheck
+                probe.getPercentileMicros(0.5), probe.getPercentileMicros(0.99), // SUPPRESS CHECKSTYLE: MagicNumberCheck
+                TimeUnit.NANOSECONDS.toMicros(probe.getMaxNanos()));
+    }
+}
@@ -0,0 +1,108 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.commands;
+
+import com.onarandombox.MultiverseCore.MultiverseCore;
+import com.onarandombox.MultiverseCore.api.MultiverseWorld;
+import com.onarandombox.MultiverseCore.utils.ChunkPregenerator;
+import org.bukkit.ChatColor;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.permissions.PermissionDefault;
+
+import java.util.List;
+
+/**
+ * Generates the chunks around the spawn of a world ahead of time.
+ */
+public class PregenCommand extends MultiverseCommand {
+
+    public PregenCommand(MultiverseCore plugin) {
+        super(plugin);
+        this.setName("Pregenerate Chunks");
+        this.setCommandUsage("/mv pregen" + ChatColor.GREEN + " [WORLD]" + ChatColor.GOLD + " [RADIUS|stop]");
+        this.setArgRange(0, 2);
+        this.addKey("mvpregen");
+        this.addKey("mv pregen");
+        this.addCommandExample("/mv pregen " + ChatColor.GREEN + "world" + ChatColor.GOLD + " 2000");
+        this.addCommandExample("/mv pregen " + ChatColor.GREEN + "world");
+        this.addCommandExample("/mv pregen " + ChatColor.GREEN + "world" + ChatColor.GOLD + " stop");
+        this.setPermission("multiverse.core.pregen",
+                "Generates the chunks around the spawn of a world ahead of time.", PermissionDefault.OP);
+    }
+
+    @Override
+    public void runCommand(CommandSender sender, List<String> args) {
+        ChunkPregenerator pregenerator = this.plugin.getChunkPregenerator();
+        if (args.isEmpty()) {
+            if (pregenerator.getJobs().isEmpty()) {
+                sender.sendMessage("No chunks are being generated.");
+                return;
+            }
+            for (ChunkPregenerator.Job job : pregenerator.getJobs()) {
+                sendProgress(sender, job, pregenerator.isPaused());
+            }
+            return;
+        }
+
+        MultiverseWorld world = this.plugin.getMVWorldManager().getMVWorld(args.get(0));
+        if (world == null) {
+            this.plugin.showNotMVWorldMessage(sender, args.get(0));
+            return;
+        }
+        if (args.size() == 1) {
+            ChunkPregenerator.Job job = pregenerator.getJob(world.getName());
+            if (job == null) {
+                sender.sendMessage("No chunks are being generated for " + world.getColoredWorldString()
+                        + ChatColor.WHITE + ".");
+            } else {
+                sendProgress(sender, job, pregenerator.isPaused());
+            }
+            return;
+        }
+        if (args.get(1).equalsIgnoreCase("stop")) {
+            if (pregenerator.stop(world.getName())) {
+                Command.broadcastCommandMessage(sender, "Stopped generating chunks for '" + world.getName() + "'.");
+            } else {
+                sender.sendMessage("No chunks are being generated for " + world.getColoredWorldString()
+                        + ChatColor.WHITE + ".");
+            }
+            return;
+        }
+
+        int radius;
+        try {
+            radius = Integer.parseInt(args.get(1));
+        } catch (NumberFormatException e) {
+            radius = -1;
+        }
+        if (radius <= 0) {
+            sender.sendMessage(ChatColor.RED + "The radius must be a positive number of blocks.");
+            return;
+        }
+        ChunkPregenerator.Job job = pregenerator.start(world.getCBWorld(), radius);
+        Command.broadcastCommandMessage(sender, String.format("Generating %d chunks around the spawn of '%s'.",
+                job.getTotalChunks(), world.getName()));
+    }
+
+    /**
+     * Sends how far a job is.
+     *
+     * @param sender The {@link CommandSender} to send it to.
+     * @param job The job.
+     * @param paused True if generating waits for the server to catch up.
+     */
+    private static void sendProgress(CommandSender sender, ChunkPregenerator.Job job, boolean paused) {
+        long secondsLeft = job.getSecondsLeft();
+        String eta = secondsLeft < 0 ? "unknown" : String.format("%dm%02ds", secondsLeft / 60, secondsLeft % 60); // SUPPRESS CHECKSTYLE: MagicNumberCheck
+        sender.sendMessage(String.format("%s%s%s: %d/%d chunks (%.1f%%), %.1f chunks/s, ETA %s%s",
+                ChatColor.AQUA, job.getWorldName(), ChatColor.WHITE, job.getDoneChunks(), job.getTotalChunks(),
+                100.0 * job.getDoneChunks() / job.getTotalChunks(), job.getChunksPerSecond(), eta, // SUPPRESS CHECKSTYLE: MagicNumberCheck
+                paused ? ChatColor.GOLD + " (waiting for the server to catch up)" : ""));
+    }
+}
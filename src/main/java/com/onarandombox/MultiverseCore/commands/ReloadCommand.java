@@ -36,9 +36,10 @@ public class ReloadCommand extends MultiverseCommand {
     @Override
     public void runCommand(CommandSender sender, List<String> args) {
         sender.sendMessage(ChatColor.GOLD + "Reloading all Multiverse Plugin configs...");
+        // Loaded worlds take over what changed in worlds.yml while loading it, so only load the new ones.
         this.plugin.loadConfigs();
         this.plugin.getAnchorManager().loadAnchors();
-        this.plugin.getMVWorldManager().loadWorlds(true);
+        this.plugin.getMVWorldManager().loadWorlds(false);
 
         List<String> configsLoaded = new ArrayList<String>();
         configsLoaded.add("Multiverse-Core - config.yml");
@@ -22,6 +22,9 @@ public class WorldPropertyValidator<T> extends ObjectUsingValidator<T, MVWorld>
         Bukkit.getPluginManager().callEvent(event);
         if (event.isCancelled())
             throw new ChangeDeniedException();
+        if (object != null) {
+            object.updateRules(property, event.getTheNewValue());
+        }
         return event.getTheNewValue();
     }
 }
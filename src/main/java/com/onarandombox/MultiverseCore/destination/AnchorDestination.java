@@ -11,6 +11,7 @@ import com.onarandombox.MultiverseCore.MultiverseCore;
 import com.onarandombox.MultiverseCore.api.MVDestination;
 import org.bukkit.Location;
 import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.util.Vector;
 
@@ -19,8 +20,15 @@ import java.util.List;
 
 /**
  * An anchor-{@link MVDestination}.
+ * <p>
+ * {@code a:~} is the anchor closest to whoever is teleported, out of the anchors in their world they can access.
  */
 public class AnchorDestination implements MVDestination {
+    /**
+     * The anchor name that stands for the nearest anchor.
+     */
+    public static final String NEAREST = "~";
+
     private boolean isValid;
     private Location location;
     private MultiverseCore plugin;
@@ -65,7 +73,16 @@ public class AnchorDestination implements MVDestination {
      */
     @Override
     public Location getLocation(Entity e) {
-        return this.location;
+        if (this.isNearest()) {
+            if (e == null) {
+                return null;
+            }
+            Player p = (e instanceof Player) ? (Player) e : null;
+            String nearest = this.plugin.getAnchorManager().getNearestAnchor(e.getLocation(), p);
+            return nearest != null ? this.plugin.getAnchorManager().getAnchorLocation(nearest) : null;
+        }
+        // Anchor destinations are shared, don't let anybody move this one.
+        return this.location != null ? this.location.clone() : null;
     }
 
     /**
@@ -94,6 +111,12 @@ public class AnchorDestination implements MVDestination {
             return;
         }
         this.name = parsed.get(1);
+        if (this.isNearest()) {
+            // Resolved for each entity in getLocation.
+            this.location = null;
+            this.isValid = parsed.get(0).equalsIgnoreCase(this.getIdentifier());
+            return;
+        }
         this.location = this.plugin.getAnchorManager().getAnchorLocation(parsed.get(1));
         if (this.location == null) {
             this.isValid = false;
@@ -118,6 +141,9 @@ public class AnchorDestination implements MVDestination {
      */
     @Override
     public String getName() {
+        if (this.isNearest()) {
+            return "Nearest Anchor";
+        }
         return "Anchor: " + this.name;
     }
 
@@ -134,6 +160,10 @@ public class AnchorDestination implements MVDestination {
      */
     @Override
     public String getRequiredPermission() {
+        if (this.isNearest()) {
+            // The world depends on who is teleported, the access to it is checked where the anchor is resolved.
+            return "";
+        }
         return "multiverse.access." + this.location.getWorld().getName();
     }
 
@@ -145,4 +175,8 @@ public class AnchorDestination implements MVDestination {
         // This is an ANCHOR destination, don't safely teleport here.
         return false;
     }
+
+    private boolean isNearest() {
+        return NEAREST.equals(this.name);
+    }
 }
@@ -10,10 +10,8 @@ package com.onarandombox.MultiverseCore.destination;
 import com.onarandombox.MultiverseCore.MultiverseCore;
 import com.onarandombox.MultiverseCore.api.MVDestination;
 
-import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Location;
-import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -45,10 +43,12 @@ public class BedDestination implements MVDestination {
         String[] split = destination.split(":");
         boolean validFormat = split.length >= 1 && split.length <= 2 && split[0].equals(this.getIdentifier());
 
-        OfflinePlayer p = Bukkit.getOfflinePlayer(split[1]);
-        boolean validPlayer = p.getName() != null && !p.getName().equals(OWN_BED_STRING);
+        // The player is only looked up when someone is sent to their bed, parsing mustn't block on it.
+        boolean validPlayer = split.length == 2 && !split[1].isEmpty() && !split[1].equals(OWN_BED_STRING);
 
-        if (validFormat && validPlayer) this.playername = p.getName();
+        if (validFormat && validPlayer) {
+            this.playername = split[1];
+        }
 
         this.isValid = destination.equals("b:" + OWN_BED_STRING) || (validFormat && validPlayer);
 
@@ -61,10 +61,15 @@ public class BedDestination implements MVDestination {
     @Override
     public Location getLocation(Entity entity) {
         if (entity instanceof Player) {
-            if (this.playername.isEmpty())
+            if (this.playername.isEmpty()) {
                 this.knownBedLoc = this.plugin.getBlockSafety().getSafeBedSpawn(((Player) entity).getBedSpawnLocation());
-            else
-                this.knownBedLoc = this.plugin.getBlockSafety().getSafeBedSpawn(Bukkit.getOfflinePlayer(this.playername).getBedSpawnLocation());
+            } else {
+                this.knownBedLoc = this.plugin.getBedSpawnCache().getSafeBedSpawn(this.playername);
+                if (this.knownBedLoc == null && this.plugin.getBedSpawnCache().isLoading(this.playername)) {
+                    ((Player) entity).sendMessage("Looking for the bed of " + this.playername + ", try again in a moment.");
+                    return null;
+                }
+            }
 
             if (this.knownBedLoc == null) {
                 ((Player) entity).sendMessage("The bed was " + ChatColor.RED + "invalid or blocked" + ChatColor.RESET + ". Sorry.");
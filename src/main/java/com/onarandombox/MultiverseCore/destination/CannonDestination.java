@@ -9,20 +9,21 @@ package com.onarandombox.MultiverseCore.destination;
 
 import com.onarandombox.MultiverseCore.MultiverseCore;
 import com.onarandombox.MultiverseCore.api.MVDestination;
+import com.onarandombox.MultiverseCore.api.MultiverseWorld;
 import org.bukkit.Location;
 import org.bukkit.entity.Entity;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.util.Vector;
 
-import java.util.Arrays;
-import java.util.List;
+import java.util.regex.Pattern;
 
 /**
  * A cannon-{@link MVDestination}.
  */
 public class CannonDestination implements MVDestination {
-    private final String coordRegex = "(-?[\\d]+\\.?[\\d]*),(-?[\\d]+\\.?[\\d]*),(-?[\\d]+\\.?[\\d]*)";
+    private static final Pattern COORD_PATTERN = Pattern.compile("(-?[\\d]+\\.?[\\d]*),(-?[\\d]+\\.?[\\d]*),(-?[\\d]+\\.?[\\d]*)");
     private boolean isValid;
+    private String parsedDestination;
     private Location location;
     private double speed;
 
@@ -59,37 +60,7 @@ public class CannonDestination implements MVDestination {
      */
     @Override
     public boolean isThisType(JavaPlugin plugin, String destination) {
-        if (!(plugin instanceof MultiverseCore)) {
-            return false;
-        }
-        List<String> parsed = Arrays.asList(destination.split(":"));
-        if (parsed.size() != SPLIT_SIZE) {
-            return false;
-        }
-        // If it's not an Cannon type
-        if (!parsed.get(0).equalsIgnoreCase("ca")) {
-            return false;
-        }
-
-        // If it's not a MV world
-        if (!((MultiverseCore) plugin).getMVWorldManager().isMVWorld(parsed.get(1))) {
-            return false;
-        }
-        // Verify X,Y,Z are numbers
-        if (!parsed.get(2).matches(coordRegex)) {
-            return false;
-        }
-
-        try {
-            // BEGIN CHECKSTYLE-SUPPRESSION: MagicNumberCheck
-            Float.parseFloat(parsed.get(3));
-            Float.parseFloat(parsed.get(4));
-            Float.parseFloat(parsed.get(5));
-            // END CHECKSTYLE-SUPPRESSION: MagicNumberCheck
-        } catch (NumberFormatException e) {
-            return false;
-        }
-        return true;
+        return this.parse(plugin, destination);
     }
 
     /**
@@ -97,7 +68,8 @@ public class CannonDestination implements MVDestination {
      */
     @Override
     public Location getLocation(Entity e) {
-        return this.location;
+        // Callers get a copy, so nobody moves ours by accident.
+        return this.location != null ? this.location.clone() : null;
     }
 
     /**
@@ -113,58 +85,62 @@ public class CannonDestination implements MVDestination {
      */
     @Override
     public void setDestination(JavaPlugin plugin, String destination) {
-        if (!(plugin instanceof MultiverseCore)) {
-            return;
+        if (!destination.equals(this.parsedDestination)) {
+            this.parse(plugin, destination);
         }
-        List<String> parsed = Arrays.asList(destination.split(":"));
+    }
 
-        if (parsed.size() != SPLIT_SIZE) {
-            this.isValid = false;
-            return;
+    /**
+     * Parses a destination string into this destination.
+     * The result is remembered so that a following {@link #setDestination(JavaPlugin, String)} with the same
+     * string does not have to parse it again.
+     *
+     * @param plugin The plugin who the type belongs to.
+     * @param destination The destination string.
+     * @return True if the destination is a valid cannon destination.
+     */
+    private boolean parse(JavaPlugin plugin, String destination) {
+        this.parsedDestination = destination;
+        this.isValid = false;
+        if (!(plugin instanceof MultiverseCore)) {
+            return false;
         }
-        if (!parsed.get(0).equalsIgnoreCase(this.getIdentifier())) {
-            this.isValid = false;
-            return;
+        String[] parsed = destination.split(":");
+        if (parsed.length != SPLIT_SIZE) {
+            return false;
         }
-
-        if (!((MultiverseCore) plugin).getMVWorldManager().isMVWorld(parsed.get(1))) {
-            this.isValid = false;
-            return;
+        // If it's not an Cannon type
+        if (!parsed[0].equalsIgnoreCase(this.getIdentifier())) {
+            return false;
         }
 
-        this.location = new Location(((MultiverseCore) plugin).getMVWorldManager().getMVWorld(parsed.get(1)).getCBWorld(), 0, 0, 0);
-
-        if (!parsed.get(2).matches(this.coordRegex)) {
-            this.isValid = false;
-            return;
-        }
-        double[] coords = new double[3];
-        String[] coordString = parsed.get(2).split(",");
-        for (int i = 0; i < 3; i++) {
-            try {
-                coords[i] = Double.parseDouble(coordString[i]);
-            } catch (NumberFormatException e) {
-                this.isValid = false;
-                return;
-            }
+        // If it's not a MV world
+        MultiverseWorld world = ((MultiverseCore) plugin).getMVWorldManager().getMVWorld(parsed[1]);
+        if (world == null) {
+            return false;
         }
-        this.location.setX(coords[0]);
-        this.location.setY(coords[1]);
-        this.location.setZ(coords[2]);
 
+        // Verify X,Y,Z are numbers
+        if (!COORD_PATTERN.matcher(parsed[2]).matches()) {
+            return false;
+        }
+        Location newLocation = new Location(world.getCBWorld(), 0, 0, 0);
+        String[] coordString = parsed[2].split(",");
         try {
+            newLocation.setX(Double.parseDouble(coordString[0]));
+            newLocation.setY(Double.parseDouble(coordString[1]));
+            newLocation.setZ(Double.parseDouble(coordString[2]));
             // BEGIN CHECKSTYLE-SUPPRESSION: MagicNumberCheck
-            this.location.setPitch(Float.parseFloat(parsed.get(3)));
-            this.location.setYaw(Float.parseFloat(parsed.get(4)));
-            this.speed = Math.abs(Float.parseFloat(parsed.get(5)));
+            newLocation.setPitch(Float.parseFloat(parsed[3]));
+            newLocation.setYaw(Float.parseFloat(parsed[4]));
+            this.speed = Math.abs(Float.parseFloat(parsed[5]));
             // END CHECKSTYLE-SUPPRESSION: MagicNumberCheck
         } catch (NumberFormatException e) {
-            this.isValid = false;
-            return;
+            return false;
         }
-
+        this.location = newLocation;
         this.isValid = true;
-
+        return true;
     }
 
     /**
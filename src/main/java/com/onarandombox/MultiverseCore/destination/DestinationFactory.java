@@ -21,10 +21,13 @@ import org.bukkit.permissions.PermissionDefault;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.reflect.Constructor;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
 /**
@@ -33,14 +36,22 @@ import java.util.regex.Pattern;
 public class DestinationFactory {
 
     private static final Pattern CANNON_PATTERN = Pattern.compile("(?i)cannon-[\\d]+(\\.[\\d]+)?");
+    private static final int DESTINATION_CACHE_SIZE = 256;
 
     private MultiverseCore plugin;
-    private Map<String, Class<? extends MVDestination>> destList;
+    private Map<String, DestinationType> destList;
+    private final Map<String, MVDestination> destinationCache;
     private Command teleportCommand;
 
     public DestinationFactory(MultiverseCore plugin) {
         this.plugin = plugin;
-        this.destList = new HashMap<String, Class<? extends MVDestination>>();
+        this.destList = new HashMap<String, DestinationType>();
+        this.destinationCache = new LinkedHashMap<String, MVDestination>(DESTINATION_CACHE_SIZE, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MVDestination> eldest) {
+                return this.size() > DESTINATION_CACHE_SIZE;
+            }
+        };
         List<Command> cmds = this.plugin.getCommandHandler().getAllCommands();
         for (Command c : cmds) {
             if (c instanceof TeleportCommand) {
@@ -105,31 +116,69 @@ public class DestinationFactory {
     /**
      * Gets a new destination from a string.
      * Returns a new InvalidDestination if the string could not be parsed.
+     * <p>
+     * Valid destinations of cacheable types are remembered, so firing the same destination string again
+     * (signs, command blocks, portals) does not parse it a second time.
      *
      * @param destination The destination in string format.
      *
      * @return A non-null MVDestination
      */
     public MVDestination getDestination(String destination) {
-        String idenChar = "";
-        if (destination.split(":").length > 1) {
-            idenChar = destination.split(":")[0];
+        synchronized (this.destinationCache) {
+            MVDestination cached = this.destinationCache.get(destination);
+            if (cached != null) {
+                return cached;
+            }
         }
 
-        if (this.destList.containsKey(idenChar)) {
-            Class<? extends MVDestination> myClass = this.destList.get(idenChar);
-            try {
-                MVDestination mydest = myClass.newInstance();
-                if (!mydest.isThisType(this.plugin, destination)) {
-                    return new InvalidDestination();
-                }
-                mydest.setDestination(this.plugin, destination);
-                return mydest;
-            } catch (InstantiationException e) {
-            } catch (IllegalAccessException e) {
+        DestinationType type = this.destList.get(getIdentifier(destination));
+        if (type == null) {
+            return new InvalidDestination();
+        }
+        MVDestination mydest = type.factory.get();
+        if (mydest == null || !mydest.isThisType(this.plugin, destination)) {
+            return new InvalidDestination();
+        }
+        mydest.setDestination(this.plugin, destination);
+        if (type.cacheable && mydest.isValid()) {
+            synchronized (this.destinationCache) {
+                this.destinationCache.put(destination, mydest);
+            }
+        }
+        return mydest;
+    }
+
+    /**
+     * Gets the identifier-prefix of a destination string, or an empty string for the default (world) type.
+     *
+     * @param destination The destination in string format.
+     * @return The identifier of the destination.
+     */
+    private static String getIdentifier(String destination) {
+        int separator = destination.indexOf(':');
+        if (separator < 0) {
+            return "";
+        }
+        // "a:" and "a::" have no identifier, just like splitting on ':' would tell us.
+        for (int i = separator + 1; i < destination.length(); i++) {
+            if (destination.charAt(i) != ':') {
+                return destination.substring(0, separator);
             }
         }
-        return new InvalidDestination();
+        return "";
+    }
+
+    /**
+     * Forgets all cached destinations.
+     * <p>
+     * This has to be called whenever something a parsed destination depends on changes, for example
+     * when worlds are loaded or unloaded or when anchors are modified.
+     */
+    public void invalidateCache() {
+        synchronized (this.destinationCache) {
+            this.destinationCache.clear();
+        }
     }
 
     /**
@@ -140,10 +189,39 @@ public class DestinationFactory {
      * @return True if the class was successfully registered.
      */
     public boolean registerDestinationType(Class<? extends MVDestination> c, String identifier) {
+        return this.registerDestinationType(reflectiveFactory(c), identifier, false);
+    }
+
+    /**
+     * Registers a {@link MVDestination}.
+     *
+     * @param factory Creates a new, empty instance of the {@link MVDestination}.
+     * @param identifier The {@link String}-identifier.
+     * @return True if the destination type was successfully registered.
+     */
+    public boolean registerDestinationType(Supplier<? extends MVDestination> factory, String identifier) {
+        return this.registerDestinationType(factory, identifier, false);
+    }
+
+    /**
+     * Registers a {@link MVDestination}.
+     * <p>
+     * Only mark a type as cacheable if its instances have no state of their own besides what
+     * {@link MVDestination#setDestination} parsed, and no other way to change it. A location may depend on the
+     * entity being teleported, as long as it's worked out on every call and nothing of it is kept.
+     *
+     * @param factory Creates a new, empty instance of the {@link MVDestination}.
+     * @param identifier The {@link String}-identifier.
+     * @param cacheable Whether parsed destinations of this type may be shared.
+     * @return True if the destination type was successfully registered.
+     */
+    public boolean registerDestinationType(Supplier<? extends MVDestination> factory, String identifier,
+                                           boolean cacheable) {
         if (this.destList.containsKey(identifier)) {
             return false;
         }
-        this.destList.put(identifier, c);
+        this.destList.put(identifier, new DestinationType(factory, cacheable));
+        this.invalidateCache();
         // Special case for world defaults:
         if (identifier.equals("")) {
             identifier = "w";
@@ -168,6 +246,25 @@ public class DestinationFactory {
         return true;
     }
 
+    /**
+     * Wraps the no-arg constructor of a destination class, so the lookup only happens once per type.
+     */
+    private static Supplier<MVDestination> reflectiveFactory(Class<? extends MVDestination> c) {
+        final Constructor<? extends MVDestination> constructor;
+        try {
+            constructor = c.getConstructor();
+        } catch (NoSuchMethodException e) {
+            return () -> null;
+        }
+        return () -> {
+            try {
+                return constructor.newInstance();
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        };
+    }
+
     /**
      * Gets all the {@link MVDestination} identifiers registered.
      *
@@ -176,4 +273,17 @@ public class DestinationFactory {
     public Collection<String> getRegisteredIdentifiers() {
         return this.destList.keySet();
     }
+
+    /**
+     * A registered destination type.
+     */
+    private static final class DestinationType {
+        private final Supplier<? extends MVDestination> factory;
+        private final boolean cacheable;
+
+        private DestinationType(Supplier<? extends MVDestination> factory, boolean cacheable) {
+            this.factory = factory;
+            this.cacheable = cacheable;
+        }
+    }
 }
@@ -9,20 +9,21 @@ package com.onarandombox.MultiverseCore.destination;
 
 import com.onarandombox.MultiverseCore.MultiverseCore;
 import com.onarandombox.MultiverseCore.api.MVDestination;
+import com.onarandombox.MultiverseCore.api.MultiverseWorld;
 import org.bukkit.Location;
 import org.bukkit.entity.Entity;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.util.Vector;
 
-import java.util.Arrays;
-import java.util.List;
+import java.util.regex.Pattern;
 
 /**
  * An exact {@link MVDestination}.
  */
 public class ExactDestination implements MVDestination {
-    private final String coordRegex = "(-?[\\d]+\\.?[\\d]*|~-?[\\d]+\\.?[\\d]*|~),(-?[\\d]+\\.?[\\d]*|~-?[\\d]+\\.?[\\d]*|~),(-?[\\d]+\\.?[\\d]*|~-?[\\d]+\\.?[\\d]*|~)";
+    private static final Pattern COORD_PATTERN = Pattern.compile("(-?[\\d]+\\.?[\\d]*|~-?[\\d]+\\.?[\\d]*|~),(-?[\\d]+\\.?[\\d]*|~-?[\\d]+\\.?[\\d]*|~),(-?[\\d]+\\.?[\\d]*|~-?[\\d]+\\.?[\\d]*|~)");
     private boolean isValid;
+    private String parsedDestination;
     private Location location;
     private boolean relativeX, relativeY, relativeZ;
 
@@ -47,41 +48,7 @@ public class ExactDestination implements MVDestination {
      */
     @Override
     public boolean isThisType(JavaPlugin plugin, String destination) {
-        if (!(plugin instanceof MultiverseCore)) {
-            return false;
-        }
-        List<String> parsed = Arrays.asList(destination.split(":"));
-        // Need at least: e:world:x,y,z
-        // OR e:world:x,y,z:pitch:yaw
-        // so basically 3 or 5
-        if (!(parsed.size() == 3 || parsed.size() == 5)) { // SUPPRESS CHECKSTYLE: MagicNumberCheck
-            return false;
-        }
-        // If it's not an Exact type
-        if (!parsed.get(0).equalsIgnoreCase("e")) {
-            return false;
-        }
-
-        // If it's not a MV world
-        if (!((MultiverseCore) plugin).getMVWorldManager().isMVWorld(parsed.get(1))) {
-            return false;
-        }
-
-        if (!parsed.get(2).matches(coordRegex)) {
-            return false;
-        }
-        // This is 1 now, because we've removed 2
-        if (parsed.size() == 3) {
-            return true;
-        }
-
-        try {
-            Float.parseFloat(parsed.get(3));
-            Float.parseFloat(parsed.get(4)); // SUPPRESS CHECKSTYLE: MagicNumberCheck
-        } catch (NumberFormatException e) {
-            return false;
-        }
-        return true;
+        return this.parse(plugin, destination);
     }
 
     /**
@@ -118,35 +85,54 @@ public class ExactDestination implements MVDestination {
      */
     @Override
     public void setDestination(JavaPlugin plugin, String destination) {
+        if (!destination.equals(this.parsedDestination)) {
+            this.parse(plugin, destination);
+        }
+    }
+
+    /**
+     * Parses a destination string into this destination.
+     * The result is remembered so that a following {@link #setDestination(JavaPlugin, String)} with the same
+     * string does not have to parse it again.
+     *
+     * @param plugin The plugin who the type belongs to.
+     * @param destination The destination string.
+     * @return True if the destination is a valid exact destination.
+     */
+    private boolean parse(JavaPlugin plugin, String destination) {
+        this.parsedDestination = destination;
+        this.isValid = false;
+        this.relativeX = false;
+        this.relativeY = false;
+        this.relativeZ = false;
         if (!(plugin instanceof MultiverseCore)) {
-            return;
+            return false;
         }
-        List<String> parsed = Arrays.asList(destination.split(":"));
+        String[] parsed = destination.split(":");
         // Need at least: e:world:x,y,z
         // OR e:world:x,y,z:pitch:yaw
         // so basically 3 or 5
-        if (!(parsed.size() == 3 || parsed.size() == 5)) { // SUPPRESS CHECKSTYLE: MagicNumberCheck
-            this.isValid = false;
-            return;
+        if (!(parsed.length == 3 || parsed.length == 5)) { // SUPPRESS CHECKSTYLE: MagicNumberCheck
+            return false;
         }
 
-        if (!parsed.get(0).equalsIgnoreCase(this.getIdentifier())) {
-            this.isValid = false;
-            return;
+        // If it's not an Exact type
+        if (!parsed[0].equalsIgnoreCase(this.getIdentifier())) {
+            return false;
         }
 
-        if (!((MultiverseCore) plugin).getMVWorldManager().isMVWorld(parsed.get(1))) {
-            this.isValid = false;
-            return;
+        // If it's not a MV world
+        MultiverseWorld world = ((MultiverseCore) plugin).getMVWorldManager().getMVWorld(parsed[1]);
+        if (world == null) {
+            return false;
         }
-        this.location = new Location(((MultiverseCore) plugin).getMVWorldManager().getMVWorld(parsed.get(1)).getCBWorld(), 0, 0, 0);
 
-        if (!parsed.get(2).matches(this.coordRegex)) {
-            this.isValid = false;
-            return;
+        if (!COORD_PATTERN.matcher(parsed[2]).matches()) {
+            return false;
         }
+        Location newLocation = new Location(world.getCBWorld(), 0, 0, 0);
         double[] coords = new double[3];
-        String[] coordString = parsed.get(2).split(",");
+        String[] coordString = parsed[2].split(",");
         for (int i = 0; i < 3; i++) {
             String[] relSplit = coordString[i].split("~");
             boolean relative = false;
@@ -159,8 +145,7 @@ public class ExactDestination implements MVDestination {
                 try {
                     coords[i] = Double.parseDouble(relSplit[0]);
                 } catch (NumberFormatException e) {
-                    this.isValid = false;
-                    return;
+                    return false;
                 }
             } else {
                 // coord is "~123" form
@@ -168,8 +153,7 @@ public class ExactDestination implements MVDestination {
                 try {
                     coords[i] = Double.parseDouble(relSplit[1]);
                 } catch (NumberFormatException e) {
-                    this.isValid = false;
-                    return;
+                    return false;
                 }
             }
             if (relative) {
@@ -186,24 +170,21 @@ public class ExactDestination implements MVDestination {
                 }
             }
         }
-        this.location.setX(coords[0]);
-        this.location.setY(coords[1]);
-        this.location.setZ(coords[2]);
+        newLocation.setX(coords[0]);
+        newLocation.setY(coords[1]);
+        newLocation.setZ(coords[2]);
 
-        if (parsed.size() == 3) {
-            this.isValid = true;
-            return;
-        }
-
-        try {
-            this.location.setPitch(Float.parseFloat(parsed.get(3)));
-            this.location.setYaw(Float.parseFloat(parsed.get(4))); // SUPPRESS CHECKSTYLE: MagicNumberCheck
-        } catch (NumberFormatException e) {
-            this.isValid = false;
-            return;
+        if (parsed.length == 5) { // SUPPRESS CHECKSTYLE: MagicNumberCheck
+            try {
+                newLocation.setPitch(Float.parseFloat(parsed[3]));
+                newLocation.setYaw(Float.parseFloat(parsed[4])); // SUPPRESS CHECKSTYLE: MagicNumberCheck
+            } catch (NumberFormatException e) {
+                return false;
+            }
         }
+        this.location = newLocation;
         this.isValid = true;
-
+        return true;
     }
 
     /**
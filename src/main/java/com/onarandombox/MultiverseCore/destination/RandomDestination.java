@@ -0,0 +1,167 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.destination;
+
+import com.dumptruckman.minecraft.util.Logging;
+import com.onarandombox.MultiverseCore.MultiverseCore;
+import com.onarandombox.MultiverseCore.api.MVDestination;
+import com.onarandombox.MultiverseCore.api.MultiverseWorld;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.util.Vector;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A random safe location around the spawn of a world, like r:world or r:world:2000.
+ * <p>
+ * The locations come from the {@link com.onarandombox.MultiverseCore.utils.RandomLocationPool}, which searches them
+ * in the background. A teleport asks its destination for the location several times in the same tick, when checking
+ * access, where the player comes from and whether the spot is safe, and when teleporting. So the location taken for an
+ * entity is kept until the next tick, and every teleport after that gets a new one. Destinations of this type are
+ * never shared anyway, a portal or sign may keep its own for as long as it likes.
+ */
+public class RandomDestination implements MVDestination {
+    private static final int DEFAULT_RADIUS = 1000;
+
+    private MultiverseCore plugin;
+    private MultiverseWorld world;
+    private int radius = DEFAULT_RADIUS;
+    private boolean isValid;
+    // The locations taken by the teleports of this tick, by teleportee.
+    private final Map<Entity, Location> taken = new HashMap<Entity, Location>();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getIdentifier() {
+        return "r";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isThisType(JavaPlugin plugin, String destination) {
+        if (!(plugin instanceof MultiverseCore)) {
+            return false;
+        }
+        String[] items = destination.split(":");
+        if (items.length < 2 || items.length > 3 || !items[0].equalsIgnoreCase("r")) {
+            return false;
+        }
+        if (((MultiverseCore) plugin).getMVWorldManager().getMVWorld(items[1]) == null) {
+            return false;
+        }
+        return items.length == 2 || parseRadius(items[2]) > 0;
+    }
+
+    private static int parseRadius(String radius) {
+        try {
+            return Integer.parseInt(radius);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Location getLocation(Entity e) {
+        Location location = this.taken.get(e);
+        if (location == null) {
+            location = this.plugin.getRandomLocationPool().takeLocation(this.world.getCBWorld(), this.radius);
+            if (location == null) {
+                // The pool is still filling, the safe teleporter finds a spot around the spawn instead.
+                Logging.fine("No random locations ready for '%s' yet, using its spawn.", this.world.getName());
+                location = this.world.getSpawnLocation();
+            }
+            if (this.taken.isEmpty()) {
+                // The teleports of this tick are done by then.
+                this.plugin.getServer().getScheduler().runTask(this.plugin, this.taken::clear);
+            }
+            this.taken.put(e, location);
+        }
+        return location.clone();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isValid() {
+        return this.isValid;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setDestination(JavaPlugin plugin, String destination) {
+        this.isValid = false;
+        this.taken.clear();
+        if (!this.isThisType(plugin, destination)) {
+            return;
+        }
+        this.plugin = (MultiverseCore) plugin;
+        String[] items = destination.split(":");
+        this.world = this.plugin.getMVWorldManager().getMVWorld(items[1]);
+        this.radius = items.length == 3 ? parseRadius(items[2]) : DEFAULT_RADIUS;
+        this.isValid = true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getType() {
+        return "Random";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getName() {
+        return "Random (" + this.world.getColoredWorldString() + ")";
+    }
+
+    @Override
+    public String toString() {
+        return "r:" + this.world.getName() + ":" + this.radius;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getRequiredPermission() {
+        return "multiverse.access." + this.world.getName();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Vector getVelocity() {
+        return new Vector(0, 0, 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean useSafeTeleporter() {
+        // The pool checked the spot against a snapshot, the safe teleporter checks it again against the live world.
+        return true;
+    }
+}
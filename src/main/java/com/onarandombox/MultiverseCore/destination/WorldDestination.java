@@ -7,7 +7,6 @@
 
 package com.onarandombox.MultiverseCore.destination;
 
-import com.onarandombox.MultiverseCore.MultiverseCore;
 import com.onarandombox.MultiverseCore.api.Core;
 import com.onarandombox.MultiverseCore.api.MVDestination;
 import com.onarandombox.MultiverseCore.api.MultiverseWorld;
@@ -24,6 +23,7 @@ public class WorldDestination implements MVDestination {
     private MultiverseWorld world;
     private float yaw = -1;
     private String direction = "";
+    private String parsedDestination;
 
     /**
      * {@inheritDoc}
@@ -38,23 +38,48 @@ public class WorldDestination implements MVDestination {
      */
     @Override
     public boolean isThisType(JavaPlugin plugin, String destination) {
+        return this.parse(plugin, destination);
+    }
+
+    /**
+     * Parses a destination string into this destination.
+     * The result is remembered so that a following {@link #setDestination(JavaPlugin, String)} with the same
+     * string does not have to parse it again.
+     *
+     * @param plugin The plugin who the type belongs to.
+     * @param destination The destination string.
+     * @return True if the destination is a valid world destination.
+     */
+    private boolean parse(JavaPlugin plugin, String destination) {
+        this.parsedDestination = destination;
+        this.isValid = false;
+        this.world = null;
+        this.yaw = -1;
+        // TODO Taking a JavaPlugin here is rather useless, if we keep casting it up to Core.
+        // We should change that.
+        Core core = (Core) plugin;
         String[] items = destination.split(":");
-        if (items.length > 3) {
+        if (items.length == 0 || items.length > 3) {
             return false;
         }
-        if (items.length == 1 && ((MultiverseCore) plugin).getMVWorldManager().isMVWorld(items[0])) {
+        MultiverseWorld namedWorld = core.getMVWorldManager().getMVWorld(items[0]);
+        if (items.length == 1 && namedWorld != null) {
             // This case is: world
-            return true;
-        }
-        if (items.length == 2 && ((MultiverseCore) plugin).getMVWorldManager().isMVWorld(items[0])) {
+            this.world = namedWorld;
+        } else if (items.length == 2 && namedWorld != null) {
             // This case is: world:n
-            return true;
-        } else if (items[0].equalsIgnoreCase("w") && ((MultiverseCore) plugin).getMVWorldManager().isMVWorld(items[1])) {
+            this.world = namedWorld;
+            this.yaw = core.getLocationManipulation().getYaw(items[1]);
+        } else if (items.length > 1 && items[0].equalsIgnoreCase("w")) {
             // This case is: w:world
             // and w:world:ne
-            return true;
+            this.world = core.getMVWorldManager().getMVWorld(items[1]);
+            if (this.world != null && items.length == 3) {
+                this.yaw = core.getLocationManipulation().getYaw(items[2]);
+            }
         }
-        return false;
+        this.isValid = this.world != null;
+        return this.isValid;
     }
 
     /**
@@ -93,30 +118,8 @@ public class WorldDestination implements MVDestination {
      */
     @Override
     public void setDestination(JavaPlugin plugin, String destination) {
-        // TODO Taking a JavaPlugin here is rather useless, if we keep casting it up to MultiverseCore.
-        // We should change that.
-        Core core = (Core) plugin;
-        String[] items = destination.split(":");
-        if (items.length > 3) {
-            isValid = false;
-            return;
-        }
-        if (items.length == 1 && ((MultiverseCore) plugin).getMVWorldManager().isMVWorld(items[0])) {
-            isValid = true;
-            this.world = core.getMVWorldManager().getMVWorld(items[0]);
-            return;
-        }
-        if (items.length == 2 && ((MultiverseCore) plugin).getMVWorldManager().isMVWorld(items[0])) {
-            this.world = core.getMVWorldManager().getMVWorld(items[0]);
-            this.yaw = core.getLocationManipulation().getYaw(items[1]);
-            return;
-        }
-        if (items[0].equalsIgnoreCase("w") && ((MultiverseCore) plugin).getMVWorldManager().isMVWorld(items[1])) {
-            this.world = ((MultiverseCore) plugin).getMVWorldManager().getMVWorld(items[1]);
-            isValid = true;
-            if (items.length == 3) {
-                this.yaw = core.getLocationManipulation().getYaw(items[2]);
-            }
+        if (!destination.equals(this.parsedDestination)) {
+            this.parse(plugin, destination);
         }
     }
 
@@ -50,6 +50,16 @@ public class ContentDisplay<T> {
         return new Builder<>(content).displayHandler(DisplayHandlers.INLINE_MAP);
     }
 
+    /**
+     * Creates a ContentDisplay.Builder for the given lazily formatted content.
+     *
+     * @param content The content to be displayed.
+     * @return A new Builder.
+     */
+    public static Builder<LazyContent<?>> forContent(LazyContent<?> content) {
+        return new Builder<LazyContent<?>>(content).displayHandler(DisplayHandlers.LAZY_PAGE_LIST);
+    }
+
     private final T contents;
 
     private String header;
@@ -13,7 +13,9 @@ import java.util.regex.PatternSyntaxException;
  *
  * <p>Compile regex pattern based on {@link ContentFilter#filterString}. When prefixed with 'r=',
  * use {@link ContentFilter#filterString} as the full regex pattern. Else, set to any match that
- * contains the {@link ContentFilter#filterString}.<p>
+ * contains the {@link ContentFilter#filterString}, ignoring case.<p>
+ *
+ * <p>Plain filters are matched as a substring without going through regex at all.</p>
  */
 public class ContentFilter {
 
@@ -22,6 +24,7 @@ public class ContentFilter {
 
     private String filterString;
     private Pattern filterPattern;
+    private String literal;
     private boolean exactMatch;
 
     private ContentFilter() {
@@ -54,8 +57,7 @@ public class ContentFilter {
             convertToMatcher(filterString.substring(2));
             return;
         }
-        String cleanedFilter = REGEX_SPECIAL_CHARS.matcher(filterString.toLowerCase()).replaceAll("\\\\$0");
-        convertToMatcher("(?i).*" + cleanedFilter + ".*");
+        this.literal = filterString.toLowerCase();
     }
 
     /**
@@ -86,10 +88,51 @@ public class ContentFilter {
         if (text == null || !hasValidPattern()) {
             return false;
         }
-        text = ChatColor.stripColor(String.valueOf(text));
+        String stripped = stripColor(String.valueOf(text));
+        if (literal != null) {
+            // Same as the '(?i).*filter.*' regex plain filters stand for, exact or not.
+            return containsIgnoreCase(stripped, literal);
+        }
         return (exactMatch)
-                ? filterPattern.matcher((CharSequence) text).matches()
-                : filterPattern.matcher((CharSequence) text).find();
+                ? filterPattern.matcher(stripped).matches()
+                : filterPattern.matcher(stripped).find();
+    }
+
+    /**
+     * Same as {@link ChatColor#stripColor(String)}, without regex and without copying text that has no colours.
+     */
+    private static String stripColor(String text) {
+        int colorChar = text.indexOf(ChatColor.COLOR_CHAR);
+        if (colorChar < 0) {
+            return text;
+        }
+        StringBuilder builder = new StringBuilder(text.length());
+        builder.append(text, 0, colorChar);
+        for (int i = colorChar; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ChatColor.COLOR_CHAR && i + 1 < text.length() && isColorCode(text.charAt(i + 1))) {
+                i++;
+                continue;
+            }
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+
+    private static boolean isColorCode(char c) {
+        char lower = Character.toLowerCase(c);
+        return (lower >= '0' && lower <= '9') || (lower >= 'a' && lower <= 'f') || (lower >= 'k' && lower <= 'o')
+                || lower == 'r';
+    }
+
+    private static boolean containsIgnoreCase(String text, String lowerCaseTerm) {
+        int termLength = lowerCaseTerm.length();
+        for (int i = 0, last = text.length() - termLength; i <= last; i++) {
+            if (text.regionMatches(true, i, lowerCaseTerm, 0, termLength)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -107,7 +150,7 @@ public class ContentFilter {
      * @return True if valid, else false.
      */
     public boolean hasValidPattern() {
-        return filterPattern != null;
+        return literal != null || filterPattern != null;
     }
 
     /**
@@ -123,6 +166,11 @@ public class ContentFilter {
      */
     @Nullable
     public Pattern getPattern() {
+        if (filterPattern == null && literal != null) {
+            // Plain filters don't need it to match, only build it when asked.
+            String cleanedFilter = REGEX_SPECIAL_CHARS.matcher(literal).replaceAll("\\\\$0");
+            convertToMatcher("(?i).*" + cleanedFilter + ".*");
+        }
         return filterPattern;
     }
 
@@ -147,6 +195,7 @@ public class ContentFilter {
         return "ContentFilter{" +
                 "filterString='" + filterString + '\'' +
                 ", filterPattern=" + filterPattern +
+                ", literal='" + literal + '\'' +
                 ", exactMatch=" + exactMatch +
                 '}';
     }
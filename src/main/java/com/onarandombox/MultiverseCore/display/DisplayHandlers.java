@@ -2,6 +2,7 @@ package com.onarandombox.MultiverseCore.display;
 
 import com.onarandombox.MultiverseCore.display.handlers.InlineListDisplayHandler;
 import com.onarandombox.MultiverseCore.display.handlers.InlineMapDisplayHandler;
+import com.onarandombox.MultiverseCore.display.handlers.LazyPagedListDisplayHandler;
 import com.onarandombox.MultiverseCore.display.handlers.ListDisplayHandler;
 import com.onarandombox.MultiverseCore.display.handlers.PagedListDisplayHandler;
 import com.onarandombox.MultiverseCore.display.settings.InlineDisplaySettings;
@@ -31,6 +32,13 @@ public class DisplayHandlers {
      */
     public static final DisplayHandler<Collection<String>> PAGE_LIST = new PagedListDisplayHandler();
 
+    /**
+     * List display with paging, that only formats the lines on the shown page.
+     *
+     * Supported settings: same as {@link #PAGE_LIST}.
+     */
+    public static final DisplayHandler<LazyContent<?>> LAZY_PAGE_LIST = new LazyPagedListDisplayHandler();
+
     /**
      * Display a list inline.
      *
@@ -0,0 +1,93 @@
+package com.onarandombox.MultiverseCore.display;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Content that is only formatted once it is known to be displayed.
+ *
+ * <p>Each item is matched against the {@link ContentFilter} using its plain filter text, so handlers such as
+ * {@link DisplayHandlers#LAZY_PAGE_LIST} can skip formatting everything that is filtered out or on another page.</p>
+ *
+ * @param <T>   Type of the items.
+ */
+public class LazyContent<T> implements Iterable<T> {
+
+    /**
+     * Creates lazy content from items and the way to format them.
+     *
+     * @param items     The items to display.
+     * @param formatter Formats an item into the line to display.
+     * @param <T>       The type of the items.
+     * @return The lazy content, filtered on the formatted lines until {@link #filterOn(Function)} is set.
+     */
+    public static <T> LazyContent<T> of(@NotNull Iterable<T> items, @NotNull Function<T, String> formatter) {
+        return new LazyContent<>(items, formatter);
+    }
+
+    /**
+     * Creates lazy content from a stream of items and the way to format them. The stream is consumed once, when the
+     * content is displayed.
+     *
+     * @param items     The items to display.
+     * @param formatter Formats an item into the line to display.
+     * @param <T>       The type of the items.
+     * @return The lazy content, filtered on the formatted lines until {@link #filterOn(Function)} is set.
+     */
+    public static <T> LazyContent<T> of(@NotNull Stream<T> items, @NotNull Function<T, String> formatter) {
+        return new LazyContent<>(items::iterator, formatter);
+    }
+
+    private final Iterable<T> items;
+    private final Function<T, String> formatter;
+    private Function<T, String> filterText;
+
+    private LazyContent(Iterable<T> items, Function<T, String> formatter) {
+        this.items = items;
+        this.formatter = formatter;
+        this.filterText = formatter;
+    }
+
+    /**
+     * Sets the text filters are matched against. It should read the same as the formatted line without colours,
+     * but be cheaper to get.
+     *
+     * @param filterText Gets the text to filter an item on.
+     * @return This content.
+     */
+    @NotNull
+    public LazyContent<T> filterOn(@NotNull Function<T, String> filterText) {
+        this.filterText = filterText;
+        return this;
+    }
+
+    /**
+     * Checks if an item matches a filter.
+     *
+     * @param filter    The filter.
+     * @param item      The item.
+     * @return True if the item matches.
+     */
+    public boolean matches(@NotNull ContentFilter filter, T item) {
+        return !filter.hasFilter() || filter.checkMatch(this.filterText.apply(item));
+    }
+
+    /**
+     * Formats an item into the line to display.
+     *
+     * @param item The item.
+     * @return The formatted line.
+     */
+    @NotNull
+    public String format(T item) {
+        return this.formatter.apply(item);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return this.items.iterator();
+    }
+}
@@ -0,0 +1,92 @@
+package com.onarandombox.MultiverseCore.display.handlers;
+
+import com.onarandombox.MultiverseCore.display.ContentDisplay;
+import com.onarandombox.MultiverseCore.display.ContentFilter;
+import com.onarandombox.MultiverseCore.display.DisplayFormatException;
+import com.onarandombox.MultiverseCore.display.DisplayHandler;
+import com.onarandombox.MultiverseCore.display.LazyContent;
+import com.onarandombox.MultiverseCore.display.settings.PagedDisplaySettings;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Pages {@link LazyContent} like {@link PagedListDisplayHandler}, but filters and pages before formatting, so only the
+ * lines on the shown page are formatted.
+ */
+public class LazyPagedListDisplayHandler implements DisplayHandler<LazyContent<?>> {
+
+    @Override
+    public Collection<String> format(@NotNull CommandSender sender, @NotNull ContentDisplay<LazyContent<?>> display)
+            throws DisplayFormatException {
+        return formatContent(sender, display, display.getContents());
+    }
+
+    private <T> Collection<String> formatContent(CommandSender sender, ContentDisplay<?> display, LazyContent<T> contents)
+            throws DisplayFormatException {
+        ContentFilter filter = display.getFilter();
+        if (PagedListDisplayHandler.dontNeedPaging(sender, display)) {
+            List<String> content = new ArrayList<>();
+            for (T item : contents) {
+                if (contents.matches(filter, item)) {
+                    content.add(display.getColorTool().get() + contents.format(item));
+                }
+            }
+            return content;
+        }
+
+        int pages = 1;
+        int currentLength = 0;
+        int targetPage = display.getSetting(PagedDisplaySettings.SHOW_PAGE);
+        int linesPerPage = display.getSetting(PagedDisplaySettings.LINES_PER_PAGE);
+        List<String> content = new ArrayList<>(linesPerPage);
+
+        // Calculate the paging, only formatting what ends up on the target page.
+        for (T item : contents) {
+            if (!contents.matches(filter, item)) {
+                continue;
+            }
+            if (++currentLength > linesPerPage) {
+                pages++;
+                currentLength = 1;
+            }
+            if (pages == targetPage) {
+                content.add(display.getColorTool().get() + contents.format(item));
+            }
+        }
+
+        // Page out of range.
+        if (targetPage < 1 || targetPage > pages) {
+            if (pages == 1) {
+                throw new DisplayFormatException("There is only 1 page!");
+            }
+            throw new DisplayFormatException("Please enter a page from 1 to " + pages + ".");
+        }
+
+        // No content
+        if (content.size() == 0) {
+            content.add(display.getEmptyMessage());
+        }
+
+        // Add empty lines to make output length consistent.
+        if (display.getSetting(PagedDisplaySettings.DO_END_PADDING)) {
+            IntStream.range(0, linesPerPage - content.size()).forEach(i -> content.add(""));
+        }
+        display.setSetting(PagedDisplaySettings.TOTAL_PAGE, pages);
+
+        return content;
+    }
+
+    @Override
+    public void sendSubHeader(@NotNull CommandSender sender, @NotNull ContentDisplay<LazyContent<?>> display) {
+        if (PagedListDisplayHandler.dontNeedPaging(sender, display)) {
+            DisplayHandler.super.sendSubHeader(sender, display);
+            return;
+        }
+        PagedListDisplayHandler.sendPageSubHeader(sender, display);
+    }
+}
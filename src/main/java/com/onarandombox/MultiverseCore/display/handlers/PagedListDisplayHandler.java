@@ -81,7 +81,16 @@ public class PagedListDisplayHandler extends ListDisplayHandler {
             super.sendSubHeader(sender, display);
             return;
         }
+        sendPageSubHeader(sender, display);
+    }
 
+    /**
+     * Sends the page info, and the filter if there is one.
+     *
+     * @param sender The {@link CommandSender} who will the sub header will be displayed to.
+     * @param display The responsible {@link ContentDisplay}.
+     */
+    static void sendPageSubHeader(@NotNull CommandSender sender, @NotNull ContentDisplay<?> display) {
         if (display.getFilter().hasFilter()) {
             sender.sendMessage(String.format("%s[ Page %s of %s, %s ]",
                     ChatColor.GRAY,
@@ -98,7 +107,7 @@ public class PagedListDisplayHandler extends ListDisplayHandler {
         );
     }
 
-    private boolean dontNeedPaging(CommandSender sender, ContentDisplay<Collection<String>> display) {
+    static boolean dontNeedPaging(CommandSender sender, ContentDisplay<?> display) {
         return sender instanceof ConsoleCommandSender
                 && !display.getSetting(PagedDisplaySettings.PAGE_IN_CONSOLE);
     }
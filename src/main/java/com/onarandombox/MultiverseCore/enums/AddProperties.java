@@ -22,5 +22,9 @@ public enum AddProperties {
     /**
      * Monster-exceptions.
      */
-    monsters
+    monsters,
+    /**
+     * Blocks people should never be teleported on or into.
+     */
+    hazardblocks
 }
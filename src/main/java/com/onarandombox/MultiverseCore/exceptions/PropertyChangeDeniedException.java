@@ -0,0 +1,27 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.exceptions;
+
+/**
+ * Thrown when a world refuses a new value for one of its properties.
+ */
+public class PropertyChangeDeniedException extends Exception {
+    private final String property;
+
+    public PropertyChangeDeniedException(String property) {
+        super(property);
+        this.property = property;
+    }
+
+    /**
+     * @return The name of the property whose value was refused.
+     */
+    public String getProperty() {
+        return this.property;
+    }
+}
@@ -0,0 +1,44 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.listeners;
+
+import com.onarandombox.MultiverseCore.MultiverseCore;
+import com.onarandombox.MultiverseCore.WorldRules;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityRegainHealthEvent;
+import org.bukkit.event.entity.EntityRegainHealthEvent.RegainReason;
+
+/**
+ * Multiverse's autoheal {@link Listener}, only registered while a world has autoheal disabled.
+ */
+public class MVAutoHealListener implements Listener {
+    private MultiverseCore plugin;
+
+    public MVAutoHealListener(MultiverseCore plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * This method is called when an entity's health goes up or down.
+     * @param event The Event that was fired.
+     */
+    @EventHandler
+    public void entityRegainHealth(EntityRegainHealthEvent event) {
+        if (event.isCancelled()) {
+            return;
+        }
+        if (event.getRegainReason() != RegainReason.REGEN) {
+            return;
+        }
+        WorldRules rules = this.plugin.getWorldRules(event.getEntity().getLocation().getWorld());
+        if (rules != null && !rules.hasAutoHeal()) {
+            event.setCancelled(true);
+        }
+    }
+}
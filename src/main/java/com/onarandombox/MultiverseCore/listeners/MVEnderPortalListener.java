@@ -0,0 +1,55 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2012.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.listeners;
+
+import com.dumptruckman.minecraft.util.Logging;
+import com.onarandombox.MultiverseCore.MultiverseCore;
+import com.onarandombox.MultiverseCore.WorldRules;
+import org.bukkit.Material;
+import org.bukkit.PortalType;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.player.PlayerInteractEvent;
+
+/**
+ * Stops ender portals from being made by players, only registered while a world doesn't allow them.
+ * <p>
+ * Players interact all the time, so this is kept apart from the {@link MVPortalListener}.
+ */
+public class MVEnderPortalListener implements Listener {
+
+    private MultiverseCore plugin;
+
+    public MVEnderPortalListener(MultiverseCore core) {
+        this.plugin = core;
+    }
+
+    /**
+     * This method will prevent ender portals from being created in worlds where they are not allowed due to portalForm.
+     *
+     * @param event The player interact event.
+     */
+    @EventHandler(ignoreCancelled = true)
+    public void portalForm(PlayerInteractEvent event) {
+        if (event.getAction() != Action.RIGHT_CLICK_BLOCK) {
+            return;
+        }
+        if (event.getClickedBlock().getType() != Material.END_PORTAL_FRAME) {
+            return;
+        }
+        if (event.getItem() == null || event.getItem().getType() != Material.ENDER_EYE) {
+            return;
+        }
+        WorldRules rules = this.plugin.getWorldRules(event.getPlayer().getWorld());
+        if (rules != null && !rules.isPortalAllowed(PortalType.ENDER)) {
+            Logging.fine("Cancelling creation of ender portal because portalForm disallows.");
+            event.setCancelled(true);
+        }
+    }
+}
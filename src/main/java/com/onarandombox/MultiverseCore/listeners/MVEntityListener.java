@@ -14,15 +14,11 @@ import com.onarandombox.MultiverseCore.api.MultiverseWorld;
 import com.onarandombox.MultiverseCore.utils.CompatibilityLayer;
 import org.bukkit.World;
 import org.bukkit.entity.EntityType;
-import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.CreatureSpawnEvent;
 import org.bukkit.event.entity.CreatureSpawnEvent.SpawnReason;
 import org.bukkit.event.entity.EntityPortalEvent;
-import org.bukkit.event.entity.EntityRegainHealthEvent;
-import org.bukkit.event.entity.EntityRegainHealthEvent.RegainReason;
-import org.bukkit.event.entity.FoodLevelChangeEvent;
 
 import java.util.logging.Level;
 
@@ -38,43 +34,6 @@ public class MVEntityListener implements Listener {
         this.worldManager = plugin.getMVWorldManager();
     }
 
-    /**
-     * This method is called when an entity's food level goes higher or lower.
-     * @param event The Event that was fired.
-     */
-    @EventHandler
-    public void foodLevelChange(FoodLevelChangeEvent event) {
-        if (event.isCancelled()) {
-            return;
-        }
-        if (event.getEntity() instanceof Player) {
-            Player p = (Player) event.getEntity();
-            MultiverseWorld w = this.plugin.getMVWorldManager().getMVWorld(p.getWorld().getName());
-            if (w != null && !w.getHunger()) {
-                // If the world has hunger set to false, do not let the level go down
-                if (event.getFoodLevel() < ((Player) event.getEntity()).getFoodLevel()) {
-                    event.setCancelled(true);
-                }
-            }
-        }
-    }
-
-    /**
-     * This method is called when an entity's health goes up or down.
-     * @param event The Event that was fired.
-     */
-    @EventHandler
-    public void entityRegainHealth(EntityRegainHealthEvent event) {
-        if (event.isCancelled()) {
-            return;
-        }
-        RegainReason reason = event.getRegainReason();
-        MultiverseWorld world = this.worldManager.getMVWorld(event.getEntity().getLocation().getWorld());
-        if (world != null && reason == RegainReason.REGEN && !world.getAutoHeal()) {
-            event.setCancelled(true);
-        }
-    }
-
     /**
      * Handle Animal/Monster Spawn settings, seems like a more concrete method than using CraftBukkit.
      * @param event The event.
@@ -0,0 +1,47 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.listeners;
+
+import com.onarandombox.MultiverseCore.MultiverseCore;
+import com.onarandombox.MultiverseCore.WorldRules;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.FoodLevelChangeEvent;
+
+/**
+ * Multiverse's hunger {@link Listener}, only registered while a world has hunger disabled.
+ */
+public class MVHungerListener implements Listener {
+    private MultiverseCore plugin;
+
+    public MVHungerListener(MultiverseCore plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * This method is called when an entity's food level goes higher or lower.
+     * @param event The Event that was fired.
+     */
+    @EventHandler
+    public void foodLevelChange(FoodLevelChangeEvent event) {
+        if (event.isCancelled()) {
+            return;
+        }
+        if (event.getEntity() instanceof Player) {
+            Player p = (Player) event.getEntity();
+            WorldRules rules = this.plugin.getWorldRules(p.getWorld());
+            if (rules != null && !rules.hasHunger()) {
+                // If the world has hunger set to false, do not let the level go down
+                if (event.getFoodLevel() < ((Player) event.getEntity()).getFoodLevel()) {
+                    event.setCancelled(true);
+                }
+            }
+        }
+    }
+}
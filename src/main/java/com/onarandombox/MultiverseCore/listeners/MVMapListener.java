@@ -1,43 +1,89 @@
 package com.onarandombox.MultiverseCore.listeners;
 
 import com.onarandombox.MultiverseCore.MultiverseCore;
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.server.MapInitializeEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.inventory.meta.MapMeta;
 import org.bukkit.map.MapView;
 
 /**
  * A listener for bukkit map events.
+ * <p>
+ * A map is initialized while the player who uses it is interacting, so the interaction tells us whose map it is
+ * without looking at every online player.
  */
 public class MVMapListener implements Listener {
 
     private final MultiverseCore plugin;
+    // The player who is using a map right now, and the map they use.
+    private Player mapUser;
+    private ItemStack usedMap;
 
     public MVMapListener(final MultiverseCore plugin) {
         this.plugin = plugin;
     }
 
+    /**
+     * This method is called when a player interacts, which is how maps are created.
+     * @param event The event that was fired.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void playerInteract(final PlayerInteractEvent event) {
+        final ItemStack item = event.getItem();
+        if (item == null || (item.getType() != Material.MAP && item.getType() != Material.FILLED_MAP)
+                || (event.getAction() != Action.RIGHT_CLICK_AIR && event.getAction() != Action.RIGHT_CLICK_BLOCK)
+                || event.useItemInHand() == Event.Result.DENY) {
+            this.mapUser = null;
+            this.usedMap = null;
+            return;
+        }
+        final Player player = event.getPlayer();
+        this.mapUser = player;
+        this.usedMap = item;
+        // Nothing was initialized if the interaction is over, don't blame them for the next map.
+        this.plugin.getServer().getScheduler().runTask(this.plugin, () -> {
+            if (this.mapUser == player) {
+                this.mapUser = null;
+                this.usedMap = null;
+            }
+        });
+    }
+
     /**
      * This method is called when a map is initialized.
      * @param event The event that was fired.
      */
     @EventHandler
     public void mapInitialize(final MapInitializeEvent event) {
-        for (final Player player : Bukkit.getOnlinePlayers()) {
-            if ((player.getItemInHand().getType() == Material.MAP
-                    || player.getItemInHand().getType() == Material.FILLED_MAP)
-                    && player.getItemInHand().getDurability() == event.getMap().getId()) {
-                final Location playerLoc = player.getLocation();
-                final MapView map = event.getMap();
-                map.setCenterX(playerLoc.getBlockX());
-                map.setCenterZ(playerLoc.getBlockZ());
-                map.setWorld(playerLoc.getWorld());
+        final Player player = this.mapUser;
+        final ItemStack item = this.usedMap;
+        this.mapUser = null;
+        this.usedMap = null;
+        if (player == null || !player.isOnline()) {
+            return;
+        }
+        final MapView map = event.getMap();
+        if (item.getType() == Material.FILLED_MAP) {
+            // A filled map is only initialized again if its data is gone, make sure it's this one.
+            final ItemMeta meta = item.getItemMeta();
+            if (!(meta instanceof MapMeta) || !((MapMeta) meta).hasMapId()
+                    || ((MapMeta) meta).getMapId() != map.getId()) {
                 return;
             }
         }
+        final Location playerLoc = player.getLocation();
+        map.setCenterX(playerLoc.getBlockX());
+        map.setCenterZ(playerLoc.getBlockZ());
+        map.setWorld(playerLoc.getWorld());
     }
 }
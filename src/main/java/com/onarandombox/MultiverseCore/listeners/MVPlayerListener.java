@@ -9,13 +9,15 @@ package com.onarandombox.MultiverseCore.listeners;
 
 import com.dumptruckman.minecraft.util.Logging;
 import com.onarandombox.MultiverseCore.MultiverseCore;
+import com.onarandombox.MultiverseCore.WorldRules;
 import com.onarandombox.MultiverseCore.api.MVWorldManager;
 import com.onarandombox.MultiverseCore.api.MultiverseWorld;
 import com.onarandombox.MultiverseCore.enums.RespawnType;
 import com.onarandombox.MultiverseCore.event.MVRespawnEvent;
 import com.onarandombox.MultiverseCore.utils.CompatibilityLayer;
+import com.onarandombox.MultiverseCore.utils.JoinRouter;
 import com.onarandombox.MultiverseCore.utils.PermissionTools;
-import org.bukkit.GameMode;
+import com.onarandombox.MultiverseCore.utils.PlayerStateUpdater;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
@@ -24,6 +26,7 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerBedEnterEvent;
 import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerPortalEvent;
@@ -41,6 +44,8 @@ public class MVPlayerListener implements Listener {
     private final MultiverseCore plugin;
     private final MVWorldManager worldManager;
     private final PermissionTools pt;
+    private final PlayerStateUpdater stateUpdater;
+    private final JoinRouter joinRouter;
 
     private final Map<String, String> playerWorld = new ConcurrentHashMap<String, String>();
 
@@ -48,6 +53,8 @@ public class MVPlayerListener implements Listener {
         this.plugin = plugin;
         worldManager = plugin.getMVWorldManager();
         pt = new PermissionTools(plugin);
+        stateUpdater = new PlayerStateUpdater(plugin);
+        joinRouter = new JoinRouter(plugin);
     }
 
     /**
@@ -64,9 +71,9 @@ public class MVPlayerListener implements Listener {
     @EventHandler(priority = EventPriority.LOW)
     public void playerRespawn(PlayerRespawnEvent event) {
         World world = event.getPlayer().getWorld();
-        MultiverseWorld mvWorld = this.worldManager.getMVWorld(world.getName());
+        WorldRules rules = this.plugin.getWorldRules(world);
         // If it's not a World MV manages we stop.
-        if (mvWorld == null) {
+        if (rules == null) {
             return;
         }
 
@@ -78,15 +85,16 @@ public class MVPlayerListener implements Listener {
             respawnType = RespawnType.ANCHOR;
         }
 
-        if (mvWorld.getBedRespawn() && (respawnType == RespawnType.BED || respawnType == RespawnType.ANCHOR)) {
+        if (rules.hasBedRespawn() && (respawnType == RespawnType.BED || respawnType == RespawnType.ANCHOR)) {
             Logging.fine("Spawning %s at their %s", event.getPlayer().getName(), respawnType);
             return;
         }
 
         // Get the instance of the World the player should respawn at.
         MultiverseWorld respawnWorld = null;
-        if (this.worldManager.isMVWorld(mvWorld.getRespawnToWorld())) {
-            respawnWorld = this.worldManager.getMVWorld(mvWorld.getRespawnToWorld());
+        if (!rules.getRespawnWorld().isEmpty()) {
+            // Only by name, like the bukkit world it names.
+            respawnWorld = this.worldManager.getMVWorld(rules.getRespawnWorld(), false);
         }
 
         // If it's null then it either means the World doesn't exist or the value is blank, so we don't handle it.
@@ -119,20 +127,11 @@ public class MVPlayerListener implements Listener {
         Player p = event.getPlayer();
         if (!p.hasPlayedBefore()) {
             Logging.finer("Player joined for the FIRST time!");
-            if (plugin.getMVConfig().getFirstSpawnOverride()) {
-                Logging.fine("Moving NEW player to(firstspawnoverride): "
-                        + worldManager.getFirstSpawnWorld().getSpawnLocation());
-                this.sendPlayerToDefaultWorld(p);
-            }
+            this.joinRouter.route(p, true);
             return;
-        } else {
-            Logging.finer("Player joined AGAIN!");
-            if (this.plugin.getMVConfig().getEnforceAccess() // check this only if we're enforcing access!
-                    && !this.plugin.getMVPerms().hasPermission(p, "multiverse.access." + p.getWorld().getName(), false)) {
-                p.sendMessage("[MV] - Sorry you can't be in this world anymore!");
-                this.sendPlayerToDefaultWorld(p);
-            }
         }
+        Logging.finer("Player joined AGAIN!");
+        this.joinRouter.route(p, false);
         // Handle the Players GameMode setting for the new world.
         this.handleGameModeAndFlight(event.getPlayer(), event.getPlayer().getWorld());
         playerWorld.put(p.getName(), p.getWorld().getName());
@@ -156,6 +155,23 @@ public class MVPlayerListener implements Listener {
     @EventHandler
     public void playerQuit(PlayerQuitEvent event) {
         this.plugin.removePlayerSession(event.getPlayer());
+        this.plugin.getAnchorManager().forgetPlayer(event.getPlayer());
+        this.plugin.getBedSpawnCache().update(event.getPlayer());
+    }
+
+    /**
+     * This method is called when a player goes to bed.
+     * @param event The Event that was fired.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void playerBedEnter(PlayerBedEnterEvent event) {
+        final Player player = event.getPlayer();
+        // The bed becomes their spawn after the event.
+        this.plugin.getServer().getScheduler().runTask(this.plugin, () -> {
+            if (player.isOnline()) {
+                this.plugin.getBedSpawnCache().update(player);
+            }
+        });
     }
 
     /**
@@ -317,17 +333,6 @@ public class MVPlayerListener implements Listener {
         }
     }
 
-    private void sendPlayerToDefaultWorld(final Player player) {
-        // Remove the player 1 tick after the login. I'm sure there's GOT to be a better way to do this...
-        this.plugin.getServer().getScheduler().scheduleSyncDelayedTask(this.plugin,
-            new Runnable() {
-                @Override
-                public void run() {
-                    player.teleport(plugin.getMVWorldManager().getFirstSpawnWorld().getSpawnLocation());
-                }
-            }, 1L);
-    }
-
     // FOLLOWING 2 Methods and Private class handle Per Player GameModes.
     private void handleGameModeAndFlight(Player player, World world) {
 
@@ -346,39 +351,8 @@ public class MVPlayerListener implements Listener {
      * @param world The world the player is in.
      */
     public void handleGameModeAndFlight(final Player player, final MultiverseWorld world) {
-        // We perform this task one tick later to MAKE SURE that the player actually reaches the
+        // This is done one tick later to MAKE SURE that the player actually reaches the
         // destination world, otherwise we'd be changing the player mode if they havent moved anywhere.
-        this.plugin.getServer().getScheduler().scheduleSyncDelayedTask(this.plugin,
-                new Runnable() {
-                    @Override
-                    public void run() {
-                        if (!MVPlayerListener.this.pt.playerCanIgnoreGameModeRestriction(world, player)) {
-                            // Check that the player is in the new world and they haven't been teleported elsewhere or the event cancelled.
-                            if (player.getWorld() == world.getCBWorld()) {
-                                Logging.fine("Handling gamemode for player: %s, Changing to %s", player.getName(), world.getGameMode().toString());
-                                Logging.finest("From World: %s", player.getWorld());
-                                Logging.finest("To World: %s", world);
-                                player.setGameMode(world.getGameMode());
-                                // Check if their flight mode should change
-                                // TODO need a override permission for this
-                                if (player.getAllowFlight() && !world.getAllowFlight() && player.getGameMode() != GameMode.CREATIVE) {
-                                    player.setAllowFlight(false);
-                                    if (player.isFlying()) {
-                                        player.setFlying(false);
-                                    }
-                                } else if (world.getAllowFlight()) {
-                                    if (player.getGameMode() == GameMode.CREATIVE) {
-                                        player.setAllowFlight(true);
-                                    }
-                                }
-                            } else {
-                                Logging.fine("The gamemode/allowfly was NOT changed for player '%s' because he is now in world '%s' instead of world '%s'",
-                                        player.getName(), player.getWorld().getName(), world.getName());
-                            }
-                        } else {
-                            Logging.fine("Player: " + player.getName() + " is IMMUNE to gamemode changes!");
-                        }
-                    }
-                }, 1L);
+        this.stateUpdater.queue(player, world);
     }
 }
@@ -9,14 +9,11 @@ package com.onarandombox.MultiverseCore.listeners;
 
 import com.dumptruckman.minecraft.util.Logging;
 import com.onarandombox.MultiverseCore.MultiverseCore;
-import com.onarandombox.MultiverseCore.api.MultiverseWorld;
-import org.bukkit.Material;
+import com.onarandombox.MultiverseCore.WorldRules;
 import org.bukkit.PortalType;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
-import org.bukkit.event.block.Action;
 import org.bukkit.event.entity.EntityCreatePortalEvent;
-import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.world.PortalCreateEvent;
 
 import java.util.logging.Level;
@@ -42,9 +39,9 @@ public class MVPortalListener implements Listener {
         if (event.isCancelled() || event.getBlocks().size() == 0) {
             return;
         }
-        MultiverseWorld world = this.plugin.getMVWorldManager().getMVWorld(event.getEntity().getWorld());
+        WorldRules rules = this.plugin.getWorldRules(event.getEntity().getWorld());
         // We have to do it like this due to a bug in 1.1-R3
-        if (world != null && !world.getAllowedPortals().isPortalAllowed(event.getPortalType())) {
+        if (rules != null && !rules.isPortalAllowed(event.getPortalType())) {
             event.setCancelled(true);
         }
     }
@@ -55,33 +52,10 @@ public class MVPortalListener implements Listener {
      */
     @EventHandler(ignoreCancelled = true)
     public void portalForm(PortalCreateEvent event) {
-        MultiverseWorld world = this.plugin.getMVWorldManager().getMVWorld(event.getWorld());
-        if (world != null && !world.getAllowedPortals().isPortalAllowed(PortalType.NETHER)) {
+        WorldRules rules = this.plugin.getWorldRules(event.getWorld());
+        if (rules != null && !rules.isPortalAllowed(PortalType.NETHER)) {
             Logging.fine("Cancelling creation of nether portal because portalForm disallows.");
             event.setCancelled(true);
         }
     }
-
-    /**
-     * This method will prevent ender portals from being created in worlds where they are not allowed due to portalForm.
-     *
-     * @param event The player interact event.
-     */
-    @EventHandler(ignoreCancelled = true)
-    public void portalForm(PlayerInteractEvent event) {
-        if (event.getAction() != Action.RIGHT_CLICK_BLOCK) {
-            return;
-        }
-        if (event.getClickedBlock().getType() != Material.END_PORTAL_FRAME) {
-            return;
-        }
-        if (event.getItem() == null || event.getItem().getType() != Material.ENDER_EYE) {
-            return;
-        }
-        MultiverseWorld world = this.plugin.getMVWorldManager().getMVWorld(event.getPlayer().getWorld());
-        if (world != null && !world.getAllowedPortals().isPortalAllowed(PortalType.ENDER)) {
-            Logging.fine("Cancelling creation of ender portal because portalForm disallows.");
-            event.setCancelled(true);
-        }
-    }
 }
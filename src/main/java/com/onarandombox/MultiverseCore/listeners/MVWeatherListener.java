@@ -8,7 +8,7 @@
 package com.onarandombox.MultiverseCore.listeners;
 
 import com.onarandombox.MultiverseCore.MultiverseCore;
-import com.onarandombox.MultiverseCore.api.MultiverseWorld;
+import com.onarandombox.MultiverseCore.WorldRules;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.weather.ThunderChangeEvent;
@@ -33,10 +33,10 @@ public class MVWeatherListener implements Listener {
         if (event.isCancelled()) {
             return;
         }
-        MultiverseWorld world = this.plugin.getMVWorldManager().getMVWorld(event.getWorld().getName());
-        if (world != null) {
+        WorldRules rules = this.plugin.getWorldRules(event.getWorld());
+        if (rules != null) {
             // If it's going to start raining and we have weather disabled
-            event.setCancelled((event.toWeatherState() && !world.isWeatherEnabled()));
+            event.setCancelled((event.toWeatherState() && !rules.isWeatherEnabled()));
         }
     }
 
@@ -49,10 +49,10 @@ public class MVWeatherListener implements Listener {
         if (event.isCancelled()) {
             return;
         }
-        MultiverseWorld world = this.plugin.getMVWorldManager().getMVWorld(event.getWorld().getName());
-        if (world != null) {
+        WorldRules rules = this.plugin.getWorldRules(event.getWorld());
+        if (rules != null) {
             // If it's going to start raining and we have weather disabled
-            event.setCancelled((event.toThunderState() && !world.isWeatherEnabled()));
+            event.setCancelled((event.toThunderState() && !rules.isWeatherEnabled()));
         }
     }
 }
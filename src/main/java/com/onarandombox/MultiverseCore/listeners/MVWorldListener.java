@@ -10,8 +10,10 @@ package com.onarandombox.MultiverseCore.listeners;
 import com.onarandombox.MultiverseCore.MultiverseCore;
 import com.onarandombox.MultiverseCore.api.MVWorldManager;
 import com.onarandombox.MultiverseCore.api.MultiverseWorld;
+import com.onarandombox.MultiverseCore.event.MVWorldPropertyChangeEvent;
 import org.bukkit.World;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.world.WorldLoadEvent;
 import org.bukkit.event.world.WorldUnloadEvent;
@@ -41,6 +43,7 @@ public class MVWorldListener implements Listener {
             World world = (World) event.getWorld();
             if (world != null) {
                 this.plugin.getMVWorldManager().unloadWorld(world.getName(), false);
+                this.plugin.getRandomLocationPool().forgetWorld(world);
             }
         }
     }
@@ -64,4 +67,22 @@ public class MVWorldListener implements Listener {
             }
         }
     }
+
+    /**
+     * This method is called when a world's property is changed.
+     * @param event The Event that was fired.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void propertyChange(MVWorldPropertyChangeEvent event) {
+        if (!event.getPropertyName().equals("alias")) {
+            return;
+        }
+        // The alias isn't set yet, so the new one is passed on.
+        Object alias = event.getTheNewValue();
+        this.worldManager.updateAlias(event.getWorld(), alias != null ? alias.toString() : null);
+        if (this.plugin.getDestFactory() != null) {
+            // Destinations may have been parsed using the old alias.
+            this.plugin.getDestFactory().invalidateCache();
+        }
+    }
 }
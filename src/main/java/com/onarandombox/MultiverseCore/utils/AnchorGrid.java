@@ -0,0 +1,278 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.utils;
+
+import org.bukkit.Location;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Indexes anchors by the world and the chunk they are in.
+ * <p>
+ * Nearest and radius queries only visit the chunks around the queried location, until visiting chunks one by one
+ * would cost more than looking at every anchor of the world.
+ */
+class AnchorGrid {
+    private static final int CHUNK_SHIFT = 4;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+    private final Map<String, Set<String>> worldAnchors = new HashMap<String, Set<String>>();
+    private final Map<String, Map<Long, Map<String, Location>>> worldCells =
+            new HashMap<String, Map<Long, Map<String, Location>>>();
+
+    /**
+     * Adds an anchor to the index.
+     * @param anchor The name of the anchor.
+     * @param location The location of the anchor.
+     */
+    void add(String anchor, Location location) {
+        String world = location.getWorld().getName();
+        this.worldAnchors.computeIfAbsent(world, k -> new LinkedHashSet<String>()).add(anchor);
+        this.worldCells.computeIfAbsent(world, k -> new HashMap<Long, Map<String, Location>>())
+                .computeIfAbsent(cellKey(location), k -> new LinkedHashMap<String, Location>()).put(anchor, location);
+    }
+
+    /**
+     * Removes an anchor from the index.
+     * @param anchor The name of the anchor.
+     * @param location The location the anchor was indexed with.
+     */
+    void remove(String anchor, Location location) {
+        String world = location.getWorld().getName();
+        Set<String> anchors = this.worldAnchors.get(world);
+        if (anchors != null) {
+            anchors.remove(anchor);
+            if (anchors.isEmpty()) {
+                this.worldAnchors.remove(world);
+            }
+        }
+        Map<Long, Map<String, Location>> cells = this.worldCells.get(world);
+        if (cells != null) {
+            long key = cellKey(location);
+            Map<String, Location> cell = cells.get(key);
+            if (cell != null) {
+                cell.remove(anchor);
+                if (cell.isEmpty()) {
+                    cells.remove(key);
+                }
+            }
+            if (cells.isEmpty()) {
+                this.worldCells.remove(world);
+            }
+        }
+    }
+
+    /**
+     * Removes all anchors from the index.
+     */
+    void clear() {
+        this.worldAnchors.clear();
+        this.worldCells.clear();
+    }
+
+    /**
+     * Gets the anchors of all worlds, keyed by world name.
+     * @return An unmodifiable view of the anchors of all worlds.
+     */
+    Map<String, Set<String>> getWorldAnchors() {
+        return Collections.unmodifiableMap(this.worldAnchors);
+    }
+
+    /**
+     * Gets the anchors in a world.
+     * @param world The name of the world.
+     * @return An unmodifiable view of the anchors in that world.
+     */
+    Set<String> getAnchors(String world) {
+        Set<String> anchors = this.worldAnchors.get(world);
+        return anchors == null ? Collections.<String>emptySet() : Collections.unmodifiableSet(anchors);
+    }
+
+    /**
+     * Gets the anchors in a chunk.
+     * @param world The name of the world.
+     * @param chunkX The x-coordinate of the chunk.
+     * @param chunkZ The z-coordinate of the chunk.
+     * @return An unmodifiable view of the anchors in that chunk.
+     */
+    Set<String> getAnchors(String world, int chunkX, int chunkZ) {
+        Map<Long, Map<String, Location>> cells = this.worldCells.get(world);
+        if (cells == null) {
+            return Collections.emptySet();
+        }
+        Map<String, Location> cell = cells.get(cellKey(chunkX, chunkZ));
+        return cell == null ? Collections.<String>emptySet() : Collections.unmodifiableSet(cell.keySet());
+    }
+
+    /**
+     * Finds the anchors within a distance of a location, in the same world.
+     * @param center The location to search around.
+     * @param radius The maximum distance of an anchor to the location.
+     * @return The names of the anchors, closest first.
+     */
+    List<String> findWithin(Location center, double radius) {
+        Map<Long, Map<String, Location>> cells = this.worldCells.get(center.getWorld().getName());
+        if (cells == null || radius < 0) {
+            return Collections.emptyList();
+        }
+        final double maxDistanceSquared = radius * radius;
+        final List<Candidate> found = new ArrayList<Candidate>();
+        int minX = floorToChunk(center.getX() - radius);
+        int maxX = floorToChunk(center.getX() + radius);
+        int minZ = floorToChunk(center.getZ() - radius);
+        int maxZ = floorToChunk(center.getZ() + radius);
+        if ((long) (maxX - minX + 1) * (maxZ - minZ + 1) > cells.size()) {
+            // Cheaper to look at every occupied chunk than at every chunk in range.
+            for (Map<String, Location> cell : cells.values()) {
+                collectWithin(cell, center, maxDistanceSquared, found);
+            }
+        } else {
+            for (int x = minX; x <= maxX; x++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    Map<String, Location> cell = cells.get(cellKey(x, z));
+                    if (cell != null) {
+                        collectWithin(cell, center, maxDistanceSquared, found);
+                    }
+                }
+            }
+        }
+        Collections.sort(found, Candidate.CLOSEST_FIRST);
+        return names(found);
+    }
+
+    /**
+     * Finds the anchors closest to a location, in the same world.
+     * @param center The location to search around.
+     * @param count The maximum number of anchors to find.
+     * @return The names of the anchors, closest first.
+     */
+    List<String> findNearest(Location center, int count) {
+        Map<Long, Map<String, Location>> cells = this.worldCells.get(center.getWorld().getName());
+        if (cells == null || count <= 0) {
+            return Collections.emptyList();
+        }
+        // Farthest candidate on top, so it's the one that is dropped.
+        PriorityQueue<Candidate> best = new PriorityQueue<Candidate>(count + 1,
+                Collections.reverseOrder(Candidate.CLOSEST_FIRST));
+        int centerX = floorToChunk(center.getX());
+        int centerZ = floorToChunk(center.getZ());
+        int visitedCells = 0;
+        int visitedChunks = 0;
+        for (int ring = 0; visitedCells < cells.size(); ring++) {
+            int ringChunks = ring == 0 ? 1 : ring * 8; // SUPPRESS CHECKSTYLE: MagicNumberCheck
+            if (visitedChunks + ringChunks > cells.size()) {
+                // The rings got larger than the world's occupied chunks, so just look at all of them.
+                best.clear();
+                for (Map<String, Location> cell : cells.values()) {
+                    offerAll(cell, center, count, best);
+                }
+                break;
+            }
+            for (int x = centerX - ring; x <= centerX + ring; x++) {
+                // Only the edge of the ring, the inside was visited already.
+                int step = (x == centerX - ring || x == centerX + ring) ? 1 : Math.max(1, 2 * ring);
+                for (int z = centerZ - ring; z <= centerZ + ring; z += step) {
+                    Map<String, Location> cell = cells.get(cellKey(x, z));
+                    if (cell != null) {
+                        visitedCells++;
+                        offerAll(cell, center, count, best);
+                    }
+                }
+            }
+            visitedChunks += ringChunks;
+            // Anything in the next ring is at least this far away.
+            double nextRingDistance = (double) ring * CHUNK_SIZE;
+            if (best.size() == count && best.peek().distanceSquared <= nextRingDistance * nextRingDistance) {
+                break;
+            }
+        }
+        List<Candidate> found = new ArrayList<Candidate>(best);
+        Collections.sort(found, Candidate.CLOSEST_FIRST);
+        return names(found);
+    }
+
+    private static void collectWithin(Map<String, Location> cell, Location center, double maxDistanceSquared,
+                                      List<Candidate> found) {
+        for (Map.Entry<String, Location> entry : cell.entrySet()) {
+            double distanceSquared = distanceSquared(entry.getValue(), center);
+            if (distanceSquared <= maxDistanceSquared) {
+                found.add(new Candidate(entry.getKey(), distanceSquared));
+            }
+        }
+    }
+
+    private static void offerAll(Map<String, Location> cell, Location center, int count, PriorityQueue<Candidate> best) {
+        for (Map.Entry<String, Location> entry : cell.entrySet()) {
+            double distanceSquared = distanceSquared(entry.getValue(), center);
+            if (best.size() < count) {
+                best.add(new Candidate(entry.getKey(), distanceSquared));
+            } else if (distanceSquared < best.peek().distanceSquared) {
+                best.poll();
+                best.add(new Candidate(entry.getKey(), distanceSquared));
+            }
+        }
+    }
+
+    private static double distanceSquared(Location a, Location b) {
+        // Not Location#distanceSquared, that refuses to compare different instances of the same world.
+        double dx = a.getX() - b.getX();
+        double dy = a.getY() - b.getY();
+        double dz = a.getZ() - b.getZ();
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static List<String> names(List<Candidate> candidates) {
+        List<String> names = new ArrayList<String>(candidates.size());
+        for (Candidate candidate : candidates) {
+            names.add(candidate.anchor);
+        }
+        return names;
+    }
+
+    private static int floorToChunk(double coordinate) {
+        return ((int) Math.floor(coordinate)) >> CHUNK_SHIFT;
+    }
+
+    private static long cellKey(Location location) {
+        return cellKey(location.getBlockX() >> CHUNK_SHIFT, location.getBlockZ() >> CHUNK_SHIFT);
+    }
+
+    private static long cellKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL); // SUPPRESS CHECKSTYLE: MagicNumberCheck
+    }
+
+    /**
+     * An anchor that was found by a query.
+     */
+    private static final class Candidate {
+        private static final Comparator<Candidate> CLOSEST_FIRST = new Comparator<Candidate>() {
+            @Override
+            public int compare(Candidate a, Candidate b) {
+                int result = Double.compare(a.distanceSquared, b.distanceSquared);
+                return result != 0 ? result : a.anchor.compareTo(b.anchor);
+            }
+        };
+
+        private final String anchor;
+        private final double distanceSquared;
+
+        private Candidate(String anchor, double distanceSquared) {
+            this.anchor = anchor;
+            this.distanceSquared = distanceSquared;
+        }
+    }
+}
@@ -10,6 +10,7 @@ package com.onarandombox.MultiverseCore.utils;
 import com.dumptruckman.minecraft.util.Logging;
 import com.onarandombox.MultiverseCore.MultiverseCore;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
@@ -20,62 +21,165 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.logging.Level;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 
 /**
  * Manages anchors.
+ * <p>
+ * Anchors are indexed by world and chunk, and changes are written to anchors.yml in the background shortly after
+ * they were made, so that creating or deleting many anchors only rewrites the file once.
  */
 public class AnchorManager {
+    private static final long SAVE_DELAY_TICKS = 20L;
+    private static final long PLAYER_VIEW_TTL = TimeUnit.SECONDS.toMillis(5);
+
     private MultiverseCore plugin;
     private Map<String, Location> anchors;
-    private FileConfiguration anchorConfig;
+    private final AnchorGrid grid;
+    // The raw anchors from anchors.yml, including those whose world isn't loaded.
+    private final Map<String, String> anchorStrings;
+    private final Map<UUID, PlayerAnchorView> playerViews;
+    private final Object fileLock = new Object();
+    private boolean saveScheduled;
+    private boolean dirty;
+    private long saveGeneration;
+    private long writtenGeneration;
+    // The age of player views is measured by this, tests replace it.
+    private LongSupplier clock = System::currentTimeMillis;
 
     public AnchorManager(MultiverseCore plugin) {
         this.plugin = plugin;
         this.anchors = new HashMap<String, Location>();
+        this.grid = new AnchorGrid();
+        this.anchorStrings = new LinkedHashMap<String, String>();
+        this.playerViews = new ConcurrentHashMap<UUID, PlayerAnchorView>();
     }
 
     /**
      * Loads all anchors.
      */
     public void loadAnchors() {
-        this.anchors = new HashMap<String, Location>();
-        this.anchorConfig = YamlConfiguration.loadConfiguration(new File(this.plugin.getDataFolder(), "anchors.yml"));
-        this.ensureConfigIsPrepared();
-        ConfigurationSection anchorsSection = this.anchorConfig.getConfigurationSection("anchors");
-        Set<String> anchorKeys = anchorsSection.getKeys(false);
-        for (String key : anchorKeys) {
+        this.loadAnchors(YamlConfiguration.loadConfiguration(this.getAnchorFile()));
+    }
+
+    /**
+     * Loads all anchors from an anchor config that was already read. Nothing happens if the anchors in it are the
+     * ones already known.
+     * @param anchorConfig The anchor config.
+     */
+    public void loadAnchors(FileConfiguration anchorConfig) {
+        if (anchorConfig.getConfigurationSection("anchors") == null) {
+            anchorConfig.createSection("anchors");
+        }
+        ConfigurationSection anchorsSection = anchorConfig.getConfigurationSection("anchors");
+        Map<String, String> newAnchorStrings = new LinkedHashMap<String, String>();
+        for (String key : anchorsSection.getKeys(false)) {
             //world:x,y,z:pitch:yaw
-            Location anchorLocation = plugin.getLocationManipulation().stringToLocation(anchorsSection.getString(key, ""));
+            newAnchorStrings.put(key, anchorsSection.getString(key, ""));
+        }
+        // Unless an anchor's world wasn't loaded last time, there's nothing to redo.
+        if (!this.anchorStrings.isEmpty() && newAnchorStrings.equals(this.anchorStrings)
+                && this.anchors.size() == this.anchorStrings.size()) {
+            Logging.fine("The anchors didn't change.");
+            return;
+        }
+
+        this.anchors = new HashMap<String, Location>();
+        this.grid.clear();
+        this.anchorStrings.clear();
+        for (Map.Entry<String, String> entry : newAnchorStrings.entrySet()) {
+            String key = entry.getKey();
+            String anchorString = entry.getValue();
+            this.anchorStrings.put(key, anchorString);
+            Location anchorLocation = plugin.getLocationManipulation().stringToLocation(anchorString);
             if (anchorLocation != null) {
                 Logging.config("Loading anchor:  '%s'...", key);
                 this.anchors.put(key, anchorLocation);
+                this.grid.add(key, anchorLocation);
             } else {
                 Logging.warning("The location for anchor '%s' is INVALID.", key);
             }
 
         }
+        this.dirty = false;
+        this.anchorsChanged();
     }
 
-    private void ensureConfigIsPrepared() {
-        if (this.anchorConfig.getConfigurationSection("anchors") == null) {
-            this.anchorConfig.createSection("anchors");
-        }
+    private File getAnchorFile() {
+        return new File(this.plugin.getDataFolder(), "anchors.yml");
     }
 
     /**
-     * Saves all anchors.
+     * Saves all anchors right away.
      * @return True if all anchors were successfully saved.
      */
     public boolean saveAnchors() {
-        try {
-            this.anchorConfig.save(new File(this.plugin.getDataFolder(), "anchors.yml"));
-            return true;
-        } catch (IOException e) {
-            Logging.severe("Failed to save anchors.yml. Please check your file permissions.");
-            return false;
+        return this.writeAnchors(this.nextSnapshot());
+    }
+
+    /**
+     * Saves all anchors right away if there are changes that were not written yet.
+     * This has to be called when the plugin is disabled, since background saves can no longer run then.
+     * @return True if there was nothing to save or all anchors were successfully saved.
+     */
+    public boolean flushAnchors() {
+        return !this.dirty || this.saveAnchors();
+    }
+
+    /**
+     * Schedules a background save of anchors.yml, coalescing all changes made until it runs.
+     * @return True if the save was scheduled (or done, if the plugin isn't enabled).
+     */
+    private boolean queueSave() {
+        this.dirty = true;
+        if (!this.plugin.isEnabled()) {
+            return this.saveAnchors();
+        }
+        if (!this.saveScheduled) {
+            this.saveScheduled = true;
+            // Take the snapshot on the main thread, then write it off of it.
+            this.plugin.getServer().getScheduler().runTaskLater(this.plugin, () -> {
+                this.saveScheduled = false;
+                final Snapshot snapshot = this.nextSnapshot();
+                this.plugin.getServer().getScheduler().runTaskAsynchronously(this.plugin,
+                        () -> this.writeAnchors(snapshot));
+            }, SAVE_DELAY_TICKS);
+        }
+        return true;
+    }
+
+    private Snapshot nextSnapshot() {
+        this.dirty = false;
+        return new Snapshot(++this.saveGeneration, new LinkedHashMap<String, String>(this.anchorStrings));
+    }
+
+    private boolean writeAnchors(Snapshot snapshot) {
+        YamlConfiguration anchorConfig = new YamlConfiguration();
+        anchorConfig.createSection("anchors");
+        for (Map.Entry<String, String> entry : snapshot.anchors.entrySet()) {
+            anchorConfig.set("anchors." + entry.getKey(), entry.getValue());
+        }
+        synchronized (this.fileLock) {
+            if (snapshot.generation < this.writtenGeneration) {
+                // A newer snapshot made it to disk first.
+                return true;
+            }
+            try {
+                FileUtils.writeAtomically(this.getAnchorFile(), anchorConfig.saveToString());
+                this.plugin.getConfigWatcher().rememberContents(this.getAnchorFile());
+                this.writtenGeneration = snapshot.generation;
+                return true;
+            } catch (IOException e) {
+                Logging.severe("Failed to save anchors.yml. Please check your file permissions.");
+                return false;
+            }
         }
     }
 
@@ -85,10 +189,9 @@ public class AnchorManager {
      * @return The {@link Location}.
      */
     public Location getAnchorLocation(String anchor) {
-        if (this.anchors.containsKey(anchor)) {
-            return this.anchors.get(anchor);
-        }
-        return null;
+        Location location = this.anchors.get(anchor);
+        // Hand out copies, the stored locations are indexed.
+        return location != null ? location.clone() : null;
     }
 
     /**
@@ -112,9 +215,15 @@ public class AnchorManager {
         if (l == null) {
             return false;
         }
-        this.anchorConfig.set("anchors." + anchor, plugin.getLocationManipulation().locationToString(l));
-        this.anchors.put(anchor, l);
-        return this.saveAnchors();
+        Location location = l.clone();
+        Location old = this.anchors.put(anchor, location);
+        if (old != null) {
+            this.grid.remove(anchor, old);
+        }
+        this.grid.add(anchor, location);
+        this.anchorStrings.put(anchor, plugin.getLocationManipulation().locationToString(location));
+        this.anchorsChanged();
+        return this.queueSave();
     }
 
     /**
@@ -132,28 +241,85 @@ public class AnchorManager {
      */
     public Set<String> getAnchors(Player p) {
         if (p == null) {
-            return this.anchors.keySet();
+            return this.getAllAnchors();
+        }
+        boolean enforceAccess = this.plugin.getMVConfig().getEnforceAccess();
+        long now = this.clock.getAsLong();
+        PlayerAnchorView view = this.playerViews.get(p.getUniqueId());
+        if (view != null && view.isUsable(now, enforceAccess)) {
+            return view.anchors;
         }
         Set<String> myAnchors = new HashSet<String>();
-        for (String anchor : this.anchors.keySet()) {
-            Location ancLoc = this.anchors.get(anchor);
-            if (ancLoc == null) {
-                continue;
-            }
-            String worldPerm = "multiverse.access." + ancLoc.getWorld().getName();
+        // Access is granted per world, so there's no need to check every single anchor.
+        for (Map.Entry<String, Set<String>> worldAnchors : this.grid.getWorldAnchors().entrySet()) {
+            String worldPerm = "multiverse.access." + worldAnchors.getKey();
             // Add to the list if we're not enforcing access
             // OR
             // We are enforcing access and the user has the permission.
-            if (!this.plugin.getMVConfig().getEnforceAccess() ||
-                    (this.plugin.getMVConfig().getEnforceAccess() && p.hasPermission(worldPerm))) {
-                myAnchors.add(anchor);
+            if (!enforceAccess || p.hasPermission(worldPerm)) {
+                myAnchors.addAll(worldAnchors.getValue());
             } else {
-                Logging.finer(String.format("Not adding anchor %s to the list, user %s doesn't have the %s " +
+                Logging.finer(String.format("Not adding anchors of world %s to the list, user %s doesn't have the %s " +
                         "permission and 'enforceaccess' is enabled!",
-                        anchor, p.getName(), worldPerm));
+                        worldAnchors.getKey(), p.getName(), worldPerm));
             }
         }
-        return Collections.unmodifiableSet(myAnchors);
+        view = new PlayerAnchorView(now, enforceAccess, Collections.unmodifiableSet(myAnchors));
+        this.playerViews.put(p.getUniqueId(), view);
+        return view.anchors;
+    }
+
+    /**
+     * Gets the anchors closest to a {@link Location}, in the same world, that the specified {@link Player} can access.
+     * @param location The {@link Location} to search around.
+     * @param count The maximum number of anchors to return.
+     * @param p The {@link Player}, or null to not check access.
+     * @return The names of the anchors, closest first.
+     */
+    public List<String> getNearestAnchors(Location location, int count, Player p) {
+        if (location == null || location.getWorld() == null || !this.canAccessAnchorsIn(p, location.getWorld())) {
+            return Collections.emptyList();
+        }
+        return this.grid.findNearest(location, count);
+    }
+
+    /**
+     * Gets the anchor closest to a {@link Location}, in the same world, that the specified {@link Player} can access.
+     * @param location The {@link Location} to search around.
+     * @param p The {@link Player}, or null to not check access.
+     * @return The name of the anchor, or null if there is none.
+     */
+    public String getNearestAnchor(Location location, Player p) {
+        List<String> nearest = this.getNearestAnchors(location, 1, p);
+        return nearest.isEmpty() ? null : nearest.get(0);
+    }
+
+    /**
+     * Gets the anchors within a distance of a {@link Location}, in the same world, that the specified {@link Player}
+     * can access.
+     * @param location The {@link Location} to search around.
+     * @param radius The maximum distance of an anchor to the {@link Location}.
+     * @param p The {@link Player}, or null to not check access.
+     * @return The names of the anchors, closest first.
+     */
+    public List<String> getAnchorsWithin(Location location, double radius, Player p) {
+        if (location == null || location.getWorld() == null || !this.canAccessAnchorsIn(p, location.getWorld())) {
+            return Collections.emptyList();
+        }
+        return this.grid.findWithin(location, radius);
+    }
+
+    private boolean canAccessAnchorsIn(Player p, World world) {
+        return p == null || !this.plugin.getMVConfig().getEnforceAccess()
+                || p.hasPermission("multiverse.access." + world.getName());
+    }
+
+    /**
+     * Forgets the cached list of anchors a player can access.
+     * @param p The {@link Player}.
+     */
+    public void forgetPlayer(Player p) {
+        this.playerViews.remove(p.getUniqueId());
     }
 
     /**
@@ -162,11 +328,65 @@ public class AnchorManager {
      * @return True if the anchor was successfully deleted.
      */
     public boolean deleteAnchor(String s) {
-        if (this.anchors.containsKey(s)) {
-            this.anchors.remove(s);
-            this.anchorConfig.set("anchors." + s, null);
-            return this.saveAnchors();
+        Location old = this.anchors.remove(s);
+        if (old != null) {
+            this.grid.remove(s, old);
+            this.anchorStrings.remove(s);
+            this.anchorsChanged();
+            return this.queueSave();
         }
         return false;
     }
+
+    /**
+     * Sets the clock the age of the cached lists of anchors players can access is measured by.
+     * @param clock Gets the current time in milliseconds.
+     */
+    void setClock(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Drops everything that was derived from the anchors.
+     */
+    private void anchorsChanged() {
+        this.playerViews.clear();
+        // Anchor destinations resolve their location when parsed.
+        if (this.plugin.getDestFactory() != null) {
+            this.plugin.getDestFactory().invalidateCache();
+        }
+    }
+
+    /**
+     * The anchors a player could access when they were last asked for.
+     * Permissions can change without us knowing, so this is only trusted for a short while.
+     */
+    private static final class PlayerAnchorView {
+        private final long created;
+        private final boolean enforceAccess;
+        private final Set<String> anchors;
+
+        private PlayerAnchorView(long created, boolean enforceAccess, Set<String> anchors) {
+            this.created = created;
+            this.enforceAccess = enforceAccess;
+            this.anchors = anchors;
+        }
+
+        private boolean isUsable(long now, boolean enforceAccess) {
+            return this.enforceAccess == enforceAccess && now - this.created < PLAYER_VIEW_TTL;
+        }
+    }
+
+    /**
+     * The anchors as they should be written to anchors.yml.
+     */
+    private static final class Snapshot {
+        private final long generation;
+        private final Map<String, String> anchors;
+
+        private Snapshot(long generation, Map<String, String> anchors) {
+            this.generation = generation;
+            this.anchors = anchors;
+        }
+    }
 }
@@ -0,0 +1,146 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.utils;
+
+import com.dumptruckman.minecraft.util.Logging;
+import com.onarandombox.MultiverseCore.MultiverseCore;
+import org.bukkit.Location;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Remembers where the beds of offline players are, and the safe spot next to each bed.
+ * <p>
+ * Bukkit reads the bed of an offline player from their player file every time it's asked for, and looking an offline
+ * player up by name may even ask Mojang. The cache is filled when players quit or go to bed, and players it doesn't
+ * know yet are looked up and read from disk asynchronously. Remembering a bed is cheap, the safe spot next to it is
+ * only searched the first time it's needed, and again if the blocks around it changed. That way many players quitting
+ * at once don't load the chunks around all of their beds.
+ * <p>
+ * Everything but the looking up and reading from disk happens on the main thread.
+ */
+public class BedSpawnCache {
+    private static final int MAX_BEDS = 10000;
+
+    private final MultiverseCore plugin;
+    // The least recently used beds are forgotten first.
+    private final Map<UUID, Bed> beds = new LinkedHashMap<UUID, Bed>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Bed> eldest) {
+            return this.size() > MAX_BEDS;
+        }
+    };
+    // Lower case names to ids, so parsing a destination never looks a player up.
+    private final Map<String, UUID> ids = new LinkedHashMap<String, UUID>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, UUID> eldest) {
+            return this.size() > MAX_BEDS;
+        }
+    };
+    private final Set<String> loading = new HashSet<String>();
+
+    public BedSpawnCache(MultiverseCore plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Remembers the bed of a player, like when they quit.
+     * @param player The {@link Player}.
+     */
+    public void update(Player player) {
+        this.remember(player.getName(), player.getUniqueId(), player.getBedSpawnLocation());
+    }
+
+    /**
+     * Gets the safe spot next to the bed of a player.
+     * @param name The name of the player, online or not.
+     * @return The safe spot, or null if the player has no bed, it's blocked, or it's still being read from disk.
+     */
+    public Location getSafeBedSpawn(String name) {
+        Player online = this.plugin.getServer().getPlayerExact(name);
+        if (online != null) {
+            // Online players have their bed in memory.
+            return this.plugin.getBlockSafety().getSafeBedSpawn(online.getBedSpawnLocation());
+        }
+        UUID id = this.ids.get(key(name));
+        Bed bed = id != null ? this.beds.get(id) : null;
+        if (bed == null) {
+            this.load(name, id);
+            return null;
+        }
+        if (bed.location == null) {
+            return null;
+        }
+        if (bed.safeSpot == null || !this.plugin.getBlockSafety().playerCanSpawnHereSafely(bed.safeSpot)) {
+            // Never searched yet, or something was built or broken around the bed since.
+            bed.safeSpot = this.plugin.getBlockSafety().getSafeBedSpawn(bed.location);
+            Logging.finest("Found the safe spot %s next to the bed of %s.", bed.safeSpot, name);
+        }
+        return bed.safeSpot != null ? bed.safeSpot.clone() : null;
+    }
+
+    /**
+     * @param name The name of a player.
+     * @return True if the player is being looked up or their bed is being read from disk right now.
+     */
+    public boolean isLoading(String name) {
+        return this.loading.contains(key(name));
+    }
+
+    /**
+     * Looks an offline player up and reads their bed from disk, off the main thread.
+     */
+    private void load(final String name, final UUID knownId) {
+        if (!this.loading.add(key(name))) {
+            return;
+        }
+        this.plugin.getServer().getScheduler().runTaskAsynchronously(this.plugin, () -> {
+            OfflinePlayer player = knownId != null
+                    ? this.plugin.getServer().getOfflinePlayer(knownId)
+                    : this.plugin.getServer().getOfflinePlayer(name);
+            final UUID id = player.getUniqueId();
+            final Location location = player.getBedSpawnLocation();
+            if (!this.plugin.isEnabled()) {
+                return;
+            }
+            this.plugin.getServer().getScheduler().runTask(this.plugin, () -> {
+                this.loading.remove(key(name));
+                this.remember(name, id, location);
+            });
+        });
+    }
+
+    private void remember(String name, UUID id, Location location) {
+        Logging.finest("Remembering the bed of %s at %s.", name, location);
+        this.ids.put(key(name), id);
+        this.beds.put(id, new Bed(location));
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * A bed and the safe spot next to it, once it was searched.
+     */
+    private static final class Bed {
+        private final Location location;
+        private Location safeSpot;
+
+        private Bed(Location location) {
+            this.location = location;
+        }
+    }
+}
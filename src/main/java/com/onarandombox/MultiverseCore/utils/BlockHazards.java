@@ -0,0 +1,117 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.utils;
+
+import com.dumptruckman.minecraft.util.Logging;
+import org.bukkit.Material;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Sorts every {@link Material} into the classes the safety checks care about, so each check is an array lookup.
+ * <p>
+ * A block is solid if a player can't stand in it, empty if a player falls through it, a hazard below if standing on
+ * it hurts, and a hazard to the body if standing in it hurts. Worlds can name more blocks that players should never
+ * be put on or in; those are hazards both below and to the body.
+ */
+public final class BlockHazards {
+    private static final int SOLID = 1;
+    private static final int EMPTY = 1 << 1;
+    private static final int HAZARD_BELOW = 1 << 2;
+    private static final int HAZARD_BODY = 1 << 3;
+
+    // By name, so blocks that newer servers add are picked up without breaking older ones.
+    private static final List<String> DEFAULT_HAZARDS_BELOW = Arrays.asList(
+            "LAVA", "FIRE", "MAGMA_BLOCK", "CACTUS", "COBWEB", "CAMPFIRE", "SOUL_FIRE", "SOUL_CAMPFIRE",
+            "SWEET_BERRY_BUSH", "POWDER_SNOW", "POINTED_DRIPSTONE");
+    private static final List<String> DEFAULT_HAZARDS_BODY = Arrays.asList(
+            "LAVA", "FIRE", "CACTUS", "COBWEB", "NETHER_PORTAL", "END_PORTAL", "SOUL_FIRE", "SWEET_BERRY_BUSH",
+            "POWDER_SNOW", "WITHER_ROSE");
+
+    /**
+     * The classes of worlds that don't name any more hazards.
+     */
+    public static final BlockHazards DEFAULT = new BlockHazards(Collections.<String>emptyList());
+
+    private final byte[] classes = new byte[Material.values().length];
+    private final List<String> extraHazards;
+
+    /**
+     * @param extraHazards The names of more blocks players should never be put on or in.
+     */
+    public BlockHazards(List<String> extraHazards) {
+        this.extraHazards = new ArrayList<String>(extraHazards);
+        for (Material type : Material.values()) {
+            int classes = 0;
+            if (type.isSolid()) {
+                classes |= SOLID;
+            }
+            if (type == Material.AIR || type == Material.CAVE_AIR || type == Material.VOID_AIR) {
+                classes |= EMPTY;
+            }
+            this.classes[type.ordinal()] = (byte) classes;
+        }
+        this.add(DEFAULT_HAZARDS_BELOW, HAZARD_BELOW, false);
+        this.add(DEFAULT_HAZARDS_BODY, HAZARD_BODY, false);
+        this.add(this.extraHazards, HAZARD_BELOW | HAZARD_BODY, true);
+    }
+
+    private void add(List<String> names, int classes, boolean warn) {
+        for (String name : names) {
+            Material type = Material.matchMaterial(name);
+            if (type != null) {
+                this.classes[type.ordinal()] |= classes;
+            } else if (warn) {
+                Logging.warning("'%s' is not a block, it can't be a hazard.", name);
+            }
+        }
+    }
+
+    /**
+     * @param extraHazards The names of blocks a world names as hazards.
+     * @return True if these classes were made from exactly those names.
+     */
+    boolean isFor(List<String> extraHazards) {
+        return this.extraHazards.equals(extraHazards);
+    }
+
+    /**
+     * @param type A type of block.
+     * @return True if a player can't stand in it.
+     */
+    public boolean isSolid(Material type) {
+        return (this.classes[type.ordinal()] & SOLID) != 0;
+    }
+
+    /**
+     * @param type A type of block.
+     * @return True if a player falls through it.
+     */
+    public boolean isEmpty(Material type) {
+        return (this.classes[type.ordinal()] & EMPTY) != 0;
+    }
+
+    /**
+     * @param type A type of block.
+     * @return True if standing on it hurts.
+     */
+    public boolean isHazardBelow(Material type) {
+        return (this.classes[type.ordinal()] & HAZARD_BELOW) != 0;
+    }
+
+    /**
+     * @param type A type of block.
+     * @return True if standing in it hurts.
+     */
+    public boolean isHazardToBody(Material type) {
+        return (this.classes[type.ordinal()] & HAZARD_BODY) != 0;
+    }
+}
@@ -0,0 +1,357 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.utils;
+
+import com.dumptruckman.minecraft.util.Logging;
+import com.onarandombox.MultiverseCore.MultiverseCore;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates the chunks around the spawn of worlds ahead of time, so players don't have to wait for them.
+ * <p>
+ * Chunks are generated in a spiral around the spawn on the main thread, a few every tick until the tick's time budget
+ * is used up. While the server runs below the minimum TPS, nothing is generated. The progress of each job is saved to
+ * pregen.yml, so jobs continue where they left off after a restart.
+ */
+public class ChunkPregenerator {
+    private static final String PROGRESS_FILE = "pregen.yml";
+    private static final int TICKS_PER_SECOND = 20;
+    private static final long SAVE_INTERVAL_TICKS = 30 * TICKS_PER_SECOND;
+
+    private final MultiverseCore plugin;
+    private final Map<String, Job> jobs = new LinkedHashMap<String, Job>();
+    // When the last second of ticks started, to work out the TPS.
+    private final long[] tickTimes = new long[TICKS_PER_SECOND];
+    private int ticks;
+    private BukkitTask task;
+    private boolean paused;
+
+    public ChunkPregenerator(MultiverseCore plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Starts generating the chunks around the spawn of a world. A job that already runs for the world is replaced.
+     * @param world The world.
+     * @param radius The radius around the spawn, in blocks.
+     * @return The job.
+     */
+    public Job start(World world, int radius) {
+        Location spawn = world.getSpawnLocation();
+        Job job = new Job(world.getName(), spawn.getBlockX() >> 4, spawn.getBlockZ() >> 4, (radius + 15) >> 4, 0L);
+        this.jobs.put(job.getWorldName(), job);
+        Logging.info("Generating %d chunks around the spawn of '%s'.", job.getTotalChunks(), job.getWorldName());
+        this.saveProgress();
+        this.startTask();
+        return job;
+    }
+
+    /**
+     * Stops the job of a world. Its progress is forgotten.
+     * @param worldName The name of the world.
+     * @return True if there was a job.
+     */
+    public boolean stop(String worldName) {
+        if (this.jobs.remove(worldName) == null) {
+            return false;
+        }
+        this.saveProgress();
+        if (this.jobs.isEmpty()) {
+            this.stopTask();
+        }
+        return true;
+    }
+
+    /**
+     * @param worldName The name of a world.
+     * @return The job of the world, or null if it has none.
+     */
+    public Job getJob(String worldName) {
+        return this.jobs.get(worldName);
+    }
+
+    /**
+     * @return All jobs that aren't done yet.
+     */
+    public Collection<Job> getJobs() {
+        return Collections.unmodifiableCollection(this.jobs.values());
+    }
+
+    /**
+     * @return True if generating waits for the server to catch up.
+     */
+    public boolean isPaused() {
+        return this.paused;
+    }
+
+    /**
+     * Picks up the jobs that were saved to pregen.yml.
+     */
+    public void loadProgress() {
+        File file = new File(this.plugin.getDataFolder(), PROGRESS_FILE);
+        if (!file.exists()) {
+            return;
+        }
+        FileConfiguration config = YamlConfiguration.loadConfiguration(file);
+        ConfigurationSection section = config.getConfigurationSection("jobs");
+        if (section == null) {
+            return;
+        }
+        for (String key : section.getKeys(false)) {
+            ConfigurationSection job = section.getConfigurationSection(key);
+            String worldName = job.getString("world", key);
+            this.jobs.put(worldName, new Job(worldName, job.getInt("centerX"), job.getInt("centerZ"),
+                    job.getInt("radius"), job.getLong("done")));
+        }
+        if (!this.jobs.isEmpty()) {
+            Logging.info("Continuing to generate chunks for %d world(s).", this.jobs.size());
+            this.startTask();
+        }
+    }
+
+    /**
+     * Saves the progress of every job to pregen.yml.
+     */
+    public void saveProgress() {
+        FileConfiguration config = new YamlConfiguration();
+        int i = 0;
+        for (Job job : this.jobs.values()) {
+            // World names can contain dots, so they aren't used as keys.
+            String path = "jobs.job" + i++;
+            config.set(path + ".world", job.getWorldName());
+            config.set(path + ".centerX", job.centerX);
+            config.set(path + ".centerZ", job.centerZ);
+            config.set(path + ".radius", job.radius);
+            config.set(path + ".done", job.done);
+        }
+        try {
+            config.save(new File(this.plugin.getDataFolder(), PROGRESS_FILE));
+        } catch (IOException e) {
+            Logging.warning("Could not save the chunk generation progress: %s", e.getMessage());
+        }
+    }
+
+    /**
+     * Stops generating and saves the progress, to continue after a restart.
+     */
+    public void shutdown() {
+        this.stopTask();
+        this.saveProgress();
+    }
+
+    private void startTask() {
+        if (this.task == null) {
+            this.ticks = 0;
+            this.task = this.plugin.getServer().getScheduler().runTaskTimer(this.plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    private void stopTask() {
+        if (this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+    }
+
+    private void tick() {
+        long start = System.nanoTime();
+        double tps = this.recordTick(start);
+        boolean slow = tps < this.plugin.getMVConfig().getPregenMinimumTps();
+        if (slow != this.paused) {
+            this.paused = slow;
+            if (slow) {
+                Logging.fine("Server runs at %.1f TPS, waiting with chunk generation.", tps);
+            } else {
+                Logging.fine("Server caught up, continuing chunk generation.");
+            }
+        }
+        if (this.paused) {
+            return;
+        }
+        boolean dropped = this.dropRemovedWorlds();
+
+        long budget = TimeUnit.MILLISECONDS.toNanos(this.plugin.getMVConfig().getPregenMillisPerTick());
+        List<Job> finished = new ArrayList<Job>();
+        // Share the budget between the jobs, one chunk each at a time.
+        boolean working = true;
+        while (working && System.nanoTime() - start < budget) {
+            working = false;
+            for (Job job : this.jobs.values()) {
+                World world = this.plugin.getServer().getWorld(job.getWorldName());
+                if (world == null || job.isDone()) {
+                    // Waits for the world to be loaded.
+                    continue;
+                }
+                job.generateNext(world);
+                working = true;
+                if (job.isDone()) {
+                    finished.add(job);
+                }
+            }
+        }
+        for (Job job : finished) {
+            this.jobs.remove(job.getWorldName());
+            Logging.info("Finished generating %d chunks for '%s'.", job.getTotalChunks(), job.getWorldName());
+        }
+        if (dropped || !finished.isEmpty() || this.ticks % SAVE_INTERVAL_TICKS == 0) {
+            this.saveProgress();
+        }
+        if (this.jobs.isEmpty()) {
+            this.stopTask();
+        }
+    }
+
+    /**
+     * Drops the jobs of worlds that aren't loaded and no longer in the Multiverse config, they would wait forever.
+     * @return True if a job was dropped.
+     */
+    private boolean dropRemovedWorlds() {
+        boolean dropped = false;
+        Iterator<Job> iterator = this.jobs.values().iterator();
+        while (iterator.hasNext()) {
+            String worldName = iterator.next().getWorldName();
+            if (this.plugin.getServer().getWorld(worldName) == null
+                    && !this.plugin.getMVWorldManager().getUnloadedWorlds().contains(worldName)) {
+                iterator.remove();
+                Logging.info("Stopped generating chunks for '%s', it was removed from Multiverse.", worldName);
+                dropped = true;
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * Remembers when a tick started.
+     * @return The TPS over the last second.
+     */
+    private double recordTick(long now) {
+        int slot = this.ticks % TICKS_PER_SECOND;
+        long oldest = this.tickTimes[slot];
+        this.tickTimes[slot] = now;
+        this.ticks++;
+        if (this.ticks <= TICKS_PER_SECOND) {
+            // Not enough ticks yet to tell.
+            return TICKS_PER_SECOND;
+        }
+        double seconds = (now - oldest) / (double) TimeUnit.SECONDS.toNanos(1);
+        return Math.min(TICKS_PER_SECOND, TICKS_PER_SECOND / Math.max(seconds, 1e-9));
+    }
+
+    /**
+     * Generating the chunks around the spawn of one world.
+     */
+    public static final class Job {
+        private final String worldName;
+        private final int centerX;
+        private final int centerZ;
+        private final int radius;
+        private final long total;
+        private long done;
+        private final long startDone;
+        private final long startTime = System.nanoTime();
+
+        private Job(String worldName, int centerX, int centerZ, int radius, long done) {
+            this.worldName = worldName;
+            this.centerX = centerX;
+            this.centerZ = centerZ;
+            this.radius = radius;
+            this.total = (2L * radius + 1) * (2L * radius + 1);
+            this.done = Math.min(done, this.total);
+            this.startDone = this.done;
+        }
+
+        private void generateNext(World world) {
+            long n = this.done + 1;
+            // The n-th position of a square spiral around the center, going round ring by ring.
+            int ring = (int) Math.ceil((Math.sqrt(n) - 1) / 2);
+            long side = 2L * ring;
+            long end = (side + 1) * (side + 1);
+            int x;
+            int z;
+            if (n >= end - side) {
+                x = (int) (ring - (end - n));
+                z = -ring;
+            } else if (n >= end - 2 * side) {
+                x = -ring;
+                z = (int) (-ring + (end - side - n));
+            } else if (n >= end - 3 * side) {
+                x = (int) (-ring + (end - 2 * side - n));
+                z = ring;
+            } else {
+                x = ring;
+                z = (int) (ring - (end - 3 * side - n));
+            }
+            x += this.centerX;
+            z += this.centerZ;
+
+            if (!world.isChunkGenerated(x, z)) {
+                boolean wasLoaded = world.isChunkLoaded(x, z);
+                world.loadChunk(x, z, true);
+                if (!wasLoaded) {
+                    world.unloadChunkRequest(x, z);
+                }
+            }
+            this.done++;
+        }
+
+        public String getWorldName() {
+            return this.worldName;
+        }
+
+        /**
+         * @return The radius around the spawn, in chunks.
+         */
+        public int getRadius() {
+            return this.radius;
+        }
+
+        public long getTotalChunks() {
+            return this.total;
+        }
+
+        public long getDoneChunks() {
+            return this.done;
+        }
+
+        public boolean isDone() {
+            return this.done >= this.total;
+        }
+
+        /**
+         * @return How many chunks were done per second since the server started or the job was started.
+         */
+        public double getChunksPerSecond() {
+            double seconds = (System.nanoTime() - this.startTime) / (double) TimeUnit.SECONDS.toNanos(1);
+            return seconds > 0 ? (this.done - this.startDone) / seconds : 0;
+        }
+
+        /**
+         * @return The estimated seconds until the job is done, or -1 if that isn't known yet.
+         */
+        public long getSecondsLeft() {
+            double rate = this.getChunksPerSecond();
+            return rate > 0 ? (long) ((this.total - this.done) / rate) : -1L;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.utils;
+
+import com.dumptruckman.minecraft.util.Logging;
+import com.onarandombox.MultiverseCore.MultiverseCore;
+import com.onarandombox.MultiverseCore.api.MVWorldManager;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Watches config.yml, worlds.yml and anchors.yml for edits made outside of Multiverse and reloads what changed.
+ * <p>
+ * Edits are picked up once a file has been quiet for a moment, so an editor or deployment tool writing it in several
+ * steps only causes one reload. worlds.yml and anchors.yml are parsed on the watcher's thread; the changes are
+ * applied on the main thread. Files Multiverse wrote itself are recognized by their contents and ignored.
+ */
+public class ConfigFileWatcher {
+    private static final String CONFIG_FILE = "config.yml";
+    private static final String WORLDS_FILE = "worlds.yml";
+    private static final String ANCHORS_FILE = "anchors.yml";
+    private static final List<String> WATCHED_FILES = Arrays.asList(CONFIG_FILE, WORLDS_FILE, ANCHORS_FILE);
+    private static final long DEBOUNCE_MILLIS = 500L;
+
+    private final MultiverseCore plugin;
+    // Checksums of the contents Multiverse last read or wrote, per file name.
+    private final Map<String, Long> knownContents = new ConcurrentHashMap<String, Long>();
+    private volatile WatchService watchService;
+    private Thread thread;
+
+    public ConfigFileWatcher(MultiverseCore plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Starts or stops watching the config files.
+     * @param enabled True to watch the config files.
+     */
+    public synchronized void setEnabled(boolean enabled) {
+        if (enabled == this.isEnabled()) {
+            return;
+        }
+        if (enabled) {
+            this.start();
+        } else {
+            this.stop();
+        }
+    }
+
+    /**
+     * @return True if the config files are being watched.
+     */
+    public boolean isEnabled() {
+        return this.watchService != null;
+    }
+
+    private void start() {
+        try {
+            WatchService service = this.plugin.getDataFolder().toPath().getFileSystem().newWatchService();
+            this.plugin.getDataFolder().toPath().register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            for (String name : WATCHED_FILES) {
+                this.remember(new File(this.plugin.getDataFolder(), name));
+            }
+            this.watchService = service;
+        } catch (IOException e) {
+            Logging.warning("Could not watch the config files for changes: %s", e.getMessage());
+            return;
+        }
+        this.thread = new Thread(this::watch, "Multiverse-Core config watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+        Logging.fine("Watching the config files for changes.");
+    }
+
+    private void stop() {
+        WatchService service = this.watchService;
+        this.watchService = null;
+        try {
+            service.close();
+        } catch (IOException e) {
+            Logging.finer("Could not close the config watcher: %s", e.getMessage());
+        }
+        this.thread.interrupt();
+        this.thread = null;
+        this.knownContents.clear();
+        Logging.fine("Stopped watching the config files.");
+    }
+
+    /**
+     * Remembers what Multiverse just wrote to a file, so the watcher doesn't reload it.
+     * @param file The file that was written.
+     */
+    public void rememberContents(File file) {
+        if (this.watchService != null) {
+            this.remember(file);
+        }
+    }
+
+    private void remember(File file) {
+        if (!WATCHED_FILES.contains(file.getName())) {
+            return;
+        }
+        try {
+            this.knownContents.put(file.getName(), checksum(Files.readAllBytes(file.toPath())));
+        } catch (IOException e) {
+            this.knownContents.remove(file.getName());
+        }
+    }
+
+    private void watch() {
+        Map<String, Long> changed = new HashMap<String, Long>();
+        WatchService service = this.watchService;
+        while (service != null && service == this.watchService) {
+            try {
+                WatchKey key = changed.isEmpty() ? service.take()
+                        : service.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+                long now = System.currentTimeMillis();
+                if (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            for (String name : WATCHED_FILES) {
+                                changed.put(name, now);
+                            }
+                        } else if (WATCHED_FILES.contains(event.context().toString())) {
+                            changed.put(event.context().toString(), now);
+                        }
+                    }
+                    key.reset();
+                }
+                Iterator<Map.Entry<String, Long>> iterator = changed.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<String, Long> entry = iterator.next();
+                    if (now - entry.getValue() >= DEBOUNCE_MILLIS) {
+                        iterator.remove();
+                        this.fileChanged(entry.getKey());
+                    }
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+        }
+    }
+
+    private void fileChanged(String name) {
+        Path path = this.plugin.getDataFolder().toPath().resolve(name);
+        final byte[] contents;
+        try {
+            contents = Files.readAllBytes(path);
+        } catch (NoSuchFileException e) {
+            // Deleted, or in the middle of being replaced. The replacement causes another event.
+            return;
+        } catch (IOException e) {
+            Logging.warning("Could not read %s after it changed: %s", name, e.getMessage());
+            return;
+        }
+        final long checksum = checksum(contents);
+        Long known = this.knownContents.get(name);
+        if (known != null && known == checksum) {
+            Logging.finest("Ignoring a change to %s, its contents are what Multiverse last read or wrote.", name);
+            return;
+        }
+
+        final YamlConfiguration parsed;
+        if (CONFIG_FILE.equals(name)) {
+            // Loading the main config replaces the global configuration instance, so that can't happen here.
+            parsed = null;
+        } else {
+            parsed = new YamlConfiguration();
+            try {
+                parsed.loadFromString(new String(contents, StandardCharsets.UTF_8));
+            } catch (InvalidConfigurationException e) {
+                Logging.warning("%s was changed but is not valid, ignoring it: %s", name, e.getMessage());
+                return;
+            }
+        }
+        this.plugin.getServer().getScheduler().runTask(this.plugin, () -> {
+            if (!this.isEnabled()) {
+                return;
+            }
+            this.knownContents.put(name, checksum);
+            Logging.info("%s was changed, reloading it.", name);
+            if (CONFIG_FILE.equals(name)) {
+                this.plugin.reloadMVConfig();
+            } else if (WORLDS_FILE.equals(name)) {
+                MVWorldManager worldManager = this.plugin.getMVWorldManager();
+                // The file may be half written, never unload worlds because they're missing from it.
+                worldManager.loadWorldConfig(parsed, false);
+                worldManager.loadWorlds(false);
+            } else {
+                this.plugin.getAnchorManager().loadAnchors(parsed);
+            }
+        });
+    }
+
+    private static long checksum(byte[] contents) {
+        CRC32 crc = new CRC32();
+        crc.update(contents);
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,133 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.utils;
+
+import com.dumptruckman.minecraft.util.Logging;
+import com.onarandombox.MultiverseCore.MVWorld;
+import com.onarandombox.MultiverseCore.MultiverseCore;
+import com.onarandombox.MultiverseCore.WorldRules;
+import com.onarandombox.MultiverseCore.api.MultiverseWorld;
+import org.bukkit.event.Listener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Registers the listeners of a feature only while a world uses that feature.
+ * <p>
+ * Listeners like the one for hunger only ever do something in worlds that turned hunger off. Bukkit would call them
+ * for every event anyway, so they're registered when the first world needs them and unregistered when the last one
+ * stops needing them. {@link #update()} is called whenever worlds come and go or their {@link WorldRules} change.
+ */
+public class FeatureListeners {
+    private final MultiverseCore plugin;
+    private final List<Feature> features = new ArrayList<Feature>();
+    // Nothing is registered before the plugin registers its events.
+    private boolean started;
+
+    public FeatureListeners(MultiverseCore plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Adds the listener of a feature.
+     * @param listener The {@link Listener}.
+     * @param needed Whether a world needs the listener, given its rules.
+     */
+    public void add(Listener listener, Predicate<WorldRules> needed) {
+        this.features.add(new Feature(listener, needed));
+    }
+
+    /**
+     * @return True if no listeners were added yet.
+     */
+    public boolean isEmpty() {
+        return this.features.isEmpty();
+    }
+
+    /**
+     * Registers the listeners the worlds need from now on, like when the plugin is enabled.
+     */
+    public void start() {
+        // Bukkit dropped all our listeners if we were disabled before.
+        for (Feature feature : this.features) {
+            feature.registered = false;
+        }
+        this.started = true;
+        this.update();
+    }
+
+    /**
+     * Stops registering listeners, like when the plugin is disabled.
+     */
+    public void stop() {
+        this.started = false;
+    }
+
+    /**
+     * Registers or unregisters the listeners whose features the worlds started or stopped using.
+     */
+    public void update() {
+        if (!this.started) {
+            return;
+        }
+        Collection<MultiverseWorld> worlds = this.plugin.getMVWorldManager().getMVWorlds();
+        for (Feature feature : this.features) {
+            boolean needed = false;
+            for (MultiverseWorld world : worlds) {
+                if (world instanceof MVWorld) {
+                    WorldRules rules = ((MVWorld) world).getRules();
+                    if (rules != null && feature.needed.test(rules)) {
+                        needed = true;
+                        break;
+                    }
+                }
+            }
+            if (needed == feature.registered) {
+                continue;
+            }
+            feature.registered = needed;
+            if (needed) {
+                Logging.fine("Registering %s, a world needs it.", feature.listener.getClass().getSimpleName());
+                this.plugin.getPerformanceMonitor().registerTimedListener(feature.listener);
+            } else {
+                Logging.fine("Unregistering %s, no world needs it.", feature.listener.getClass().getSimpleName());
+                this.plugin.getPerformanceMonitor().unregisterTimedListener(feature.listener);
+            }
+        }
+    }
+
+    /**
+     * @param listener A listener that was added.
+     * @return True if it's registered with Bukkit right now.
+     */
+    public boolean isRegistered(Listener listener) {
+        for (Feature feature : this.features) {
+            if (feature.listener == listener) {
+                return feature.registered;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The listener of a feature and when a world needs it.
+     */
+    private static final class Feature {
+        private final Listener listener;
+        private final Predicate<WorldRules> needed;
+        private boolean registered;
+
+        private Feature(Listener listener, Predicate<WorldRules> needed) {
+            this.listener = listener;
+            this.needed = needed;
+        }
+    }
+}
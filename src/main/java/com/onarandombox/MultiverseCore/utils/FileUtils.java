@@ -7,10 +7,14 @@
 
 package com.onarandombox.MultiverseCore.utils;
 
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
 import static java.nio.file.StandardCopyOption.COPY_ATTRIBUTES;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -100,6 +104,25 @@ public class FileUtils {
         }
     }
 
+    /**
+     * Replaces the contents of a file without ever leaving a half-written file behind.
+     * The contents are written to a temporary file next to the target, which is then moved over it.
+     *
+     * @param target The file to write.
+     * @param contents The new contents of the file.
+     * @throws IOException If the file could not be written.
+     */
+    public static void writeAtomically(File target, String contents) throws IOException {
+        Path targetPath = target.toPath();
+        Path tempPath = targetPath.resolveSibling(target.getName() + ".tmp");
+        Files.write(tempPath, contents.getBytes(StandardCharsets.UTF_8));
+        try {
+            Files.move(tempPath, targetPath, ATOMIC_MOVE, REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempPath, targetPath, REPLACE_EXISTING);
+        }
+    }
+
     private static class CopyDirFileVisitor extends SimpleFileVisitor<Path> {
 
         private final Path sourceDir;
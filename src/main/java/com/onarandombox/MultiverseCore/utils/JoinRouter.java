@@ -0,0 +1,135 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.utils;
+
+import com.dumptruckman.minecraft.util.Logging;
+import com.onarandombox.MultiverseCore.MultiverseCore;
+import com.onarandombox.MultiverseCore.api.MultiverseWorld;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Decides where joining players go, and sends the ones that can't stay to the first spawn world.
+ * <p>
+ * After a restart many players join within a few seconds. Instead of a task per player, the players to move are
+ * queued and a single task sends at most {@value #MAX_PER_TICK} of them per tick, starting the tick after they
+ * joined. They all go to the same safe spot at the spawn of the first spawn world, which is only searched again when
+ * that world or its spawn changes, or the spot stops being safe.
+ */
+public class JoinRouter {
+    private static final int MAX_PER_TICK = 20;
+
+    private final MultiverseCore plugin;
+    // In the order the players joined.
+    private final Map<UUID, Player> pending = new LinkedHashMap<UUID, Player>();
+    private BukkitTask task;
+
+    private MultiverseWorld spawnWorld;
+    private Location spawn;
+    private Location safeSpawn;
+    // False if no safe spot was found, then looking again every tick would be a waste.
+    private boolean foundSafeSpawn;
+
+    public JoinRouter(MultiverseCore plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Decides where a joining player goes.
+     * @param player The {@link Player} who joined.
+     * @param firstJoin True if the player never played on the server before.
+     * @return True if the player is sent to the first spawn world.
+     */
+    public boolean route(Player player, boolean firstJoin) {
+        if (firstJoin) {
+            if (!this.plugin.getMVConfig().getFirstSpawnOverride()) {
+                return false;
+            }
+            Logging.fine("Moving NEW player '%s' to the first spawn world (firstspawnoverride).", player.getName());
+        } else {
+            // Only check this if we're enforcing access!
+            if (!this.plugin.getMVConfig().getEnforceAccess() || this.plugin.getMVPerms().hasPermission(player,
+                    "multiverse.access." + player.getWorld().getName(), false)) {
+                return false;
+            }
+            player.sendMessage("[MV] - Sorry you can't be in this world anymore!");
+        }
+        this.sendToFirstSpawn(player);
+        return true;
+    }
+
+    /**
+     * Queues a player to be sent to the spawn of the first spawn world.
+     * @param player The {@link Player}.
+     */
+    public void sendToFirstSpawn(Player player) {
+        this.pending.put(player.getUniqueId(), player);
+        if (this.task == null) {
+            this.task = this.plugin.getServer().getScheduler().runTaskTimer(this.plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    private void tick() {
+        Location target = this.getFirstSpawnLocation();
+        // Take this tick's players out first, teleporting them fires events that may queue players again.
+        List<Player> players = new ArrayList<Player>(Math.min(MAX_PER_TICK, this.pending.size()));
+        Iterator<Player> iterator = this.pending.values().iterator();
+        while (players.size() < MAX_PER_TICK && iterator.hasNext()) {
+            players.add(iterator.next());
+            iterator.remove();
+        }
+        for (Player player : players) {
+            if (target != null && player.isOnline()) {
+                player.teleport(target);
+            }
+        }
+        if (this.pending.isEmpty()) {
+            this.task.cancel();
+            this.task = null;
+        } else {
+            Logging.finer("%d joining players wait to be sent to the first spawn world.", this.pending.size());
+        }
+    }
+
+    /**
+     * @return The safe spot at the spawn of the first spawn world, or null if there's no such world.
+     */
+    private Location getFirstSpawnLocation() {
+        MultiverseWorld world = this.plugin.getMVWorldManager().getFirstSpawnWorld();
+        if (world == null) {
+            return null;
+        }
+        Location current = world.getSpawnLocation();
+        if (world != this.spawnWorld || !current.equals(this.spawn)
+                || (this.foundSafeSpawn && !this.plugin.getBlockSafety().playerCanSpawnHereSafely(this.safeSpawn))) {
+            Location safe = current;
+            if (!this.plugin.getBlockSafety().playerCanSpawnHereSafely(current)) {
+                safe = this.plugin.getSafeTTeleporter().getSafeLocation(current);
+            }
+            this.foundSafeSpawn = safe != null;
+            if (safe == null) {
+                // Nothing better around, the spawn is where they went before.
+                Logging.fine("No safe spot found at the spawn of '%s', sending joining players to it anyway.",
+                        world.getName());
+                safe = current;
+            }
+            this.spawnWorld = world;
+            this.spawn = current.clone();
+            this.safeSpawn = safe;
+        }
+        return this.safeSpawn;
+    }
+}
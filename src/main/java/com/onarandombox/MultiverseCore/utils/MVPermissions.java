@@ -12,10 +12,12 @@ import com.onarandombox.MultiverseCore.MultiverseCore;
 import com.onarandombox.MultiverseCore.api.MVDestination;
 import com.onarandombox.MultiverseCore.api.MVWorldManager;
 import com.onarandombox.MultiverseCore.api.MultiverseWorld;
+import com.onarandombox.MultiverseCore.utils.metrics.LatencyProbe;
 import com.pneumaticraft.commandhandler.PermissionsInterface;
 import org.bukkit.ChatColor;
 import org.bukkit.Location;
 import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.permissions.Permission;
 import org.bukkit.permissions.PermissionDefault;
@@ -30,10 +32,12 @@ public class MVPermissions implements PermissionsInterface {
 
     private MultiverseCore plugin;
     private MVWorldManager worldMgr;
+    private final LatencyProbe permissionProbe;
 
     public MVPermissions(MultiverseCore plugin) {
         this.plugin = plugin;
         this.worldMgr = plugin.getMVWorldManager();
+        this.permissionProbe = plugin.getPerformanceMonitor().probe("permissions.check");
 
     }
 
@@ -128,18 +132,29 @@ public class MVPermissions implements PermissionsInterface {
      * @return True if that sender can go to that destination
      */
     public boolean canEnterDestination(CommandSender sender, MVDestination d) {
+        return this.canEnterDestination(sender, sender instanceof Player ? (Player) sender : null, d);
+    }
+
+    /**
+     * Check to see if a sender can send an entity to a destination.
+     * Destinations like the nearest anchor lead somewhere else for every entity, so the sender needs access to
+     * where the entity would actually go.
+     *
+     * @param sender The CommandSender to check.
+     * @param teleportee The entity that is teleported.
+     * @param d The destination they are requesting.
+     * @return True if that sender can send the entity to that destination
+     */
+    public boolean canEnterDestination(CommandSender sender, Entity teleportee, MVDestination d) {
         if (!(sender instanceof Player)) {
             return true;
         }
         Player p = (Player) sender;
-        if (d == null || d.getLocation(p) == null) {
-            return false;
-        }
-        String worldName = d.getLocation(p).getWorld().getName();
-        if (!this.worldMgr.isMVWorld(worldName)) {
+        Location location = d != null ? d.getLocation(teleportee) : null;
+        if (location == null) {
             return false;
         }
-        if (!canEnterLocation(p, d.getLocation(p))) {
+        if (!canEnterLocation(p, location)) {
             return false;
         }
         return this.hasPermission(p, d.getRequiredPermission(), false);
@@ -254,10 +269,17 @@ public class MVPermissions implements PermissionsInterface {
 
     // TODO: Better player checks, most likely not needed, but safer.
     private boolean checkActualPermission(CommandSender sender, String node) {
-        Player player = (Player) sender;
+        long start = this.permissionProbe.start();
+        try {
+            return this.checkPlayerPermission((Player) sender, node);
+        } finally {
+            this.permissionProbe.stop(start);
+        }
+    }
 
-        boolean hasPermission = sender.hasPermission(node);
-        if (!sender.isPermissionSet(node)) {
+    private boolean checkPlayerPermission(Player player, String node) {
+        boolean hasPermission = player.hasPermission(node);
+        if (!player.isPermissionSet(node)) {
             Logging.finer(String.format("The node [%s%s%s] was %sNOT%s set for [%s%s%s].",
                     ChatColor.RED, node, ChatColor.WHITE, ChatColor.RED, ChatColor.WHITE, ChatColor.AQUA,
                     player.getDisplayName(), ChatColor.WHITE));
@@ -388,7 +410,7 @@ public class MVPermissions implements PermissionsInterface {
         }
         if (!parentPermission.getChildren().containsKey(permString)) {
             parentPermission.getChildren().put(actualPermission.getName(), true);
-            this.plugin.getServer().getPluginManager().recalculatePermissionDefaults(parentPermission);
+            this.plugin.getPermissionBatch().recalculate(parentPermission);
         }
     }
 
@@ -399,7 +421,7 @@ public class MVPermissions implements PermissionsInterface {
             this.plugin.getServer().getPluginManager().addPermission(rootPermission);
         }
         rootPermission.getChildren().put(permStringChopped + ".*", true);
-        this.plugin.getServer().getPluginManager().recalculatePermissionDefaults(rootPermission);
+        this.plugin.getPermissionBatch().recalculate(rootPermission);
     }
 
     /**
@@ -0,0 +1,81 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.utils;
+
+import com.dumptruckman.minecraft.util.Logging;
+import org.bukkit.permissions.Permission;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recalculates the defaults of parent permissions.
+ * <p>
+ * Every recalculation makes Bukkit recalculate the permissions of everything that can hold them, and parents like
+ * {@code multiverse.access.*} get a child for every world. Between {@link #begin()} and {@link #end()} the
+ * recalculations are collected instead, and each parent is recalculated once when the outermost batch ends.
+ */
+public class PermissionBatch {
+    private final Plugin plugin;
+    private final Map<String, Permission> pending = new LinkedHashMap<String, Permission>();
+    private int depth;
+
+    public PermissionBatch(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Starts a batch. Batches may be nested, only the outermost {@link #end()} recalculates.
+     */
+    public void begin() {
+        this.depth++;
+    }
+
+    /**
+     * Ends a batch, recalculating every permission that changed during it if this was the outermost one.
+     */
+    public void end() {
+        if (this.depth == 0) {
+            throw new IllegalStateException("No permission batch was started.");
+        }
+        if (--this.depth == 0 && !this.pending.isEmpty()) {
+            List<Permission> permissions = new ArrayList<Permission>(this.pending.values());
+            this.pending.clear();
+            for (Permission permission : permissions) {
+                this.plugin.getServer().getPluginManager().recalculatePermissionDefaults(permission);
+            }
+            Logging.finer("Recalculated %d parent permissions in one batch.", permissions.size());
+        }
+    }
+
+    /**
+     * @return True if a batch is running.
+     */
+    public boolean isActive() {
+        return this.depth > 0;
+    }
+
+    /**
+     * Recalculates the defaults of a permission whose children changed, or remembers it until the batch ends.
+     * @param permission The permission, ignored if null.
+     */
+    public void recalculate(Permission permission) {
+        if (permission == null) {
+            return;
+        }
+        if (this.depth > 0) {
+            // Keyed by name, so a permission that was replaced meanwhile is recalculated as it is now.
+            this.pending.put(permission.getName(), permission);
+        } else {
+            this.plugin.getServer().getPluginManager().recalculatePermissionDefaults(permission);
+        }
+    }
+}
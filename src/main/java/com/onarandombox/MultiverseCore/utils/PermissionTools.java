@@ -60,7 +60,7 @@ public class PermissionTools {
         }
         if (!parentPermission.getChildren().containsKey(permString)) {
             parentPermission.getChildren().put(actualPermission.getName(), true);
-            this.plugin.getServer().getPluginManager().recalculatePermissionDefaults(parentPermission);
+            this.plugin.getPermissionBatch().recalculate(parentPermission);
         }
     }
 
@@ -71,7 +71,7 @@ public class PermissionTools {
             this.plugin.getServer().getPluginManager().addPermission(rootPermission);
         }
         rootPermission.getChildren().put(permStringChopped + ".*", true);
-        this.plugin.getServer().getPluginManager().recalculatePermissionDefaults(rootPermission);
+        this.plugin.getPermissionBatch().recalculate(rootPermission);
     }
 
     /**
@@ -0,0 +1,130 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.utils;
+
+import com.dumptruckman.minecraft.util.Logging;
+import com.onarandombox.MultiverseCore.MultiverseCore;
+import com.onarandombox.MultiverseCore.api.MultiverseWorld;
+import org.bukkit.GameMode;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Applies the settings of a world to the players in it, like their gamemode and whether they can fly.
+ * <p>
+ * Players are queued when they join or change worlds, and a single task applies the settings of their world a tick
+ * later, when they have really arrived. A player that is queued again before that is only updated once, for the
+ * world they were queued for last. When many players arrive at once, at most {@value #MAX_PER_TICK} are updated per
+ * tick and the rest wait for the next one.
+ */
+public class PlayerStateUpdater {
+    private static final int MAX_PER_TICK = 50;
+
+    private final MultiverseCore plugin;
+    private final PermissionTools pt;
+    // In the order the players were first queued.
+    private final Map<UUID, Update> pending = new LinkedHashMap<UUID, Update>();
+    private BukkitTask task;
+
+    public PlayerStateUpdater(MultiverseCore plugin) {
+        this.plugin = plugin;
+        this.pt = new PermissionTools(plugin);
+    }
+
+    /**
+     * Queues a player to get the settings of a world.
+     * @param player The {@link Player}.
+     * @param world The world the player is arriving in.
+     */
+    public void queue(Player player, MultiverseWorld world) {
+        this.pending.put(player.getUniqueId(), new Update(player, world));
+        if (this.task == null) {
+            this.task = this.plugin.getServer().getScheduler().runTaskTimer(this.plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    /**
+     * @return How many players wait to be updated.
+     */
+    public int getPendingCount() {
+        return this.pending.size();
+    }
+
+    private void tick() {
+        // Take this tick's players out first, changing their gamemode can fire events that queue players again.
+        List<Update> updates = new ArrayList<Update>(Math.min(MAX_PER_TICK, this.pending.size()));
+        Iterator<Update> iterator = this.pending.values().iterator();
+        while (updates.size() < MAX_PER_TICK && iterator.hasNext()) {
+            updates.add(iterator.next());
+            iterator.remove();
+        }
+        for (Update update : updates) {
+            if (update.player.isOnline()) {
+                this.apply(update.player, update.world);
+            }
+        }
+        if (this.pending.isEmpty()) {
+            this.task.cancel();
+            this.task = null;
+        } else {
+            Logging.finer("%d players wait for their world settings until the next tick.", this.pending.size());
+        }
+    }
+
+    /**
+     * Applies the settings of a world to a player who should be in it.
+     */
+    private void apply(Player player, MultiverseWorld world) {
+        if (this.pt.playerCanIgnoreGameModeRestriction(world, player)) {
+            Logging.fine("Player: " + player.getName() + " is IMMUNE to gamemode changes!");
+            return;
+        }
+        // Check that the player is in the new world and they haven't been teleported elsewhere or the event cancelled.
+        if (player.getWorld() != world.getCBWorld()) {
+            Logging.fine("The gamemode/allowfly was NOT changed for player '%s' because they are now in world '%s' instead of world '%s'",
+                    player.getName(), player.getWorld().getName(), world.getName());
+            return;
+        }
+        Logging.fine("Handling gamemode for player: %s, Changing to %s", player.getName(), world.getGameMode().toString());
+        Logging.finest("From World: %s", player.getWorld());
+        Logging.finest("To World: %s", world);
+        player.setGameMode(world.getGameMode());
+        // Check if their flight mode should change
+        // TODO need a override permission for this
+        if (player.getAllowFlight() && !world.getAllowFlight() && player.getGameMode() != GameMode.CREATIVE) {
+            player.setAllowFlight(false);
+            if (player.isFlying()) {
+                player.setFlying(false);
+            }
+        } else if (world.getAllowFlight()) {
+            if (player.getGameMode() == GameMode.CREATIVE) {
+                player.setAllowFlight(true);
+            }
+        }
+    }
+
+    /**
+     * A player waiting for the settings of a world.
+     */
+    private static final class Update {
+        private final Player player;
+        private final MultiverseWorld world;
+
+        private Update(Player player, MultiverseWorld world) {
+            this.player = player;
+            this.world = world;
+        }
+    }
+}
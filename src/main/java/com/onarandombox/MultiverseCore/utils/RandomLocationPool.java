@@ -0,0 +1,268 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.utils;
+
+import com.dumptruckman.minecraft.util.Logging;
+import com.onarandombox.MultiverseCore.MultiverseCore;
+import com.onarandombox.MultiverseCore.api.BlockSafety;
+import com.onarandombox.MultiverseCore.utils.metrics.LatencyProbe;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.WorldBorder;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps a few safe random locations ready for every world and radius that players randomly teleport in.
+ * <p>
+ * Searching a safe spot when a player teleports means reading a lot of blocks on the main thread. Instead, every tick
+ * a chunk in the radius is picked and a {@link ChunkSnapshot} of it is taken on the main thread. The snapshot is
+ * searched for a safe spot asynchronously, following the same rules as {@link SimpleBlockSafety}, and the spot is
+ * added to the pool. A random teleport then only takes a location from the pool.
+ * <p>
+ * Only chunks that were already generated are used, so no chunks are generated on the main thread. Use the
+ * {@link ChunkPregenerator} to generate the chunks of a radius first. Chunks that are loaded already are preferred;
+ * a chunk that has to be read from disk is only taken once a second, and the time that takes is recorded by the
+ * {@code randomLocations.chunkLoad} probe.
+ */
+public class RandomLocationPool {
+    private static final int POOL_SIZE = 10;
+    // How many random chunks are tried per tick to find one that was generated.
+    private static final int CHUNK_TRIES = 4;
+    // How many random columns of a chunk are searched for a safe spot.
+    private static final int COLUMN_TRIES = 8;
+    // How many ticks pass at least between two chunks that are read from disk, over all pools.
+    private static final int CHUNK_LOAD_INTERVAL = 20;
+    // The bedrock roof of the nether starts here, nobody wants to be teleported on top of it.
+    private static final int NETHER_ROOF = 123;
+    // Minecraft doesn't go further than this from 0,0.
+    private static final int MAX_RADIUS = 29999984;
+
+    private final MultiverseCore plugin;
+    private final Map<String, Pool> pools = new ConcurrentHashMap<String, Pool>();
+    private final LatencyProbe chunkLoadProbe;
+    private BukkitTask task;
+    // Counts the ticks of the refill task, only touched on the main thread.
+    private long currentTick;
+    private long lastChunkLoad = -CHUNK_LOAD_INTERVAL;
+
+    public RandomLocationPool(MultiverseCore plugin) {
+        this.plugin = plugin;
+        this.chunkLoadProbe = plugin.getPerformanceMonitor().probe("randomLocations.chunkLoad");
+    }
+
+    /**
+     * Takes a safe random location from the pool of a world, and starts refilling the pool.
+     * @param world The world.
+     * @param radius The radius around the spawn of the world, in blocks.
+     * @return A safe location, or null if the pool is empty right now.
+     */
+    public Location takeLocation(World world, int radius) {
+        Pool pool = this.pools.computeIfAbsent(world.getName() + ":" + radius,
+                key -> new Pool(world.getName(), radius));
+        Location location = pool.locations.poll();
+        if (location != null && location.getWorld() != world) {
+            // The world was unloaded and loaded again before the pool was forgotten, its locations are stale.
+            pool.locations.clear();
+            location = null;
+        }
+        this.startTask();
+        return location;
+    }
+
+    /**
+     * Forgets the pools of a world, like when it's unloaded. Their locations would keep the world in memory.
+     * @param world The world.
+     */
+    public void forgetWorld(World world) {
+        this.pools.values().removeIf(pool -> pool.worldName.equals(world.getName()));
+    }
+
+    /**
+     * @param world The world.
+     * @param radius The radius around the spawn of the world, in blocks.
+     * @return How many safe locations are ready for the world and radius.
+     */
+    public int getAvailable(World world, int radius) {
+        Pool pool = this.pools.get(world.getName() + ":" + radius);
+        return pool != null ? pool.locations.size() : 0;
+    }
+
+    /**
+     * Stops refilling and forgets all pools.
+     */
+    public void shutdown() {
+        this.stopTask();
+        this.pools.clear();
+    }
+
+    private synchronized void startTask() {
+        if (this.task == null) {
+            this.task = this.plugin.getServer().getScheduler().runTaskTimer(this.plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    private synchronized void stopTask() {
+        if (this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+    }
+
+    private void tick() {
+        this.currentTick++;
+        boolean filling = false;
+        Iterator<Pool> iterator = this.pools.values().iterator();
+        while (iterator.hasNext()) {
+            Pool pool = iterator.next();
+            World world = this.plugin.getServer().getWorld(pool.worldName);
+            if (world == null) {
+                // The world was unloaded, the locations would keep it in memory.
+                iterator.remove();
+                continue;
+            }
+            if (pool.locations.size() + pool.searching.get() < POOL_SIZE) {
+                this.snapshotRandomChunk(world, pool);
+                filling = true;
+            }
+        }
+        if (!filling) {
+            this.stopTask();
+        }
+    }
+
+    /**
+     * Takes a snapshot of a random generated chunk in the radius, and searches it for a safe spot asynchronously.
+     * Chunks that are loaded already are preferred, reading one from disk is only done every
+     * {@link #CHUNK_LOAD_INTERVAL} ticks.
+     */
+    private void snapshotRandomChunk(World world, Pool pool) {
+        Location spawn = world.getSpawnLocation();
+        int radius = clampRadius(world, pool.radius);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        boolean foundUnloaded = false;
+        int unloadedX = 0;
+        int unloadedZ = 0;
+        for (int i = 0; i < CHUNK_TRIES; i++) {
+            int chunkX = (spawn.getBlockX() + random.nextInt(-radius, radius + 1)) >> 4;
+            int chunkZ = (spawn.getBlockZ() + random.nextInt(-radius, radius + 1)) >> 4;
+            if (!world.isChunkGenerated(chunkX, chunkZ)) {
+                continue;
+            }
+            if (world.isChunkLoaded(chunkX, chunkZ)) {
+                this.searchAsync(world, pool, world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(true, false, false));
+                return;
+            }
+            if (!foundUnloaded) {
+                foundUnloaded = true;
+                unloadedX = chunkX;
+                unloadedZ = chunkZ;
+            }
+        }
+        if (foundUnloaded && this.currentTick - this.lastChunkLoad >= CHUNK_LOAD_INTERVAL) {
+            // Reading the chunk from disk blocks the main thread, so it's rare and measured.
+            this.lastChunkLoad = this.currentTick;
+            long start = this.chunkLoadProbe.start();
+            ChunkSnapshot snapshot;
+            try {
+                snapshot = world.getChunkAt(unloadedX, unloadedZ).getChunkSnapshot(true, false, false);
+            } finally {
+                this.chunkLoadProbe.stop(start);
+            }
+            world.unloadChunkRequest(unloadedX, unloadedZ);
+            this.searchAsync(world, pool, snapshot);
+            return;
+        }
+        Logging.finest("No loaded chunks found around the spawn of '%s' this tick.", pool.worldName);
+    }
+
+    private void searchAsync(World world, Pool pool, ChunkSnapshot snapshot) {
+        int maxY = world.getEnvironment() == World.Environment.NETHER ? NETHER_ROOF - 1 : world.getMaxHeight() - 2;
+        BlockSafety safety = this.plugin.getBlockSafety();
+        BlockHazards hazards = safety instanceof SimpleBlockSafety
+                ? ((SimpleBlockSafety) safety).getHazards(world) : BlockHazards.DEFAULT;
+        pool.searching.incrementAndGet();
+        this.plugin.getServer().getScheduler().runTaskAsynchronously(this.plugin, () -> {
+            try {
+                Location location = findSafeSpot(world, snapshot, hazards, maxY);
+                if (location != null) {
+                    pool.locations.add(location);
+                }
+            } finally {
+                pool.searching.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Keeps a radius inside the world border, so the random coordinates can't overflow either.
+     */
+    private static int clampRadius(World world, int radius) {
+        WorldBorder border = world.getWorldBorder();
+        int max = border != null ? (int) Math.min(border.getSize() / 2, MAX_RADIUS) : MAX_RADIUS;
+        return Math.max(0, Math.min(radius, max));
+    }
+
+    /**
+     * Searches a few random columns of a chunk for a safe spot.
+     * @return The centered safe spot, or null if none was found.
+     */
+    private static Location findSafeSpot(World world, ChunkSnapshot snapshot, BlockHazards hazards, int maxY) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < COLUMN_TRIES; i++) {
+            int x = random.nextInt(16);
+            int z = random.nextInt(16);
+            // Nothing above the highest block to stand on.
+            int y = Math.min(snapshot.getHighestBlockYAt(x, z) + 1, maxY);
+            for (; y > 0; y--) {
+                if (canSpawnHereSafely(snapshot, hazards, x, y, z)) {
+                    return new Location(world, (snapshot.getX() << 4) + x + .5, y, (snapshot.getZ() << 4) + z + .5);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The rules of {@link SimpleBlockSafety#playerCanSpawnHereSafely(Location)} on a snapshot. Spots above air are
+     * left out, a random teleport should land on the ground.
+     */
+    private static boolean canSpawnHereSafely(ChunkSnapshot snapshot, BlockHazards hazards, int x, int y, int z) {
+        Material below = snapshot.getBlockType(x, y - 1, z);
+        Material feet = snapshot.getBlockType(x, y, z);
+        Material head = snapshot.getBlockType(x, y + 1, z);
+        return !hazards.isEmpty(below) && !hazards.isHazardBelow(below)
+                && !hazards.isSolid(feet) && !hazards.isHazardToBody(feet)
+                && !hazards.isSolid(head) && !hazards.isHazardToBody(head);
+    }
+
+    /**
+     * The safe locations of one world and radius.
+     */
+    private static final class Pool {
+        private final String worldName;
+        private final int radius;
+        private final Queue<Location> locations = new ConcurrentLinkedQueue<Location>();
+        // Snapshots that are being searched right now.
+        private final AtomicInteger searching = new AtomicInteger();
+
+        private Pool(String worldName, int radius) {
+            this.worldName = worldName;
+            this.radius = radius;
+        }
+    }
+}
@@ -10,6 +10,7 @@ package com.onarandombox.MultiverseCore.utils;
 import com.dumptruckman.minecraft.util.Logging;
 import com.onarandombox.MultiverseCore.api.BlockSafety;
 import com.onarandombox.MultiverseCore.api.Core;
+import com.onarandombox.MultiverseCore.api.MultiverseWorld;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
@@ -19,15 +20,25 @@ import org.bukkit.block.data.type.Bed;
 import org.bukkit.entity.Minecart;
 import org.bukkit.entity.Vehicle;
 
+import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The default-implementation of {@link BlockSafety}.
  */
 public class SimpleBlockSafety implements BlockSafety {
+    // Worlds don't go below 0 before 1.17.
+    private static final int MIN_HEIGHT = 0;
+    // The bedrock roof of the nether is above this.
+    private static final int NETHER_CEILING = 122;
+
     private final Core plugin;
+    private final Map<String, BlockHazards> worldHazards = new ConcurrentHashMap<String, BlockHazards>();
     private static final Set<BlockFace> AROUND_BLOCK = EnumSet.noneOf(BlockFace.class);
 
     static {
@@ -52,7 +63,7 @@ public class SimpleBlockSafety implements BlockSafety {
     public boolean isBlockAboveAir(Location l) {
         Location downOne = l.clone();
         downOne.setY(downOne.getY() - 1);
-        return (downOne.getBlock().getType() == Material.AIR);
+        return this.getHazards(l.getWorld()).isEmpty(downOne.getBlock().getType());
     }
 
     /**
@@ -73,37 +84,65 @@ public class SimpleBlockSafety implements BlockSafety {
             // Can't safely spawn at a null location!
             return false;
         }
+        return this.playerCanSpawnHereSafely(this.getColumn(l), l.getBlockY());
+    }
 
-        World world = l.getWorld();
-        Location actual = l.clone();
-        Location upOne = l.clone();
-        Location downOne = l.clone();
-        upOne.setY(upOne.getY() + 1);
-        downOne.setY(downOne.getY() - 1);
+    /**
+     * Gets the classes of blocks that the safety checks in a world use.
+     * @param world The world.
+     * @return The {@link BlockHazards} of the world, with the hazard blocks it names.
+     */
+    public BlockHazards getHazards(World world) {
+        MultiverseWorld mvWorld = this.plugin != null ? this.plugin.getMVWorldManager().getMVWorld(world) : null;
+        if (mvWorld == null || mvWorld.getHazardBlocks().isEmpty()) {
+            return BlockHazards.DEFAULT;
+        }
+        List<String> names = mvWorld.getHazardBlocks();
+        BlockHazards hazards = this.worldHazards.get(world.getName());
+        if (hazards == null || !hazards.isFor(names)) {
+            // The names changed since we last looked.
+            hazards = new BlockHazards(names);
+            this.worldHazards.put(world.getName(), hazards);
+        }
+        return hazards;
+    }
 
-        if (isSolidBlock(world.getBlockAt(actual).getType())
-                || isSolidBlock(upOne.getBlock().getType())) {
-            Logging.finer("Error Here (Actual)? (%s)[%s]", actual.getBlock().getType(),
-                    isSolidBlock(actual.getBlock().getType()));
-            Logging.finer("Error Here (upOne)? (%s)[%s]", upOne.getBlock().getType(),
-                    isSolidBlock(upOne.getBlock().getType()));
+    private Column getColumn(Location l) {
+        return new Column(l.getWorld(), this.getHazards(l.getWorld()), l.getBlockX(), l.getBlockZ());
+    }
+
+    /**
+     * Checks if a player can spawn at a height of a column.
+     * @param column The column.
+     * @param y The height of the player's feet.
+     * @return True if the player can spawn there safely.
+     */
+    private boolean playerCanSpawnHereSafely(Column column, int y) {
+        BlockHazards hazards = column.hazards;
+        Material actual = column.getType(y);
+        Material upOne = column.getType(y + 1);
+        if (hazards.isSolid(actual) || hazards.isSolid(upOne)) {
+            Logging.finer("Error Here (Actual)? (%s)[%s]", actual, hazards.isSolid(actual));
+            Logging.finer("Error Here (upOne)? (%s)[%s]", upOne, hazards.isSolid(upOne));
             return false;
         }
 
-        if (downOne.getBlock().getType() == Material.LAVA) {
-            Logging.finer("Error Here (downOne)? (%s)[%s]", downOne.getBlock().getType(), isSolidBlock(downOne.getBlock().getType()));
+        if (hazards.isHazardToBody(actual) || hazards.isHazardToBody(upOne)) {
+            Logging.finer("Standing in this hurts! (%s)(%s)", actual, upOne);
             return false;
         }
 
-        if (downOne.getBlock().getType() == Material.FIRE) {
-            Logging.finer("There's fire below! (%s)[%s]", actual.getBlock().getType(), isSolidBlock(actual.getBlock().getType()));
+        Material downOne = column.getType(y - 1);
+        if (hazards.isHazardBelow(downOne)) {
+            Logging.finer("Standing on this hurts! (%s)", downOne);
             return false;
         }
 
-        if (isBlockAboveAir(actual)) {
-            Logging.finer("Is block above air [%s]", isBlockAboveAir(actual));
-            Logging.finer("Has 2 blocks of water below [%s]", this.hasTwoBlocksofWaterBelow(actual));
-            return this.hasTwoBlocksofWaterBelow(actual);
+        if (hazards.isEmpty(downOne)) {
+            boolean water = this.hasTwoBlocksofWaterBelow(column, y);
+            Logging.finer("Is block above air [true]");
+            Logging.finer("Has 2 blocks of water below [%s]", water);
+            return water;
         }
         return true;
     }
@@ -171,13 +210,17 @@ public class SimpleBlockSafety implements BlockSafety {
      */
     @Override
     public Location getTopBlock(Location l) {
-        Location check = l.clone();
-        check.setY(127); // SUPPRESS CHECKSTYLE: MagicNumberCheck
-        while (check.getY() > 0) {
-            if (this.playerCanSpawnHereSafely(check)) {
-                return check;
+        World world = l.getWorld();
+        Column column = this.getColumn(l);
+        // Nobody can stand above the highest block, unless it's the roof of the nether.
+        int top = getCeiling(world);
+        if (world.getEnvironment() != World.Environment.NETHER) {
+            top = Math.min(top, world.getHighestBlockYAt(l.getBlockX(), l.getBlockZ()) + 1);
+        }
+        for (int y = top; y > MIN_HEIGHT; y--) {
+            if (this.playerCanSpawnHereSafely(column, y)) {
+                return column.getLocation(l, y);
             }
-            check.setY(check.getY() - 1);
         }
         return null;
     }
@@ -187,22 +230,33 @@ public class SimpleBlockSafety implements BlockSafety {
      */
     @Override
     public Location getBottomBlock(Location l) {
-        Location check = l.clone();
-        check.setY(0);
-        while (check.getY() < 127) { // SUPPRESS CHECKSTYLE: MagicNumberCheck
-            if (this.playerCanSpawnHereSafely(check)) {
-                return check;
+        World world = l.getWorld();
+        Column column = this.getColumn(l);
+        int top = Math.min(getCeiling(world), world.getHighestBlockYAt(l.getBlockX(), l.getBlockZ()) + 1);
+        for (int y = MIN_HEIGHT; y <= top; y++) {
+            if (this.playerCanSpawnHereSafely(column, y)) {
+                return column.getLocation(l, y);
             }
-            check.setY(check.getY() + 1);
         }
         return null;
     }
 
+    /**
+     * @return The highest feet height in a world that leaves room for the head.
+     */
+    private static int getCeiling(World world) {
+        if (world.getEnvironment() == World.Environment.NETHER) {
+            // Searching starts below the bedrock roof.
+            return NETHER_CEILING;
+        }
+        return world.getMaxHeight() - 2;
+    }
+
     /*
      * If someone has a better way of this... Please either tell us, or submit a pull request!
      */
     public static boolean isSolidBlock(Material type) {
-        return type.isSolid();
+        return BlockHazards.DEFAULT.isSolid(type);
     }
 
     /**
@@ -218,26 +272,19 @@ public class SimpleBlockSafety implements BlockSafety {
     }
 
     /**
-     * Checks recursively below a {@link Location} for 2 blocks of water.
+     * Checks below a height of a column for 2 blocks of water, with nothing but air in between.
      *
-     * @param l The {@link Location}
+     * @param column The column.
+     * @param y The height to look below.
      * @return Whether there are 2 blocks of water
      */
-    private boolean hasTwoBlocksofWaterBelow(Location l) {
-        if (l.getBlockY() < 0) {
-            return false;
-        }
-        Location oneBelow = l.clone();
-        oneBelow.subtract(0, 1, 0);
-        if (oneBelow.getBlock().getType() == Material.WATER) {
-            Location twoBelow = oneBelow.clone();
-            twoBelow.subtract(0, 1, 0);
-            return (oneBelow.getBlock().getType() == Material.WATER);
+    private boolean hasTwoBlocksofWaterBelow(Column column, int y) {
+        int below = y - 1;
+        while (below >= MIN_HEIGHT && column.hazards.isEmpty(column.getType(below))) {
+            below--;
         }
-        if (oneBelow.getBlock().getType() != Material.AIR) {
-            return false;
-        }
-        return hasTwoBlocksofWaterBelow(oneBelow);
+        return below > MIN_HEIGHT && column.getType(below) == Material.WATER
+                && column.getType(below - 1) == Material.WATER;
     }
 
     /**
@@ -265,4 +312,48 @@ public class SimpleBlockSafety implements BlockSafety {
         return false;
     }
 
+    /**
+     * The blocks of one column of a world, read from the world the first time they are needed.
+     */
+    private static final class Column {
+        private final World world;
+        private final BlockHazards hazards;
+        private final int x;
+        private final int z;
+        private Material[] types = new Material[16];
+
+        private Column(World world, BlockHazards hazards, int x, int z) {
+            this.world = world;
+            this.hazards = hazards;
+            this.x = x;
+            this.z = z;
+        }
+
+        /**
+         * @return The type of the block at a height, or {@link Material#VOID_AIR} below the world.
+         */
+        private Material getType(int y) {
+            if (y < MIN_HEIGHT) {
+                return Material.VOID_AIR;
+            }
+            if (y >= this.types.length) {
+                this.types = Arrays.copyOf(this.types, Math.max(y + 1, this.types.length * 2));
+            }
+            Material type = this.types[y];
+            if (type == null) {
+                type = this.world.getBlockAt(this.x, y, this.z).getType();
+                this.types[y] = type;
+            }
+            return type;
+        }
+
+        /**
+         * @return The location at a height of the column, with the rest taken from a location.
+         */
+        private Location getLocation(Location l, int y) {
+            Location location = l.clone();
+            location.setY(y);
+            return location;
+        }
+    }
 }
@@ -13,6 +13,7 @@ import com.onarandombox.MultiverseCore.api.MVDestination;
 import com.onarandombox.MultiverseCore.api.SafeTTeleporter;
 import com.onarandombox.MultiverseCore.destination.InvalidDestination;
 import com.onarandombox.MultiverseCore.enums.TeleportResult;
+import com.onarandombox.MultiverseCore.utils.metrics.LatencyProbe;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -30,9 +31,11 @@ import org.bukkit.util.Vector;
  */
 public class SimpleSafeTTeleporter implements SafeTTeleporter {
     private MultiverseCore plugin;
+    private final LatencyProbe searchProbe;
 
     public SimpleSafeTTeleporter(MultiverseCore plugin) {
         this.plugin = plugin;
+        this.searchProbe = plugin.getPerformanceMonitor().probe("teleport.safeLocationSearch");
     }
 
     private static final Vector DEFAULT_VECTOR = new Vector();
@@ -52,6 +55,15 @@ public class SimpleSafeTTeleporter implements SafeTTeleporter {
      */
     @Override
     public Location getSafeLocation(Location l, int tolerance, int radius) {
+        long start = this.searchProbe.start();
+        try {
+            return this.searchSafeLocation(l, tolerance, radius);
+        } finally {
+            this.searchProbe.stop(start);
+        }
+    }
+
+    private Location searchSafeLocation(Location l, int tolerance, int radius) {
         // Check around the player first in a configurable radius:
         // TODO: Make this configurable
         Location safe = checkAboveAndBelowLocation(l, tolerance, radius);
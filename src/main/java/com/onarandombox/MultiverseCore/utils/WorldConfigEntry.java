@@ -0,0 +1,136 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.utils;
+
+import com.onarandombox.MultiverseCore.WorldProperties;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The properties of a world in worlds.yml.
+ * <p>
+ * A {@link WorldProperties} object is quite big, and servers can have thousands of worlds that are never loaded.
+ * While a world isn't loaded its properties can be {@link #compact() compacted} into their compressed YAML, and are
+ * only turned back into a {@link WorldProperties} object when something needs them. The alias and the auto-load flag
+ * are kept as they are, since those are looked up for every world. Saving writes out the compacted YAML as plain values.
+ */
+final class WorldConfigEntry {
+    private static final String KEY = "world";
+
+    private WorldProperties props;
+    private byte[] compacted;
+    private String alias;
+    private boolean autoLoad;
+
+    WorldConfigEntry(WorldProperties props) {
+        this.props = props;
+    }
+
+    /**
+     * Gets the properties, inflating them if they were compacted. They stay inflated until the next {@link #compact()}.
+     * @return The properties.
+     */
+    synchronized WorldProperties getProperties() {
+        if (this.props == null) {
+            this.props = this.decode();
+            this.compacted = null;
+        }
+        return this.props;
+    }
+
+    /**
+     * Gets the compacted properties as plain YAML values to save them, without turning them into a
+     * {@link WorldProperties} object. Nested objects stay maps with their {@code ==} type key, a
+     * {@link YamlConfiguration} writes them the same way it writes the objects.
+     * @return The properties, or null if they're inflated.
+     */
+    synchronized Object getCompactedValues() {
+        if (this.props != null) {
+            return null;
+        }
+        Object document = new Yaml(new SafeConstructor()).load(this.inflate());
+        if (!(document instanceof Map)) {
+            // We wrote it ourselves, so this is a bug.
+            throw new IllegalStateException("Could not inflate the properties of a world");
+        }
+        return ((Map<?, ?>) document).get(KEY);
+    }
+
+    /**
+     * Compacts the properties. Only call this for worlds that aren't loaded, a loaded world keeps using its object.
+     * @return The size of the compacted properties in bytes.
+     */
+    synchronized int compact() {
+        if (this.props != null) {
+            this.alias = this.props.getAlias();
+            this.autoLoad = this.props.getAutoLoad();
+            this.compacted = encode(this.props);
+            this.props = null;
+        }
+        return this.compacted.length;
+    }
+
+    synchronized String getAlias() {
+        return this.props != null ? this.props.getAlias() : this.alias;
+    }
+
+    synchronized boolean getAutoLoad() {
+        return this.props != null ? this.props.getAutoLoad() : this.autoLoad;
+    }
+
+    private static byte[] encode(WorldProperties props) {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set(KEY, props);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new DeflaterOutputStream(bytes)) {
+            out.write(yaml.saveToString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            // Nothing to fail in memory.
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private WorldProperties decode() {
+        try {
+            YamlConfiguration yaml = new YamlConfiguration();
+            yaml.loadFromString(this.inflate());
+            return (WorldProperties) yaml.get(KEY);
+        } catch (InvalidConfigurationException | ClassCastException e) {
+            // We wrote it ourselves, so this is a bug.
+            throw new IllegalStateException("Could not inflate the properties of a world", e);
+        }
+    }
+
+    private String inflate() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(this.compacted))) {
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                bytes.write(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            // We wrote it ourselves, so this is a bug.
+            throw new IllegalStateException("Could not inflate the properties of a world", e);
+        }
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
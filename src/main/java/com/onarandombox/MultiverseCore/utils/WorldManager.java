@@ -12,6 +12,7 @@ import com.onarandombox.MultiverseCore.MVWorld;
 import com.onarandombox.MultiverseCore.MultiverseCore;
 import com.onarandombox.MultiverseCore.MultiverseCoreConfiguration;
 import com.onarandombox.MultiverseCore.WorldProperties;
+import com.onarandombox.MultiverseCore.WorldRules;
 import com.onarandombox.MultiverseCore.api.MVWorldManager;
 import com.onarandombox.MultiverseCore.api.MultiverseWorld;
 import com.onarandombox.MultiverseCore.api.SafeTTeleporter;
@@ -58,15 +59,21 @@ public class WorldManager implements MVWorldManager {
     private final MultiverseCore plugin;
     private final WorldPurger worldPurger;
     private final Map<String, MultiverseWorld> worlds;
-    private Map<String, WorldProperties> worldsFromTheConfig;
+    // The bukkit world each loaded world was loaded as, so the registry doesn't have to look them up.
+    private final Map<String, World> bukkitWorlds;
+    private Map<String, WorldConfigEntry> worldsFromTheConfig;
+    private volatile WorldRegistry registry = WorldRegistry.EMPTY;
     private FileConfiguration configWorlds = null;
     private Map<String, String> defaultGens;
     private String firstSpawn;
+    // While all worlds are being loaded the registry only grows by each world, it's fully rebuilt at the end.
+    private boolean loadingWorlds;
 
     public WorldManager(MultiverseCore core) {
         this.plugin = core;
-        this.worldsFromTheConfig = new HashMap<String, WorldProperties>();
+        this.worldsFromTheConfig = new HashMap<String, WorldConfigEntry>();
         this.worlds = new ConcurrentHashMap<String, MultiverseWorld>();
+        this.bukkitWorlds = new ConcurrentHashMap<String, World>();
         this.worldPurger = new SimpleWorldPurger(plugin);
     }
 
@@ -113,7 +120,7 @@ public class WorldManager implements MVWorldManager {
         // Make sure we already know about the old world and that we don't
         // already know about the new world.
         if (!this.worldsFromTheConfig.containsKey(oldName)) {
-            for (Map.Entry<String, WorldProperties> entry : this.worldsFromTheConfig.entrySet()) {
+            for (Map.Entry<String, WorldConfigEntry> entry : this.worldsFromTheConfig.entrySet()) {
                 if (oldName.equals(entry.getValue().getAlias())) {
                     oldName = entry.getKey();
                     break;
@@ -149,7 +156,7 @@ public class WorldManager implements MVWorldManager {
         boolean wasLoadSpawn = false;
         if (this.plugin.getServer().getWorld(oldName) == null) {
             wasJustLoaded = true;
-            WorldProperties props = this.worldsFromTheConfig.get(oldName);
+            WorldProperties props = this.getWorldProperties(oldName);
             wasLoadSpawn = props.isKeepingSpawnInMemory();
             if (wasLoadSpawn) {
                 // No chunks please.
@@ -169,7 +176,8 @@ public class WorldManager implements MVWorldManager {
             this.unloadWorld(oldName, true);
             oldWorld = null;
             if (wasLoadSpawn) {
-                this.worldsFromTheConfig.get(oldName).setKeepSpawnInMemory(true);
+                this.getWorldProperties(oldName).setKeepSpawnInMemory(true);
+                this.compactWorld(oldName);
             }
         }
 
@@ -194,11 +202,12 @@ public class WorldManager implements MVWorldManager {
 
             // initialize new properties with old ones
             WorldProperties newProps = new WorldProperties();
-            newProps.copyValues(this.worldsFromTheConfig.get(oldName));
+            newProps.copyValues(this.getWorldProperties(oldName));
             // don't keep the alias the same -- that would be useless
             newProps.setAlias("");
             // store the new properties in worlds config map
-            this.worldsFromTheConfig.put(newName, newProps);
+            this.worldsFromTheConfig.put(newName, new WorldConfigEntry(newProps));
+            this.publishRegistry();
 
             // save the worlds config to disk (worlds.yml)
             if (!saveWorldsConfig()) {
@@ -270,7 +279,8 @@ public class WorldManager implements MVWorldManager {
         // Important: doLoad() needs the MVWorld-object in worldsFromTheConfig
         if (!worldsFromTheConfig.containsKey(name)) {
             WorldProperties props = new WorldProperties(useSpawnAdjust, env);
-            worldsFromTheConfig.put(name, props);
+            worldsFromTheConfig.put(name, new WorldConfigEntry(props));
+            this.publishRegistry();
         }
 
         StringBuilder builder = new StringBuilder();
@@ -329,6 +339,7 @@ public class WorldManager implements MVWorldManager {
         }
         if (this.worldsFromTheConfig.containsKey(name)) {
             this.worldsFromTheConfig.remove(name);
+            this.publishRegistry();
             Logging.info("World '%s' was removed from config.yml", name);
 
             this.saveWorldsConfig();
@@ -384,13 +395,21 @@ public class WorldManager implements MVWorldManager {
     @Override
     public boolean unloadWorld(String name, boolean unloadBukkit) {
         if (this.worlds.containsKey(name)) {
-            this.worldsFromTheConfig.get(name).cacheVirtualProperties();
+            this.getWorldProperties(name).cacheVirtualProperties();
             if (unloadBukkit && this.unloadWorldFromBukkit(name, true)) {
                 this.worlds.remove(name);
+                this.bukkitWorlds.remove(name);
+                this.compactWorld(name);
+                this.publishRegistry();
+                this.invalidateDestinations();
                 Logging.info("World '%s' was unloaded from Bukkit.", name);
                 return true;
             } else if (!unloadBukkit){
                 this.worlds.remove(name);
+                this.bukkitWorlds.remove(name);
+                this.compactWorld(name);
+                this.publishRegistry();
+                this.invalidateDestinations();
                 Logging.info("World '%s' was unloaded from Multiverse.", name);
                 return true;
             } else {
@@ -446,7 +465,7 @@ public class WorldManager implements MVWorldManager {
         if (!worldsFromTheConfig.containsKey(name))
             throw new IllegalArgumentException("That world doesn't exist!");
 
-        final WorldProperties world = worldsFromTheConfig.get(name);
+        final WorldProperties world = this.getWorldProperties(name);
         final WorldCreator creator = WorldCreator.name(name);
 
         creator.environment(world.getEnvironment()).seed(world.getSeed());
@@ -480,7 +499,7 @@ public class WorldManager implements MVWorldManager {
             return false;
         }
 
-        WorldProperties mvworld = worldsFromTheConfig.get(worldName);
+        WorldProperties mvworld = this.getWorldProperties(worldName);
         World cbworld;
         try {
             cbworld = creator.createWorld();
@@ -498,9 +517,44 @@ public class WorldManager implements MVWorldManager {
             this.worldPurger.purgeWorld(world);
         }
         this.worlds.put(worldName, world);
+        this.bukkitWorlds.put(worldName, cbworld);
+        if (this.loadingWorlds) {
+            // The worlds loaded so far can be found right away, without rebuilding the registry for every world.
+            this.registry = this.registry.withLoadedWorld(world, cbworld);
+        } else {
+            this.publishRegistry();
+        }
+        this.invalidateDestinations();
         return true;
     }
 
+    /**
+     * Replaces the snapshot of the worlds that readers see. Call this after every change to the worlds.
+     */
+    private void publishRegistry() {
+        this.registry = new WorldRegistry(this.worlds, this.bukkitWorlds, this.worldsFromTheConfig, null, null);
+        // Worlds that came or went may need other listeners.
+        this.plugin.getFeatureListeners().update();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateAlias(MultiverseWorld world, String alias) {
+        this.registry = new WorldRegistry(this.worlds, this.bukkitWorlds, this.worldsFromTheConfig, world, alias);
+    }
+
+    /**
+     * Drops all parsed destinations, since they may point at worlds that just came or went.
+     */
+    private void invalidateDestinations() {
+        // The destination factory only exists once the plugin is enabled.
+        if (this.plugin.getDestFactory() != null) {
+            this.plugin.getDestFactory().invalidateCache();
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -536,6 +590,8 @@ public class WorldManager implements MVWorldManager {
                 return false;
             }
         }
+        // The chunks of the old world are gone, and so is the spawn the job spirals around.
+        this.plugin.getChunkPregenerator().stop(name);
 
         try {
             File worldFile = world.getWorldFolder();
@@ -609,7 +665,7 @@ public class WorldManager implements MVWorldManager {
      */
     @Override
     public Collection<MultiverseWorld> getMVWorlds() {
-        return this.worlds.values();
+        return this.registry.getWorlds();
     }
 
     /**
@@ -628,11 +684,12 @@ public class WorldManager implements MVWorldManager {
         if (name == null) {
             return null;
         }
-        MultiverseWorld world = this.worlds.get(name);
+        WorldRegistry registry = this.registry;
+        MultiverseWorld world = registry.getWorld(name);
         if (world != null) {
             return world;
         }
-        return (checkAliases) ? this.getMVWorldByAlias(name) : null;
+        return (checkAliases) ? registry.getWorldByAlias(name) : null;
     }
 
     /**
@@ -641,24 +698,21 @@ public class WorldManager implements MVWorldManager {
     @Override
     public MultiverseWorld getMVWorld(World world) {
         if (world != null) {
-            return this.getMVWorld(world.getName(), false);
+            MultiverseWorld mvWorld = this.registry.getWorld(world);
+            return mvWorld != null ? mvWorld : this.getMVWorld(world.getName(), false);
         }
         return null;
     }
 
     /**
-     * Returns a {@link MVWorld} if it exists, and null if it does not. This will search ONLY alias.
+     * Gets the rules of a world for the listeners.
      *
-     * @param alias The alias of the world to get.
-     * @return A {@link MVWorld} or null.
+     * @param world A bukkit world.
+     * @return The {@link WorldRules} of the world, or null if Multiverse doesn't manage it.
      */
-    private MultiverseWorld getMVWorldByAlias(String alias) {
-        for (MultiverseWorld w : this.worlds.values()) {
-            if (w.getAlias().equalsIgnoreCase(alias)) {
-                return w;
-            }
-        }
-        return null;
+    public WorldRules getRules(World world) {
+        MultiverseWorld mvWorld = this.getMVWorld(world);
+        return mvWorld instanceof MVWorld ? ((MVWorld) mvWorld).getRules() : null;
     }
 
     /**
@@ -674,7 +728,8 @@ public class WorldManager implements MVWorldManager {
      */
     @Override
     public boolean isMVWorld(final String name, boolean checkAliases) {
-        return this.worlds.containsKey(name) || (checkAliases && this.isMVWorldAlias(name));
+        WorldRegistry registry = this.registry;
+        return registry.getWorld(name) != null || (checkAliases && registry.getWorldByAlias(name) != null);
     }
 
     /**
@@ -685,21 +740,6 @@ public class WorldManager implements MVWorldManager {
         return world != null && this.isMVWorld(world.getName());
     }
 
-    /**
-     * This method ONLY checks the alias of each world.
-     *
-     * @param alias The alias of the world to check.
-     * @return True if the world exists, false if not.
-     */
-    private boolean isMVWorldAlias(final String alias) {
-        for (MultiverseWorld w : this.worlds.values()) {
-            if (w.getAlias().equalsIgnoreCase(alias)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     /**
      * {@inheritDoc}
      */
@@ -731,6 +771,17 @@ public class WorldManager implements MVWorldManager {
      */
     @Override
     public void loadWorlds(boolean forceLoad) {
+        // Every world adds itself to the parent permissions, only recalculate those once at the end.
+        PermissionBatch permissionBatch = this.plugin.getPermissionBatch();
+        permissionBatch.begin();
+        try {
+            this.doLoadWorlds(forceLoad);
+        } finally {
+            permissionBatch.end();
+        }
+    }
+
+    private void doLoadWorlds(boolean forceLoad) {
         // Basic Counter to count how many Worlds we are loading.
         int count = 0;
         this.ensureConfigIsPrepared();
@@ -739,41 +790,94 @@ public class WorldManager implements MVWorldManager {
         // Force the worlds to be loaded, ie don't just load new worlds.
         if (forceLoad) {
             // Remove all world permissions.
-            Permission allAccess = this.plugin.getServer().getPluginManager().getPermission("multiverse.access.*");
-            Permission allExempt = this.plugin.getServer().getPluginManager().getPermission("multiverse.exempt.*");
             for (MultiverseWorld w : this.worlds.values()) {
-                // Remove this world from the master list
-                if (allAccess != null) {
-                    allAccess.getChildren().remove(w.getAccessPermission().getName());
-                }
-                if (allExempt != null) {
-                    allExempt.getChildren().remove(w.getAccessPermission().getName());
-                }
-                this.plugin.getServer().getPluginManager().removePermission(w.getAccessPermission().getName());
-                this.plugin.getServer().getPluginManager().removePermission(w.getExemptPermission().getName());
-                // Special namespace for gamemodes
-                this.plugin.getServer().getPluginManager().removePermission("mv.bypass.gamemode." + w.getName());
+                this.removeWorldPermissions(w);
             }
-            // Recalc the all permission
-            this.plugin.getServer().getPluginManager().recalculatePermissionDefaults(allAccess);
-            this.plugin.getServer().getPluginManager().recalculatePermissionDefaults(allExempt);
             this.worlds.clear();
+            this.bukkitWorlds.clear();
+            this.publishRegistry();
+            this.invalidateDestinations();
         }
 
-        for (Map.Entry<String, WorldProperties> entry : worldsFromTheConfig.entrySet()) {
-            if (worlds.containsKey(entry.getKey())) {
-                continue;
-            }
-            if (!entry.getValue().getAutoLoad())
-                continue;
+        this.loadingWorlds = true;
+        try {
+            for (Map.Entry<String, WorldConfigEntry> entry : worldsFromTheConfig.entrySet()) {
+                if (worlds.containsKey(entry.getKey())) {
+                    continue;
+                }
+                if (!entry.getValue().getAutoLoad())
+                    continue;
 
-            if (doLoad(entry.getKey()))
-                count++;
+                if (doLoad(entry.getKey()))
+                    count++;
+            }
+        } finally {
+            this.loadingWorlds = false;
+            this.publishRegistry();
         }
 
         // Simple Output to the Console to show how many Worlds were loaded.
         Logging.config("%s - World(s) loaded.", count);
         this.saveWorldsConfig();
+        this.compactUnloadedWorlds();
+    }
+
+    /**
+     * Compacts the properties of every world that isn't loaded, see {@link WorldConfigEntry}.
+     */
+    private void compactUnloadedWorlds() {
+        int compacted = 0;
+        long bytes = 0L;
+        for (String name : this.worldsFromTheConfig.keySet()) {
+            if (!this.worlds.containsKey(name)) {
+                bytes += this.compactWorld(name);
+                compacted++;
+            }
+        }
+        if (compacted > 0) {
+            Logging.fine("Keeping the properties of %d unloaded world(s) in %d bytes.", compacted, bytes);
+        }
+    }
+
+    /**
+     * Compacts the properties of a world that isn't loaded, and drops them from the worlds section of the config so
+     * it doesn't keep the object alive.
+     * @return The size of the compacted properties in bytes.
+     */
+    private int compactWorld(String name) {
+        this.configWorlds.set("worlds" + SEPARATOR + name, null);
+        return this.worldsFromTheConfig.get(name).compact();
+    }
+
+    /**
+     * Gets the properties of a world in the config, inflating them if they were compacted.
+     */
+    private WorldProperties getWorldProperties(String name) {
+        WorldConfigEntry entry = this.worldsFromTheConfig.get(name);
+        return entry != null ? entry.getProperties() : null;
+    }
+
+    /**
+     * Removes the permissions a world registered, and removes it from the parent permissions.
+     */
+    private void removeWorldPermissions(MultiverseWorld w) {
+        Permission allAccess = this.plugin.getServer().getPluginManager().getPermission("multiverse.access.*");
+        Permission allExempt = this.plugin.getServer().getPluginManager().getPermission("multiverse.exempt.*");
+        // Remove this world from the master list
+        if (allAccess != null) {
+            allAccess.getChildren().remove(w.getAccessPermission().getName());
+        }
+        if (allExempt != null) {
+            allExempt.getChildren().remove(w.getExemptPermission().getName());
+        }
+        this.plugin.getServer().getPluginManager().removePermission(w.getAccessPermission().getName());
+        this.plugin.getServer().getPluginManager().removePermission(w.getExemptPermission().getName());
+        // Special namespaces for gamemodes and player limits
+        this.plugin.getServer().getPluginManager().removePermission("mv.bypass.gamemode." + w.getName());
+        this.plugin.getServer().getPluginManager().removePermission("mv.bypass.playerlimit." + w.getName());
+        // Recalc the all permission
+        this.plugin.getPermissionBatch().recalculate(allAccess);
+        this.plugin.getPermissionBatch().recalculate(allExempt);
     }
 
     private void ensureSecondNamespaceIsPrepared() {
@@ -805,7 +909,7 @@ public class WorldManager implements MVWorldManager {
     private static final char SEPARATOR = '\uF8FF';
 
     public boolean isKeepingSpawnInMemory(World world) {
-        WorldProperties properties = worldsFromTheConfig.get(world.getName());
+        WorldProperties properties = this.getWorldProperties(world.getName());
         return properties == null || properties.isKeepingSpawnInMemory();
     }
 
@@ -814,18 +918,37 @@ public class WorldManager implements MVWorldManager {
      */
     @Override
     public FileConfiguration loadWorldConfig(File file) {
-        this.configWorlds = YamlConfiguration.loadConfiguration(file);
+        return this.loadWorldConfig(YamlConfiguration.loadConfiguration(file));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Worlds that are missing from a config without any worlds are always kept, that file is more likely broken than
+     * meant to drop every world.
+     */
+    @Override
+    public FileConfiguration loadWorldConfig(FileConfiguration config, boolean removeMissing) {
+        ConfigurationSection worldsSection = config.getConfigurationSection("worlds");
+        boolean hasWorlds = worldsSection != null && !worldsSection.getKeys(false).isEmpty();
+        this.configWorlds = config;
         this.ensureConfigIsPrepared();
-        try {
-            this.configWorlds.save(new File(this.plugin.getDataFolder(), "worlds.yml"));
-        } catch (IOException e) {
-            // TODO Auto-generated catch block
-            e.printStackTrace();
+        if (removeMissing) {
+            // Only write back what we read ourselves, a changed file belongs to whoever is changing it.
+            try {
+                File worldsFile = new File(this.plugin.getDataFolder(), "worlds.yml");
+                this.configWorlds.save(worldsFile);
+                this.plugin.getConfigWatcher().rememberContents(worldsFile);
+            } catch (IOException e) {
+                // TODO Auto-generated catch block
+                e.printStackTrace();
+            }
         }
         // load world-objects
         Stack<String> worldKeys = new Stack<String>();
         worldKeys.addAll(this.configWorlds.getConfigurationSection("worlds").getKeys(false));
-        Map<String, WorldProperties> newWorldsFromTheConfig = new HashMap<String, WorldProperties>();
+        Map<String, WorldConfigEntry> newWorldsFromTheConfig = new HashMap<String, WorldConfigEntry>();
+        boolean changed = false;
         while (!worldKeys.isEmpty()) {
             String key = worldKeys.pop();
             String path = "worlds" + SEPARATOR + key;
@@ -833,15 +956,15 @@ public class WorldManager implements MVWorldManager {
             if ((obj != null) && (obj instanceof WorldProperties)) {
                 String worldName = key.replaceAll(String.valueOf(SEPARATOR), ".");
                 WorldProperties props = (WorldProperties) obj;
-                if (this.worldsFromTheConfig.containsKey(worldName)) {
+                MVWorld mvWorld = (MVWorld) this.worlds.get(worldName);
+                if (mvWorld != null && this.worldsFromTheConfig.containsKey(worldName)) {
                     // Object-Recycling :D
-                    // TODO Why is is checking worldsFromTheConfig and then getting from worlds?  So confused... (DTM)
-                    MVWorld mvWorld = (MVWorld) this.worlds.get(worldName);
-                    if (mvWorld != null) {
-                        mvWorld.copyValues((WorldProperties) obj);
-                    }
+                    // Loaded worlds keep their properties object and only take over what changed.
+                    changed |= mvWorld.reloadValues(props);
+                    newWorldsFromTheConfig.put(worldName, this.worldsFromTheConfig.get(worldName));
+                } else {
+                    newWorldsFromTheConfig.put(worldName, new WorldConfigEntry(props));
                 }
-                newWorldsFromTheConfig.put(worldName, props);
             } else if (this.configWorlds.isConfigurationSection(path)) {
                 ConfigurationSection section = this.configWorlds.getConfigurationSection(path);
                 Set<String> subkeys = section.getKeys(false);
@@ -850,8 +973,46 @@ public class WorldManager implements MVWorldManager {
                 }
             }
         }
+        if (!removeMissing || !hasWorlds) {
+            int kept = 0;
+            for (Map.Entry<String, WorldConfigEntry> entry : this.worldsFromTheConfig.entrySet()) {
+                if (!newWorldsFromTheConfig.containsKey(entry.getKey())) {
+                    newWorldsFromTheConfig.put(entry.getKey(), entry.getValue());
+                    kept++;
+                }
+            }
+            if (kept > 0) {
+                Logging.warning("%d worlds are missing from worlds.yml, keeping them. Use /mv remove to remove a "
+                        + "world, or /mv reload once the file is complete.", kept);
+            }
+        }
         this.worldsFromTheConfig = newWorldsFromTheConfig;
-        this.worlds.keySet().retainAll(this.worldsFromTheConfig.keySet());
+        this.fillWorldsSection();
+        // Worlds that were removed from the config aren't Multiverse's to manage anymore.
+        PermissionBatch permissionBatch = this.plugin.getPermissionBatch();
+        permissionBatch.begin();
+        try {
+            for (MultiverseWorld world : new ArrayList<MultiverseWorld>(this.worlds.values())) {
+                if (!this.worldsFromTheConfig.containsKey(world.getName())) {
+                    this.removeWorldPermissions(world);
+                    this.worlds.remove(world.getName());
+                    this.bukkitWorlds.remove(world.getName());
+                    if (this.unloadWorldFromBukkit(world.getName(), true)) {
+                        Logging.info("World '%s' was removed from worlds.yml and unloaded.", world.getName());
+                    } else {
+                        Logging.warning("World '%s' was removed from worlds.yml but could not be unloaded from Bukkit.",
+                                world.getName());
+                    }
+                    changed = true;
+                }
+            }
+        } finally {
+            permissionBatch.end();
+        }
+        this.publishRegistry();
+        if (changed) {
+            this.invalidateDestinations();
+        }
         return this.configWorlds;
     }
 
@@ -860,17 +1021,45 @@ public class WorldManager implements MVWorldManager {
      */
     @Override
     public boolean saveWorldsConfig() {
+        List<String> compacted = new ArrayList<String>();
         try {
             this.configWorlds.options().pathSeparator(SEPARATOR);
             this.configWorlds.set("worlds", null);
-            for (Map.Entry<String, WorldProperties> entry : worldsFromTheConfig.entrySet()) {
-                this.configWorlds.set("worlds" + SEPARATOR + entry.getKey(), entry.getValue());
+            for (Map.Entry<String, WorldConfigEntry> entry : worldsFromTheConfig.entrySet()) {
+                String path = "worlds" + SEPARATOR + entry.getKey();
+                // Compacted worlds are written out as the plain values they're kept as, only the others are serialized.
+                Object values = entry.getValue().getCompactedValues();
+                if (values == null) {
+                    this.configWorlds.set(path, entry.getValue().getProperties());
+                } else {
+                    compacted.add(path);
+                    this.configWorlds.set(path, values);
+                }
             }
-            this.configWorlds.save(new File(this.plugin.getDataFolder(), "worlds.yml"));
+            File worldsFile = new File(this.plugin.getDataFolder(), "worlds.yml");
+            this.configWorlds.save(worldsFile);
+            this.plugin.getConfigWatcher().rememberContents(worldsFile);
             return true;
         } catch (IOException e) {
             Logging.severe("Could not save worlds.yml. Please check your settings.");
             return false;
+        } finally {
+            // The plain values of compacted worlds are only needed for saving.
+            for (String path : compacted) {
+                this.configWorlds.set(path, null);
+            }
+        }
+    }
+
+    /**
+     * Puts the properties of every world into the worlds section of the config, inflating compacted worlds. They stay
+     * there until they're compacted again.
+     */
+    private void fillWorldsSection() {
+        this.configWorlds.set("worlds", null);
+        ConfigurationSection worldsSection = this.configWorlds.createSection("worlds");
+        for (Map.Entry<String, WorldConfigEntry> entry : this.worldsFromTheConfig.entrySet()) {
+            worldsSection.set(entry.getKey(), entry.getValue().getProperties());
         }
     }
 
@@ -887,9 +1076,7 @@ public class WorldManager implements MVWorldManager {
      */
     @Override
     public List<String> getUnloadedWorlds() {
-        List<String> allNames = new ArrayList<String>(this.worldsFromTheConfig.keySet());
-        allNames.removeAll(worlds.keySet());
-        return allNames;
+        return this.registry.getUnloadedWorlds();
     }
 
     /**
@@ -991,9 +1178,12 @@ public class WorldManager implements MVWorldManager {
 
     /**
      * Gets the {@link FileConfiguration} that this {@link WorldManager} is using.
+     * Its {@code worlds} section holds the properties of every world. The properties of worlds that aren't loaded are
+     * dropped from it again when they're compacted, call this again to get them back.
      * @return The {@link FileConfiguration} that this {@link WorldManager} is using.
      */
     public FileConfiguration getConfigWorlds() {
+        this.fillWorldsSection();
         return this.configWorlds;
     }
 
@@ -1005,12 +1195,7 @@ public class WorldManager implements MVWorldManager {
 		if (getMVWorld(name) != null) {
 			return includeLoaded;
 		}
-		for (Map.Entry<String, WorldProperties> entry : this.worldsFromTheConfig.entrySet()) {
-			if (name.equals(entry.getKey()) || name.equals(entry.getValue().getAlias())) {
-				return true;
-			}
-		}
-		return false;
+		return this.registry.isConfigured(name);
 	}
 
     /**
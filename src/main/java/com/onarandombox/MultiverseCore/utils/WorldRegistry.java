@@ -0,0 +1,216 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.utils;
+
+import com.onarandombox.MultiverseCore.api.MultiverseWorld;
+import org.bukkit.World;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable snapshot of the worlds the {@link WorldManager} knows about.
+ * <p>
+ * The world manager builds a new one whenever a world is loaded, unloaded, added, removed or renamed, and replaces the
+ * old one in a single write. Any thread can read a snapshot without locking and sees the worlds as they were at one
+ * point in time.
+ */
+final class WorldRegistry {
+    static final WorldRegistry EMPTY = new WorldRegistry(Collections.<String, MultiverseWorld>emptyMap(),
+            Collections.<String, World>emptyMap(), Collections.<String, WorldConfigEntry>emptyMap(), null, null);
+
+    private final Map<String, MultiverseWorld> loaded;
+    private final Collection<MultiverseWorld> loadedWorlds;
+    // The loaded worlds by their bukkit world, which stays the same object while it's loaded.
+    private final Map<World, MultiverseWorld> bukkitWorlds;
+    // Lower case alias (or name if there is none) of each loaded world.
+    private final Map<String, MultiverseWorld> aliases;
+    // Names and aliases of every world in the config, loaded or not.
+    private final Set<String> configured;
+    private final List<String> unloaded;
+
+    /**
+     * @param worlds The loaded worlds.
+     * @param bukkitWorlds The bukkit world of each loaded world.
+     * @param config The worlds in the config.
+     * @param renamed A world whose alias is being changed, or null.
+     * @param newAlias The alias it is getting.
+     */
+    WorldRegistry(Map<String, MultiverseWorld> worlds, Map<String, World> bukkitWorlds,
+                  Map<String, WorldConfigEntry> config, MultiverseWorld renamed, String newAlias) {
+        this.loaded = Collections.unmodifiableMap(new LinkedHashMap<String, MultiverseWorld>(worlds));
+        this.loadedWorlds = this.loaded.values();
+
+        Map<World, MultiverseWorld> byBukkitWorld = new IdentityHashMap<World, MultiverseWorld>();
+        for (MultiverseWorld world : this.loaded.values()) {
+            World bukkitWorld = bukkitWorlds.get(world.getName());
+            if (bukkitWorld != null) {
+                byBukkitWorld.put(bukkitWorld, world);
+            }
+        }
+        this.bukkitWorlds = byBukkitWorld;
+
+        Map<String, MultiverseWorld> aliases = new HashMap<String, MultiverseWorld>();
+        for (MultiverseWorld world : this.loaded.values()) {
+            String alias = world == renamed ? newAlias : world.getAlias();
+            if (alias == null || alias.length() == 0) {
+                alias = world.getName();
+            }
+            // Like a search through all worlds, the first one with the alias wins.
+            String key = alias.toLowerCase(Locale.ENGLISH);
+            if (!aliases.containsKey(key)) {
+                aliases.put(key, world);
+            }
+        }
+        this.aliases = aliases;
+
+        Set<String> configured = new HashSet<String>();
+        List<String> unloaded = new ArrayList<String>();
+        for (Map.Entry<String, WorldConfigEntry> entry : config.entrySet()) {
+            configured.add(entry.getKey());
+            MultiverseWorld world = this.loaded.get(entry.getKey());
+            String alias = world != null && world == renamed ? newAlias : entry.getValue().getAlias();
+            if (alias != null) {
+                configured.add(alias);
+            }
+            if (world == null) {
+                unloaded.add(entry.getKey());
+            }
+        }
+        this.configured = configured;
+        this.unloaded = new NameList(unloaded);
+    }
+
+    private WorldRegistry(Map<String, MultiverseWorld> loaded, Map<World, MultiverseWorld> bukkitWorlds,
+                          Map<String, MultiverseWorld> aliases, Set<String> configured, List<String> unloaded) {
+        this.loaded = Collections.unmodifiableMap(loaded);
+        this.loadedWorlds = this.loaded.values();
+        this.bukkitWorlds = bukkitWorlds;
+        this.aliases = aliases;
+        this.configured = configured;
+        this.unloaded = new NameList(unloaded);
+    }
+
+    /**
+     * Builds the snapshot after one more world was loaded, without going through all worlds and the config again.
+     * <p>
+     * The config has to be the same as for this snapshot.
+     *
+     * @param world The world that was loaded.
+     * @param bukkitWorld The bukkit world it was loaded as.
+     * @return The new snapshot.
+     */
+    WorldRegistry withLoadedWorld(MultiverseWorld world, World bukkitWorld) {
+        Map<String, MultiverseWorld> loaded = new LinkedHashMap<String, MultiverseWorld>(this.loaded);
+        loaded.put(world.getName(), world);
+
+        Map<World, MultiverseWorld> byBukkitWorld = new IdentityHashMap<World, MultiverseWorld>(this.bukkitWorlds);
+        if (bukkitWorld != null) {
+            byBukkitWorld.put(bukkitWorld, world);
+        }
+
+        Map<String, MultiverseWorld> aliases = new HashMap<String, MultiverseWorld>(this.aliases);
+        String alias = world.getAlias();
+        if (alias == null || alias.length() == 0) {
+            alias = world.getName();
+        }
+        // It comes last, so the worlds that were loaded before keep their aliases.
+        String key = alias.toLowerCase(Locale.ENGLISH);
+        if (!aliases.containsKey(key)) {
+            aliases.put(key, world);
+        }
+
+        List<String> unloaded = new ArrayList<String>(this.unloaded);
+        unloaded.remove(world.getName());
+        return new WorldRegistry(loaded, byBukkitWorld, aliases, this.configured, unloaded);
+    }
+
+    /**
+     * @return The loaded worlds.
+     */
+    Collection<MultiverseWorld> getWorlds() {
+        return this.loadedWorlds;
+    }
+
+    /**
+     * @param name The name of a world.
+     * @return The loaded world with that name, or null.
+     */
+    MultiverseWorld getWorld(String name) {
+        return this.loaded.get(name);
+    }
+
+    /**
+     * @param world A bukkit world.
+     * @return The loaded world for it, or null if it isn't known by this bukkit world object.
+     */
+    MultiverseWorld getWorld(World world) {
+        return this.bukkitWorlds.get(world);
+    }
+
+    /**
+     * @param alias The alias of a world, or its name if it has no alias, in any case.
+     * @return The loaded world with that alias, or null.
+     */
+    MultiverseWorld getWorldByAlias(String alias) {
+        return this.aliases.get(alias.toLowerCase(Locale.ENGLISH));
+    }
+
+    /**
+     * @param name The exact name or alias of a world.
+     * @return True if a world in the config has that name or alias.
+     */
+    boolean isConfigured(String name) {
+        return this.configured.contains(name);
+    }
+
+    /**
+     * @return The names of the worlds in the config that aren't loaded.
+     */
+    List<String> getUnloadedWorlds() {
+        return this.unloaded;
+    }
+
+    /**
+     * An unmodifiable list of names with a constant time {@link #contains(Object)}.
+     */
+    private static final class NameList extends AbstractList<String> {
+        private final String[] names;
+        private final Set<String> set;
+
+        private NameList(List<String> names) {
+            this.names = names.toArray(new String[names.size()]);
+            this.set = new HashSet<String>(names);
+        }
+
+        @Override
+        public String get(int index) {
+            return this.names[index];
+        }
+
+        @Override
+        public int size() {
+            return this.names.length;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return this.set.contains(o);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.onarandombox.MultiverseCore.utils.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the calls of one hot path and how long they took.
+ *
+ * <p>All counters are striped, so threads recording at the same time don't contend. Latencies go into power-of-two
+ * microsecond buckets, percentiles are read from those.</p>
+ */
+public final class LatencyProbe {
+
+    /**
+     * Returned by {@link #start()} when the monitor is disabled.
+     */
+    public static final long NOT_TIMED = Long.MIN_VALUE;
+
+    // Bucket i holds latencies below 2^i microseconds, the last one everything above.
+    private static final int BUCKETS = 24;
+
+    private final String name;
+    private final PerformanceMonitor monitor;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+    LatencyProbe(String name, PerformanceMonitor monitor) {
+        this.name = name;
+        this.monitor = monitor;
+        for (int i = 0; i < BUCKETS; i++) {
+            this.buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Starts timing a call.
+     *
+     * @return The start time to hand to {@link #stop(long)}, or {@link #NOT_TIMED} if the monitor is disabled.
+     */
+    public long start() {
+        return this.monitor.isEnabled() ? System.nanoTime() : NOT_TIMED;
+    }
+
+    /**
+     * Stops timing a call.
+     *
+     * @param start The value {@link #start()} returned.
+     */
+    public void stop(long start) {
+        if (start != NOT_TIMED) {
+            this.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records a call that took the given time.
+     *
+     * @param nanos The time the call took, in nanoseconds.
+     */
+    public void record(long nanos) {
+        this.count.increment();
+        this.totalNanos.add(nanos);
+        this.maxNanos.accumulate(nanos);
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        int bucket = 64 - Long.numberOfLeadingZeros(micros); // SUPPRESS CHECKSTYLE: MagicNumberCheck
+        this.buckets[Math.min(bucket, BUCKETS - 1)].increment();
+    }
+
+    /**
+     * Forgets everything recorded so far.
+     */
+    public void reset() {
+        this.count.reset();
+        this.totalNanos.reset();
+        this.maxNanos.reset();
+        for (LongAdder bucket : this.buckets) {
+            bucket.reset();
+        }
+    }
+
+    /**
+     * @return The name of the hot path.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * @return The number of recorded calls.
+     */
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * @return The total time of all recorded calls, in nanoseconds.
+     */
+    public long getTotalNanos() {
+        return this.totalNanos.sum();
+    }
+
+    /**
+     * @return The longest recorded call, in nanoseconds.
+     */
+    public long getMaxNanos() {
+        return this.maxNanos.get();
+    }
+
+    /**
+     * Gets an upper bound of a latency percentile.
+     *
+     * @param percentile The percentile, from 0 to 1.
+     * @return The latency in microseconds that at least the given share of calls stayed below.
+     */
+    public long getPercentileMicros(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = this.buckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS - 1; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return 1L << i;
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMicros(this.getMaxNanos());
+    }
+}
@@ -0,0 +1,131 @@
+package com.onarandombox.MultiverseCore.utils.metrics;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records call counts and latencies of Multiverse's hot paths, see {@link LatencyProbe}.
+ *
+ * <p>While disabled, probes only read a flag, and the timed listeners are registered with Bukkit as usual.
+ * Enabling the monitor re-registers them through {@link TimedEventExecutor}s.</p>
+ */
+public class PerformanceMonitor {
+
+    private final Plugin plugin;
+    private final Map<String, LatencyProbe> probes = new ConcurrentHashMap<>();
+    private final Set<Listener> timedListeners = new LinkedHashSet<>();
+    private volatile boolean enabled;
+
+    public PerformanceMonitor(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Gets the probe for a hot path, creating it if needed.
+     *
+     * @param name The name of the hot path.
+     * @return The probe.
+     */
+    public LatencyProbe probe(String name) {
+        return this.probes.computeIfAbsent(name, k -> new LatencyProbe(k, this));
+    }
+
+    /**
+     * Registers a listener whose event handlers are timed while the monitor is enabled.
+     *
+     * @param listener The listener.
+     */
+    public void registerTimedListener(Listener listener) {
+        this.timedListeners.add(listener);
+        this.register(listener);
+    }
+
+    /**
+     * Unregisters a listener that was registered with {@link #registerTimedListener(Listener)}.
+     *
+     * @param listener The listener.
+     */
+    public void unregisterTimedListener(Listener listener) {
+        if (this.timedListeners.remove(listener)) {
+            HandlerList.unregisterAll(listener);
+        }
+    }
+
+    /**
+     * @return True if calls are being recorded.
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Starts or stops recording calls.
+     *
+     * @param enabled True to record calls.
+     */
+    public void setEnabled(boolean enabled) {
+        if (this.enabled == enabled) {
+            return;
+        }
+        this.enabled = enabled;
+        for (Listener listener : this.timedListeners) {
+            HandlerList.unregisterAll(listener);
+            this.register(listener);
+        }
+    }
+
+    /**
+     * Forgets everything recorded so far.
+     */
+    public void reset() {
+        for (LatencyProbe probe : this.probes.values()) {
+            probe.reset();
+        }
+    }
+
+    /**
+     * @return The probes that recorded any calls, by total time spent, most first.
+     */
+    public List<LatencyProbe> getActiveProbes() {
+        List<LatencyProbe> active = new ArrayList<>();
+        for (LatencyProbe probe : this.probes.values()) {
+            if (probe.getCount() > 0) {
+                active.add(probe);
+            }
+        }
+        active.sort(Comparator.comparingLong(LatencyProbe::getTotalNanos).reversed());
+        return active;
+    }
+
+    private void register(Listener listener) {
+        PluginManager pm = this.plugin.getServer().getPluginManager();
+        if (!this.enabled) {
+            pm.registerEvents(listener, this.plugin);
+            return;
+        }
+        for (Method method : listener.getClass().getMethods()) {
+            EventHandler handler = method.getAnnotation(EventHandler.class);
+            if (handler == null || method.isBridge() || method.isSynthetic() || method.getParameterCount() != 1
+                    || !Event.class.isAssignableFrom(method.getParameterTypes()[0])) {
+                continue;
+            }
+            Class<? extends Event> eventClass = method.getParameterTypes()[0].asSubclass(Event.class);
+            LatencyProbe probe = this.probe("event." + listener.getClass().getSimpleName() + "." + method.getName());
+            pm.registerEvent(eventClass, listener, handler.priority(),
+                    new TimedEventExecutor(method, eventClass, probe), this.plugin, handler.ignoreCancelled());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.onarandombox.MultiverseCore.utils.metrics;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Calls an event handler like Bukkit does, and records how long it took.
+ */
+class TimedEventExecutor implements EventExecutor {
+
+    private final Method method;
+    private final Class<? extends Event> eventClass;
+    private final LatencyProbe probe;
+
+    TimedEventExecutor(Method method, Class<? extends Event> eventClass, LatencyProbe probe) {
+        this.method = method;
+        this.eventClass = eventClass;
+        this.probe = probe;
+        this.method.setAccessible(true);
+    }
+
+    @Override
+    public void execute(Listener listener, Event event) throws EventException {
+        // Handlers are also called with events of other types sharing the handler list.
+        if (!this.eventClass.isAssignableFrom(event.getClass())) {
+            return;
+        }
+        long start = this.probe.start();
+        try {
+            this.method.invoke(listener, event);
+        } catch (InvocationTargetException e) {
+            throw new EventException(e.getCause());
+        } catch (Throwable t) {
+            throw new EventException(t);
+        } finally {
+            this.probe.stop(start);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2012.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore;
+
+import com.onarandombox.MultiverseCore.api.BlockSafety;
+import com.onarandombox.MultiverseCore.destination.BedDestination;
+import com.onarandombox.MultiverseCore.utils.BedSpawnCache;
+import com.onarandombox.MultiverseCore.utils.MockWorldFactory;
+import com.onarandombox.MultiverseCore.utils.TestInstanceCreator;
+import com.onarandombox.MultiverseCore.utils.VirtualScheduler;
+import org.bukkit.Location;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.World;
+import org.bukkit.WorldType;
+import org.bukkit.entity.Player;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TestBedSpawnCache {
+    private TestInstanceCreator creator;
+    private VirtualScheduler scheduler;
+    private BedSpawnCache cache;
+    private BlockSafety safety;
+    private Location bed;
+    private Location safeSpot;
+
+    @Before
+    public void setUp() throws Exception {
+        creator = new TestInstanceCreator(true);
+        assertTrue(creator.setUp());
+        scheduler = creator.getVirtualScheduler();
+        World world = MockWorldFactory.makeNewMockWorld("beds", World.Environment.NORMAL, WorldType.NORMAL);
+        bed = new Location(world, 10, 64, 10);
+        safeSpot = new Location(world, 11, 64, 10);
+        safety = mock(BlockSafety.class);
+        when(safety.getSafeBedSpawn(bed)).thenReturn(safeSpot);
+        when(safety.playerCanSpawnHereSafely(any(Location.class))).thenReturn(true);
+        creator.getCore().setBlockSafety(safety);
+        cache = new BedSpawnCache(creator.getCore());
+        scheduler.runUntilIdle(100);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        creator.tearDown();
+    }
+
+    private OfflinePlayer makeOfflinePlayer(String name) {
+        OfflinePlayer player = mock(OfflinePlayer.class);
+        when(player.getName()).thenReturn(name);
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(player.getBedSpawnLocation()).thenReturn(bed);
+        when(creator.getServer().getOfflinePlayer(name)).thenReturn(player);
+        return player;
+    }
+
+    @Test
+    public void testMissIsLoadedAsynchronously() {
+        makeOfflinePlayer("Sleeper");
+
+        assertNull(cache.getSafeBedSpawn("Sleeper"));
+        assertTrue(cache.isLoading("sleeper"));
+        // Asking again while it's loading doesn't look the player up twice.
+        assertNull(cache.getSafeBedSpawn("Sleeper"));
+        verify(creator.getServer(), never()).getOfflinePlayer(anyString());
+
+        // The player is looked up off the main thread, the bed is remembered on the next tick.
+        scheduler.advance(1);
+        verify(creator.getServer(), times(1)).getOfflinePlayer("Sleeper");
+        assertTrue(cache.isLoading("Sleeper"));
+        scheduler.advance(1);
+        assertFalse(cache.isLoading("Sleeper"));
+
+        assertEquals(safeSpot, cache.getSafeBedSpawn("SLEEPER"));
+        assertEquals(0, scheduler.getPendingTaskCount());
+        verify(creator.getServer(), times(1)).getOfflinePlayer(anyString());
+    }
+
+    @Test
+    public void testSafeSpotIsSearchedAgainOnlyWhenBlocked() {
+        Player player = mock(Player.class);
+        when(player.getName()).thenReturn("Sleeper");
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(player.getBedSpawnLocation()).thenReturn(bed);
+        cache.update(player);
+
+        assertEquals(safeSpot, cache.getSafeBedSpawn("Sleeper"));
+        assertEquals(safeSpot, cache.getSafeBedSpawn("Sleeper"));
+        verify(safety, times(1)).getSafeBedSpawn(bed);
+
+        // Something was built next to the bed.
+        when(safety.playerCanSpawnHereSafely(any(Location.class))).thenReturn(false);
+        assertEquals(safeSpot, cache.getSafeBedSpawn("Sleeper"));
+        verify(safety, times(2)).getSafeBedSpawn(bed);
+        assertEquals(0, scheduler.getPendingTaskCount());
+    }
+
+    @Test
+    public void testSafeSpotIsACopy() {
+        makeOfflinePlayer("Sleeper");
+        cache.getSafeBedSpawn("Sleeper");
+        scheduler.advance(2);
+
+        cache.getSafeBedSpawn("Sleeper").add(0, 10, 0);
+        assertEquals(safeSpot, cache.getSafeBedSpawn("Sleeper"));
+        assertEquals(64, safeSpot.getBlockY());
+    }
+
+    @Test
+    public void testPlayerWithoutBed() {
+        OfflinePlayer player = makeOfflinePlayer("Awake");
+        when(player.getBedSpawnLocation()).thenReturn(null);
+        assertNull(cache.getSafeBedSpawn("Awake"));
+        scheduler.advance(2);
+
+        assertNull(cache.getSafeBedSpawn("Awake"));
+        assertFalse(cache.isLoading("Awake"));
+        verify(creator.getServer(), times(1)).getOfflinePlayer("Awake");
+    }
+
+    @Test
+    public void testOnlinePlayersAreNotLoaded() {
+        Player player = mock(Player.class);
+        when(player.getBedSpawnLocation()).thenReturn(bed);
+        when(creator.getServer().getPlayerExact("Sleeper")).thenReturn(player);
+
+        assertEquals(safeSpot, cache.getSafeBedSpawn("Sleeper"));
+        assertFalse(cache.isLoading("Sleeper"));
+        assertEquals(0, scheduler.getPendingTaskCount());
+    }
+
+    @Test
+    public void testParsingDoesNotLookPlayersUp() {
+        BedDestination destination = new BedDestination();
+        assertTrue(destination.isThisType(creator.getCore(), "b:Sleeper"));
+        assertTrue(destination.isThisType(creator.getCore(), "b:" + BedDestination.OWN_BED_STRING));
+        assertFalse(destination.isThisType(creator.getCore(), "b:"));
+        verify(creator.getServer(), never()).getOfflinePlayer(anyString());
+        verify(creator.getServer(), never()).getOfflinePlayer(any(UUID.class));
+    }
+}
@@ -0,0 +1,98 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2012.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore;
+
+import com.onarandombox.MultiverseCore.utils.ChunkPregenerator;
+import com.onarandombox.MultiverseCore.utils.MockWorldFactory;
+import com.onarandombox.MultiverseCore.utils.TestInstanceCreator;
+import com.onarandombox.MultiverseCore.utils.VirtualScheduler;
+import org.bukkit.World;
+import org.bukkit.WorldType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TestChunkPregenerator {
+    private TestInstanceCreator creator;
+    private VirtualScheduler scheduler;
+    private ChunkPregenerator pregenerator;
+    private World world;
+
+    @Before
+    public void setUp() throws Exception {
+        creator = new TestInstanceCreator(true);
+        assertTrue(creator.setUp());
+        scheduler = creator.getVirtualScheduler();
+        pregenerator = creator.getCore().getChunkPregenerator();
+        world = MockWorldFactory.makeNewMockWorld("pregen", World.Environment.NORMAL, WorldType.NORMAL);
+        scheduler.runUntilIdle(100);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        creator.tearDown();
+    }
+
+    @Test
+    public void testGeneratesEveryChunkInTheRadiusOnce() {
+        // Already generated chunks are skipped.
+        when(world.isChunkGenerated(0, 0)).thenReturn(true);
+
+        // 32 blocks are 2 chunks around the spawn chunk, 5 by 5 chunks.
+        ChunkPregenerator.Job job = pregenerator.start(world, 32);
+        assertEquals(25, job.getTotalChunks());
+        scheduler.runUntilIdle(1000);
+
+        assertTrue(job.isDone());
+        assertNull(pregenerator.getJob("pregen"));
+        verify(world, never()).loadChunk(0, 0, true);
+        for (int x = -2; x <= 2; x++) {
+            for (int z = -2; z <= 2; z++) {
+                if (x != 0 || z != 0) {
+                    verify(world, times(1)).loadChunk(x, z, true);
+                    verify(world, times(1)).unloadChunkRequest(x, z);
+                }
+            }
+        }
+        verify(world, never()).loadChunk(anyInt(), 3, true);
+    }
+
+    @Test
+    public void testDropsJobsOfRemovedWorlds() {
+        pregenerator.start(world, 32);
+        // The world is neither loaded nor in the config anymore.
+        MockWorldFactory.clearWorlds();
+        scheduler.runUntilIdle(1000);
+
+        assertNull(pregenerator.getJob("pregen"));
+        verify(world, never()).loadChunk(anyInt(), anyInt(), anyBoolean());
+    }
+
+    @Test
+    public void testProgressSurvivesARestart() {
+        pregenerator.start(world, 32);
+        pregenerator.shutdown();
+
+        ChunkPregenerator restarted = new ChunkPregenerator(creator.getCore());
+        restarted.loadProgress();
+        ChunkPregenerator.Job job = restarted.getJob("pregen");
+        assertEquals(25, job.getTotalChunks());
+        scheduler.runUntilIdle(1000);
+        assertTrue(job.isDone());
+    }
+}
@@ -0,0 +1,82 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2012.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore;
+
+import com.onarandombox.MultiverseCore.commandtools.queue.CommandQueueManager;
+import com.onarandombox.MultiverseCore.commandtools.queue.QueuedCommand;
+import com.onarandombox.MultiverseCore.utils.TestInstanceCreator;
+import com.onarandombox.MultiverseCore.utils.VirtualScheduler;
+import org.bukkit.command.CommandSender;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class TestCommandQueue {
+    private static final String EXPIRED_MESSAGE = "Your queued command has expired.";
+
+    private TestInstanceCreator creator;
+    private VirtualScheduler scheduler;
+    private CommandQueueManager queueManager;
+    private CommandSender sender;
+
+    @Before
+    public void setUp() throws Exception {
+        creator = new TestInstanceCreator(true);
+        assertTrue(creator.setUp());
+        scheduler = creator.getVirtualScheduler();
+        queueManager = creator.getCore().getCommandQueueManager();
+        sender = creator.getCommandSender();
+        scheduler.runUntilIdle(100);
+        scheduler.resetStats();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        creator.tearDown();
+    }
+
+    @Test
+    public void testQueuedCommandExpiresAfterValidDuration() {
+        AtomicBoolean ran = new AtomicBoolean();
+        queueManager.addToQueue(new QueuedCommand(sender, () -> ran.set(true), 2));
+
+        // 2 seconds are 40 ticks.
+        scheduler.advance(39);
+        verify(sender, never()).sendMessage(EXPIRED_MESSAGE);
+
+        scheduler.advance(1);
+        verify(sender, times(1)).sendMessage(EXPIRED_MESSAGE);
+        assertFalse(queueManager.runQueuedCommand(sender));
+        assertFalse(ran.get());
+        scheduler.assertTasksPerTickAtMost(1);
+    }
+
+    @Test
+    public void testConfirmingCancelsExpiry() {
+        AtomicBoolean ran = new AtomicBoolean();
+        queueManager.addToQueue(new QueuedCommand(sender, () -> ran.set(true), 2));
+        assertEquals(1, scheduler.getPendingTaskCount());
+
+        scheduler.advance(20);
+        assertTrue(queueManager.runQueuedCommand(sender));
+        assertTrue(ran.get());
+        assertEquals(0, scheduler.getPendingTaskCount());
+
+        scheduler.advance(40);
+        verify(sender, never()).sendMessage(EXPIRED_MESSAGE);
+    }
+}
@@ -0,0 +1,131 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2012.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore;
+
+import com.onarandombox.MultiverseCore.utils.AnchorManager;
+import com.onarandombox.MultiverseCore.utils.ConfigFileWatcher;
+import com.onarandombox.MultiverseCore.utils.MockWorldFactory;
+import com.onarandombox.MultiverseCore.utils.TestInstanceCreator;
+import com.onarandombox.MultiverseCore.utils.VirtualScheduler;
+import org.bukkit.World;
+import org.bukkit.WorldType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The watcher runs on its own thread and waits for files to be quiet in real time, only the reload itself goes
+ * through the {@link VirtualScheduler}.
+ */
+public class TestConfigFileWatcher {
+    // Well over the watcher's debounce, for file systems that report changes late.
+    private static final long TIMEOUT_MILLIS = 5000L;
+    private static final long QUIET_MILLIS = 1500L;
+
+    private TestInstanceCreator creator;
+    private VirtualScheduler scheduler;
+    private ConfigFileWatcher watcher;
+    private AnchorManager anchorManager;
+    private File anchorFile;
+
+    @Before
+    public void setUp() throws Exception {
+        creator = new TestInstanceCreator(true);
+        assertTrue(creator.setUp());
+        scheduler = creator.getVirtualScheduler();
+        MockWorldFactory.makeNewMockWorld("world", World.Environment.NORMAL, WorldType.NORMAL);
+        anchorManager = creator.getCore().getAnchorManager();
+        anchorFile = new File(creator.getCore().getDataFolder(), "anchors.yml");
+        writeAnchors("first");
+        anchorManager.loadAnchors();
+        watcher = creator.getCore().getConfigWatcher();
+        watcher.setEnabled(true);
+        scheduler.runUntilIdle(100);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        watcher.setEnabled(false);
+        creator.tearDown();
+    }
+
+    private void writeAnchors(String... names) throws IOException {
+        StringBuilder contents = new StringBuilder("anchors:\n");
+        for (String name : names) {
+            contents.append("  ").append(name).append(": world:1.00,64.00,1.00:0.00:0.00\n");
+        }
+        Files.write(anchorFile.toPath(), contents.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private boolean awaitPendingTasks(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (scheduler.getPendingTaskCount() < count) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(20L);
+        }
+        return true;
+    }
+
+    @Test
+    public void testQuickEditsCauseOneReload() throws Exception {
+        int pending = scheduler.getPendingTaskCount();
+        writeAnchors("first", "second");
+        Thread.sleep(100L);
+        writeAnchors("first", "second", "third");
+        assertTrue(awaitPendingTasks(pending + 1));
+        Thread.sleep(QUIET_MILLIS);
+        assertEquals(pending + 1, scheduler.getPendingTaskCount());
+
+        // The file was parsed on the watcher's thread, the anchors only change on the main thread.
+        assertNull(anchorManager.getAnchorLocation("third"));
+        scheduler.advance(1);
+        assertNotNull(anchorManager.getAnchorLocation("second"));
+        assertNotNull(anchorManager.getAnchorLocation("third"));
+    }
+
+    @Test
+    public void testOwnWritesAreIgnored() throws Exception {
+        int pending = scheduler.getPendingTaskCount();
+        writeAnchors("first", "second");
+        watcher.rememberContents(anchorFile);
+        Thread.sleep(QUIET_MILLIS);
+        assertEquals(pending, scheduler.getPendingTaskCount());
+        assertNull(anchorManager.getAnchorLocation("second"));
+
+        // Saving through Multiverse remembers what it wrote the same way.
+        assertTrue(anchorManager.saveAnchorLocation("saved", anchorManager.getAnchorLocation("first")));
+        assertTrue(anchorManager.saveAnchors());
+        pending = scheduler.getPendingTaskCount();
+        Thread.sleep(QUIET_MILLIS);
+        assertEquals(pending, scheduler.getPendingTaskCount());
+    }
+
+    @Test
+    public void testNothingIsAppliedAfterStopping() throws Exception {
+        int pending = scheduler.getPendingTaskCount();
+        writeAnchors("first", "second");
+        assertTrue(awaitPendingTasks(pending + 1));
+        watcher.setEnabled(false);
+        assertFalse(watcher.isEnabled());
+        scheduler.advance(1);
+        assertNull(anchorManager.getAnchorLocation("second"));
+    }
+}
@@ -0,0 +1,121 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2012.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore;
+
+import com.onarandombox.MultiverseCore.api.MVDestination;
+import com.onarandombox.MultiverseCore.destination.DestinationFactory;
+import com.onarandombox.MultiverseCore.destination.InvalidDestination;
+import com.onarandombox.MultiverseCore.utils.MockWorldFactory;
+import com.onarandombox.MultiverseCore.utils.TestInstanceCreator;
+import org.bukkit.Location;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.World;
+import org.bukkit.command.Command;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TestDestinationFactory {
+    private TestInstanceCreator creator;
+    private MultiverseCore core;
+    private DestinationFactory factory;
+
+    @Before
+    public void setUp() throws Exception {
+        creator = new TestInstanceCreator();
+        assertTrue(creator.setUp());
+        core = creator.getCore();
+        factory = core.getDestFactory();
+
+        Command mockCommand = mock(Command.class);
+        when(mockCommand.getName()).thenReturn("mv");
+        core.onCommand(creator.getCommandSender(), mockCommand, "", new String[]{ "import", "world", "normal" });
+        assertTrue(core.getMVWorldManager().isMVWorld("world"));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        creator.tearDown();
+    }
+
+    @Test
+    public void testCachesDestinations() {
+        assertSame(factory.getDestination("world"), factory.getDestination("world"));
+        assertSame(factory.getDestination("a:~"), factory.getDestination("a:~"));
+    }
+
+    @Test
+    public void testParsesTypesThatCanBeMovedEveryTime() {
+        // Someone could move them with setDestination(Location).
+        assertNotSame(factory.getDestination("e:world:1,2,3"), factory.getDestination("e:world:1,2,3"));
+        assertNotSame(factory.getDestination("ca:world:1,2,3:0:0:2"), factory.getDestination("ca:world:1,2,3:0:0:2"));
+    }
+
+    @Test
+    public void testSharedDestinationsHandOutCopies() {
+        World world = MockWorldFactory.getWorld("world");
+        assertTrue(core.getAnchorManager().saveAnchorLocation("home", new Location(world, 1, 64, 1)));
+        factory.getDestination("a:home").getLocation(null).setX(100);
+        assertEquals(1, factory.getDestination("a:home").getLocation(null).getBlockX());
+    }
+
+    @Test
+    public void testParsesTypesThatDependOnTheTeleporteeEveryTime() {
+        OfflinePlayer offlinePlayer = mock(OfflinePlayer.class);
+        when(offlinePlayer.getName()).thenReturn("someone");
+        when(creator.getServer().getOfflinePlayer(anyString())).thenReturn(offlinePlayer);
+
+        for (String destination : new String[]{ "pl:someone", "b:someone", "r:world" }) {
+            MVDestination first = factory.getDestination(destination);
+            assertTrue(destination, first.isValid());
+            assertNotSame(destination, first, factory.getDestination(destination));
+        }
+    }
+
+    @Test
+    public void testInvalidateCache() {
+        MVDestination destination = factory.getDestination("world");
+        factory.invalidateCache();
+        assertNotSame(destination, factory.getDestination("world"));
+    }
+
+    @Test
+    public void testWorldChangesDropCachedDestinations() {
+        MVDestination loaded = factory.getDestination("world");
+        assertTrue(loaded.isValid());
+
+        assertTrue(core.getMVWorldManager().unloadWorld("world"));
+        assertTrue(factory.getDestination("world") instanceof InvalidDestination);
+
+        assertTrue(core.getMVWorldManager().loadWorld("world"));
+        MVDestination reloaded = factory.getDestination("world");
+        assertTrue(reloaded.isValid());
+        assertNotSame(loaded, reloaded);
+    }
+
+    @Test
+    public void testAnchorChangesDropCachedDestinations() {
+        World world = MockWorldFactory.getWorld("world");
+        assertTrue(core.getAnchorManager().saveAnchorLocation("home", new Location(world, 1, 64, 1)));
+        assertEquals(1, factory.getDestination("a:home").getLocation(null).getBlockX());
+
+        assertTrue(core.getAnchorManager().saveAnchorLocation("home", new Location(world, 5, 64, 5)));
+        assertEquals(5, factory.getDestination("a:home").getLocation(null).getBlockX());
+
+        assertTrue(core.getAnchorManager().deleteAnchor("home"));
+        assertTrue(factory.getDestination("a:home") instanceof InvalidDestination);
+    }
+}
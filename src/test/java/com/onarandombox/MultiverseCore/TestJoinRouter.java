@@ -0,0 +1,187 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2012.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore;
+
+import com.onarandombox.MultiverseCore.api.BlockSafety;
+import com.onarandombox.MultiverseCore.api.MVWorldManager;
+import com.onarandombox.MultiverseCore.api.MultiverseWorld;
+import com.onarandombox.MultiverseCore.api.SafeTTeleporter;
+import com.onarandombox.MultiverseCore.utils.JoinRouter;
+import com.onarandombox.MultiverseCore.utils.MockWorldFactory;
+import com.onarandombox.MultiverseCore.utils.TestInstanceCreator;
+import com.onarandombox.MultiverseCore.utils.VirtualScheduler;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.WorldType;
+import org.bukkit.entity.Player;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TestJoinRouter {
+    private TestInstanceCreator creator;
+    private VirtualScheduler scheduler;
+    private JoinRouter router;
+    private MultiverseWorld spawnWorld;
+    private BlockSafety safety;
+    private SafeTTeleporter teleporter;
+    private Location spawn;
+    private Location safeSpawn;
+
+    @Before
+    public void setUp() throws Exception {
+        creator = new TestInstanceCreator(true);
+        assertTrue(creator.setUp());
+        scheduler = creator.getVirtualScheduler();
+        World world = MockWorldFactory.makeNewMockWorld("spawn", World.Environment.NORMAL, WorldType.NORMAL);
+        spawn = new Location(world, 0, 64, 0);
+        safeSpawn = new Location(world, 0, 70, 0);
+
+        spawnWorld = mock(MultiverseWorld.class);
+        when(spawnWorld.getName()).thenReturn("spawn");
+        when(spawnWorld.getSpawnLocation()).thenReturn(spawn);
+        MVWorldManager worldManager = mock(MVWorldManager.class);
+        when(worldManager.getFirstSpawnWorld()).thenReturn(spawnWorld);
+        doReturn(worldManager).when(creator.getCore()).getMVWorldManager();
+
+        // The spawn itself is blocked, the spot above it is safe.
+        safety = mock(BlockSafety.class);
+        when(safety.playerCanSpawnHereSafely(spawn)).thenReturn(false);
+        when(safety.playerCanSpawnHereSafely(safeSpawn)).thenReturn(true);
+        creator.getCore().setBlockSafety(safety);
+        teleporter = mock(SafeTTeleporter.class);
+        when(teleporter.getSafeLocation(spawn)).thenReturn(safeSpawn);
+        creator.getCore().setSafeTTeleporter(teleporter);
+
+        router = new JoinRouter(creator.getCore());
+        scheduler.runUntilIdle(100);
+        scheduler.resetStats();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        // The plugin unloads its real worlds when it's disabled.
+        doCallRealMethod().when(creator.getCore()).getMVWorldManager();
+        creator.tearDown();
+    }
+
+    private Player makePlayer() {
+        Player player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(player.getName()).thenReturn("joiner");
+        when(player.isOnline()).thenReturn(true);
+        return player;
+    }
+
+    private int countTeleported(List<Player> players) {
+        int count = 0;
+        for (Player player : players) {
+            if (mockingDetails(player).getInvocations().stream()
+                    .anyMatch(invocation -> invocation.getMethod().getName().equals("teleport"))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void testAtMostTwentyPlayersPerTick() {
+        List<Player> players = new ArrayList<Player>();
+        for (int i = 0; i < 50; i++) {
+            Player player = makePlayer();
+            players.add(player);
+            router.sendToFirstSpawn(player);
+        }
+        // One task for all of them, nobody moves in the tick they joined.
+        assertEquals(1, scheduler.getPendingTaskCount());
+        assertEquals(0, countTeleported(players));
+
+        scheduler.advance(1);
+        assertEquals(20, countTeleported(players));
+        scheduler.advance(1);
+        assertEquals(40, countTeleported(players));
+        scheduler.advance(1);
+        assertEquals(50, countTeleported(players));
+
+        // The task stops once everybody was sent, and only ever ran once per tick.
+        assertEquals(0, scheduler.getPendingTaskCount());
+        scheduler.assertTasksPerTickAtMost(1);
+        for (Player player : players) {
+            verify(player, times(1)).teleport(safeSpawn);
+        }
+    }
+
+    @Test
+    public void testPlayersAreSentOnce() {
+        Player player = makePlayer();
+        Player gone = makePlayer();
+        router.sendToFirstSpawn(player);
+        router.sendToFirstSpawn(player);
+        router.sendToFirstSpawn(gone);
+        when(gone.isOnline()).thenReturn(false);
+        scheduler.advance(1);
+
+        verify(player, times(1)).teleport(safeSpawn);
+        verify(gone, never()).teleport(any(Location.class));
+        assertEquals(0, scheduler.getPendingTaskCount());
+    }
+
+    @Test
+    public void testSafeSpawnIsSearchedAgainOnlyWhenTheSpawnChanges() {
+        for (int i = 0; i < 3; i++) {
+            router.sendToFirstSpawn(makePlayer());
+            scheduler.advance(1);
+        }
+        verify(teleporter, times(1)).getSafeLocation(spawn);
+
+        // The spawn moved.
+        Location newSpawn = new Location(spawn.getWorld(), 100, 64, 100);
+        when(spawnWorld.getSpawnLocation()).thenReturn(newSpawn);
+        when(safety.playerCanSpawnHereSafely(newSpawn)).thenReturn(true);
+        Player player = makePlayer();
+        router.sendToFirstSpawn(player);
+        scheduler.advance(1);
+        verify(player).teleport(newSpawn);
+        verify(teleporter, times(1)).getSafeLocation(spawn);
+
+        // Later players only check that the spot is still safe.
+        router.sendToFirstSpawn(makePlayer());
+        scheduler.advance(1);
+        verify(safety, times(2)).playerCanSpawnHereSafely(newSpawn);
+        verify(teleporter, never()).getSafeLocation(newSpawn);
+    }
+
+    @Test
+    public void testSafeSpawnIsSearchedAgainWhenItIsBlocked() {
+        router.sendToFirstSpawn(makePlayer());
+        scheduler.advance(1);
+        verify(teleporter, times(1)).getSafeLocation(spawn);
+
+        // Something was built where the joining players appear.
+        when(safety.playerCanSpawnHereSafely(safeSpawn)).thenReturn(false);
+        router.sendToFirstSpawn(makePlayer());
+        scheduler.advance(1);
+        verify(teleporter, times(2)).getSafeLocation(spawn);
+    }
+}
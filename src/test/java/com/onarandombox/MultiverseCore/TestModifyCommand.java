@@ -10,6 +10,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
@@ -52,4 +53,59 @@ public class TestModifyCommand {
                 new String[] { "modify", "set", "hidden", "true", "world" }));
         assertTrue(world.isHidden()); // test if it worked
     }
+
+    @Test
+    public void testSetManyPropertiesOnManyWorlds() {
+        Command cmd = mock(Command.class);
+        when(cmd.getName()).thenReturn("mv");
+        assertTrue(core.getMVWorldManager().addWorld("other", Environment.NORMAL, null, null, null, null));
+
+        MultiverseWorld world = core.getMVWorldManager().getMVWorld("world");
+        MultiverseWorld other = core.getMVWorldManager().getMVWorld("other");
+        assertTrue(core.onCommand(mockCommandSender, cmd, "",
+                new String[] { "modify", "set", "hidden=true", "heal=false", "world,other" }));
+        assertTrue(world.isHidden());
+        assertFalse(world.getAutoHeal());
+        assertTrue(other.isHidden());
+        assertFalse(other.getAutoHeal());
+    }
+
+    @Test
+    public void testRefusedValueRevertsTheOthers() {
+        Command cmd = mock(Command.class);
+        when(cmd.getName()).thenReturn("mv");
+
+        MultiverseWorld world = core.getMVWorldManager().getMVWorld("world");
+        double scale = world.getScaling();
+        assertTrue(core.onCommand(mockCommandSender, cmd, "",
+                new String[] { "modify", "set", "hidden=true", "scale=-1", "world" }));
+        assertFalse(world.isHidden()); // reverted because the scale was refused
+        assertEquals(scale, world.getScaling(), 0.0);
+    }
+
+    @Test
+    public void testMissingPropertyName() {
+        Command cmd = mock(Command.class);
+        when(cmd.getName()).thenReturn("mv");
+
+        MultiverseWorld world = core.getMVWorldManager().getMVWorld("world");
+        assertTrue(core.onCommand(mockCommandSender, cmd, "", new String[] { "modify", "set", "=true" }));
+        assertTrue(core.onCommand(mockCommandSender, cmd, "",
+                new String[] { "modify", "set", "hidden=true", "=true", "world" }));
+        assertFalse(world.isHidden());
+    }
+
+    @Test
+    public void testGetPlainPropertyValues() throws Exception {
+        MultiverseWorld world = core.getMVWorldManager().getMVWorld("world");
+        world.setAutoHeal(false);
+        world.setPlayerLimit(5);
+
+        assertEquals("false", world.getPropertyValue("autoHeal"));
+        assertEquals("false", world.getPropertyValue("heal")); // alias
+        assertEquals("5", world.getPropertyValue("limit"));
+        assertEquals(String.valueOf(world.getScaling()), world.getPropertyValue("scale"));
+        assertEquals(String.valueOf(world.getSeed()), world.getPropertyValue("seed"));
+        assertEquals(world.getPropertyValue("animals"), String.valueOf(world.canAnimalsSpawn())); // nested
+    }
 }
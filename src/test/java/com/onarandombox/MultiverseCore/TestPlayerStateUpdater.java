@@ -0,0 +1,116 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2012.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore;
+
+import com.onarandombox.MultiverseCore.api.MultiverseWorld;
+import com.onarandombox.MultiverseCore.utils.MockWorldFactory;
+import com.onarandombox.MultiverseCore.utils.PlayerStateUpdater;
+import com.onarandombox.MultiverseCore.utils.TestInstanceCreator;
+import com.onarandombox.MultiverseCore.utils.VirtualScheduler;
+import org.bukkit.GameMode;
+import org.bukkit.World;
+import org.bukkit.WorldType;
+import org.bukkit.entity.Player;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TestPlayerStateUpdater {
+    private TestInstanceCreator creator;
+    private VirtualScheduler scheduler;
+    private PlayerStateUpdater updater;
+    private MultiverseWorld world;
+
+    @Before
+    public void setUp() throws Exception {
+        creator = new TestInstanceCreator(true);
+        assertTrue(creator.setUp());
+        scheduler = creator.getVirtualScheduler();
+        updater = new PlayerStateUpdater(creator.getCore());
+        World cbWorld = MockWorldFactory.makeNewMockWorld("states", World.Environment.NORMAL, WorldType.NORMAL);
+        world = mock(MultiverseWorld.class);
+        when(world.getName()).thenReturn("states");
+        when(world.getCBWorld()).thenReturn(cbWorld);
+        when(world.getGameMode()).thenReturn(GameMode.CREATIVE);
+        when(world.getAllowFlight()).thenReturn(true);
+        scheduler.runUntilIdle(100);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        creator.tearDown();
+    }
+
+    private Player makePlayer() {
+        Player player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(player.getName()).thenReturn("player");
+        when(player.isOnline()).thenReturn(true);
+        when(player.getWorld()).thenReturn(world.getCBWorld());
+        return player;
+    }
+
+    @Test
+    public void testQueuedTwiceIsUpdatedOnce() {
+        Player player = makePlayer();
+        updater.queue(player, world);
+        updater.queue(player, world);
+        verify(player, never()).setGameMode(GameMode.CREATIVE);
+        scheduler.advance(1);
+        verify(player, times(1)).setGameMode(GameMode.CREATIVE);
+        assertEquals(0, updater.getPendingCount());
+    }
+
+    @Test
+    public void testUpdatesAreSpreadOverTicks() {
+        List<Player> players = new ArrayList<Player>();
+        for (int i = 0; i < 120; i++) {
+            Player player = makePlayer();
+            players.add(player);
+            updater.queue(player, world);
+        }
+        scheduler.advance(1);
+        assertEquals(70, updater.getPendingCount());
+        scheduler.advance(2);
+        assertEquals(0, updater.getPendingCount());
+        for (Player player : players) {
+            verify(player, times(1)).setGameMode(GameMode.CREATIVE);
+        }
+    }
+
+    @Test
+    public void testPlayerQueuedWhileUpdating() {
+        // Like a plugin that moves a player to another world when their gamemode changes.
+        Player mover = makePlayer();
+        Player other = makePlayer();
+        doAnswer(invocation -> {
+            updater.queue(other, world);
+            return null;
+        }).when(mover).setGameMode(GameMode.CREATIVE);
+        updater.queue(mover, world);
+        updater.queue(makePlayer(), world);
+        scheduler.advance(1);
+        assertEquals(1, updater.getPendingCount());
+        scheduler.advance(1);
+        verify(other, times(1)).setGameMode(GameMode.CREATIVE);
+        assertEquals(0, updater.getPendingCount());
+    }
+}
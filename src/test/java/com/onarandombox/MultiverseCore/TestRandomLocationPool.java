@@ -0,0 +1,168 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2012.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore;
+
+import com.onarandombox.MultiverseCore.api.MVDestination;
+import com.onarandombox.MultiverseCore.utils.MockWorldFactory;
+import com.onarandombox.MultiverseCore.utils.RandomLocationPool;
+import com.onarandombox.MultiverseCore.utils.TestInstanceCreator;
+import com.onarandombox.MultiverseCore.utils.VirtualScheduler;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.WorldType;
+import org.bukkit.command.Command;
+import org.bukkit.entity.Player;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TestRandomLocationPool {
+    private TestInstanceCreator creator;
+    private VirtualScheduler scheduler;
+    private RandomLocationPool pool;
+    private World world;
+
+    @Before
+    public void setUp() throws Exception {
+        creator = new TestInstanceCreator(true);
+        assertTrue(creator.setUp());
+        scheduler = creator.getVirtualScheduler();
+        pool = creator.getCore().getRandomLocationPool();
+        world = MockWorldFactory.makeNewMockWorld("random", World.Environment.NORMAL, WorldType.NORMAL);
+        makeFlat(world);
+        scheduler.runUntilIdle(100);
+    }
+
+    /**
+     * Flat stone up to y=63, air above.
+     */
+    private static void makeFlat(World world) {
+        when(world.getMaxHeight()).thenReturn(256);
+        ChunkSnapshot snapshot = mock(ChunkSnapshot.class);
+        when(snapshot.getHighestBlockYAt(anyInt(), anyInt())).thenReturn(64);
+        when(snapshot.getBlockType(anyInt(), anyInt(), anyInt())).thenAnswer(
+                invocation -> invocation.<Integer>getArgument(1) < 64 ? Material.STONE : Material.AIR);
+        Chunk chunk = mock(Chunk.class);
+        when(chunk.getChunkSnapshot(anyBoolean(), anyBoolean(), anyBoolean())).thenReturn(snapshot);
+        when(world.getChunkAt(anyInt(), anyInt())).thenReturn(chunk);
+        when(world.isChunkGenerated(anyInt(), anyInt())).thenReturn(true);
+        when(world.isChunkLoaded(anyInt(), anyInt())).thenReturn(true);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        creator.tearDown();
+    }
+
+    @Test
+    public void testPoolFillsInTheBackground() {
+        // Nothing is ready the first time, that starts the refill.
+        assertNull(pool.takeLocation(world, 100));
+        scheduler.runUntilIdle(100);
+        assertEquals(10, pool.getAvailable(world, 100));
+
+        Location location = pool.takeLocation(world, 100);
+        assertNotNull(location);
+        assertEquals(64, location.getBlockY());
+        assertEquals(9, pool.getAvailable(world, 100));
+    }
+
+    @Test
+    public void testHugeRadius() {
+        assertNull(pool.takeLocation(world, Integer.MAX_VALUE));
+        scheduler.runUntilIdle(100);
+        assertEquals(10, pool.getAvailable(world, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testStaleLocationsAfterReload() {
+        pool.takeLocation(world, 100);
+        scheduler.runUntilIdle(100);
+        pool.forgetWorld(world);
+        assertEquals(0, pool.getAvailable(world, 100));
+
+        pool.takeLocation(world, 100);
+        scheduler.runUntilIdle(100);
+        assertEquals(10, pool.getAvailable(world, 100));
+        // The same world loaded again without being forgotten is a new object.
+        World reloaded = MockWorldFactory.makeNewMockWorld("random", World.Environment.NORMAL, WorldType.NORMAL);
+        assertNull(pool.takeLocation(reloaded, 100));
+        assertEquals(0, pool.getAvailable(reloaded, 100));
+    }
+
+    @Test
+    public void testOneTeleportTakesOneLocation() {
+        Command mockCommand = mock(Command.class);
+        when(mockCommand.getName()).thenReturn("mv");
+        creator.getCore().onCommand(creator.getCommandSender(), mockCommand, "",
+                new String[]{ "import", "random", "normal" });
+        // Importing loads the world again.
+        World imported = MockWorldFactory.getWorld("random");
+        makeFlat(imported);
+        pool.takeLocation(imported, 100);
+        scheduler.runUntilIdle(100);
+        assertEquals(10, pool.getAvailable(imported, 100));
+
+        // A teleport asks its destination for the location when checking access, where the player comes from and
+        // whether the spot is safe, and when teleporting.
+        Player player = mock(Player.class);
+        MVDestination destination = creator.getCore().getDestFactory().getDestination("r:random:100");
+        Location location = destination.getLocation(player);
+        assertNotNull(location);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(location, destination.getLocation(player));
+        }
+        assertEquals(9, pool.getAvailable(imported, 100));
+
+        // Another player teleporting in the same tick gets another spot.
+        destination.getLocation(mock(Player.class));
+        assertEquals(8, pool.getAvailable(imported, 100));
+
+        // A destination that is kept, like the one of a portal, takes a new spot for the next teleport.
+        scheduler.advance(1);
+        destination.getLocation(player);
+        assertEquals(7, pool.getAvailable(imported, 100));
+
+        // The next teleport gets a destination of its own.
+        assertNotSame(destination, creator.getCore().getDestFactory().getDestination("r:random:100"));
+    }
+
+    @Test
+    public void testChunksAreReadFromDiskOnceASecond() {
+        when(world.isChunkLoaded(anyInt(), anyInt())).thenReturn(false);
+        assertNull(pool.takeLocation(world, 100));
+        scheduler.advance(10);
+        assertEquals(1, pool.getAvailable(world, 100));
+        scheduler.advance(20);
+        assertEquals(2, pool.getAvailable(world, 100));
+        verify(world, times(2)).unloadChunkRequest(anyInt(), anyInt());
+    }
+
+    @Test
+    public void testSkipsChunksThatWerentGenerated() {
+        when(world.isChunkGenerated(anyInt(), anyInt())).thenReturn(false);
+        assertNull(pool.takeLocation(world, 100));
+        scheduler.advance(20);
+        assertEquals(0, pool.getAvailable(world, 100));
+    }
+}
@@ -0,0 +1,81 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2012.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore;
+
+import com.onarandombox.MultiverseCore.api.BlockSafety;
+import com.onarandombox.MultiverseCore.utils.MockWorldFactory;
+import com.onarandombox.MultiverseCore.utils.SimpleBlockSafety;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.WorldType;
+import org.bukkit.block.Block;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TestSimpleBlockSafety {
+    private BlockSafety safety;
+    private World world;
+
+    @Before
+    public void setUp() {
+        safety = new SimpleBlockSafety(null);
+        // Dirt up to y=63, air above.
+        world = MockWorldFactory.makeNewMockWorld("safety", World.Environment.NORMAL, WorldType.NORMAL);
+    }
+
+    @Test
+    public void testTopAndBottomBlock() {
+        assertEquals(64, safety.getTopBlock(new Location(world, 5, 0, 5)).getBlockY());
+        assertEquals(64, safety.getBottomBlock(new Location(world, 5, 200, 5)).getBlockY());
+    }
+
+    @Test
+    public void testFallingIntoWater() {
+        // A pool of water at y=62 and y=63 below the air.
+        Block water = mock(Block.class);
+        when(water.getType()).thenReturn(Material.WATER);
+        when(world.getBlockAt(anyInt(), eq(62), anyInt())).thenReturn(water);
+        when(world.getBlockAt(anyInt(), eq(63), anyInt())).thenReturn(water);
+        assertTrue(safety.playerCanSpawnHereSafely(world, 0, 80, 0));
+
+        when(world.getBlockAt(anyInt(), eq(62), anyInt())).thenAnswer(
+                invocation -> world.getBlockAt(new Location(world, 0, 62, 0)));
+        assertFalse(safety.playerCanSpawnHereSafely(world, 0, 80, 0));
+    }
+
+    @Test
+    public void testHazards() {
+        Block magma = mock(Block.class);
+        when(magma.getType()).thenReturn(Material.MAGMA_BLOCK);
+        when(world.getBlockAt(anyInt(), eq(63), anyInt())).thenReturn(magma);
+        assertFalse(safety.playerCanSpawnHereSafely(world, 0, 64, 0));
+
+        // Fire isn't solid, only being a hazard keeps players out of it.
+        Block fire = mock(Block.class);
+        when(fire.getType()).thenReturn(Material.FIRE);
+        when(world.getBlockAt(anyInt(), eq(63), anyInt())).thenAnswer(
+                invocation -> world.getBlockAt(new Location(world, 0, 63, 0)));
+        when(world.getBlockAt(anyInt(), eq(65), anyInt())).thenReturn(fire);
+        assertFalse(safety.playerCanSpawnHereSafely(world, 0, 64, 0));
+
+        // Below the fire, a cave at y=40 is the only safe spot left.
+        Block air = world.getBlockAt(new Location(world, 0, 100, 0));
+        when(world.getBlockAt(anyInt(), eq(40), anyInt())).thenReturn(air);
+        when(world.getBlockAt(anyInt(), eq(41), anyInt())).thenReturn(air);
+        assertEquals(40, safety.getTopBlock(new Location(world, 0, 0, 0)).getBlockY());
+    }
+}
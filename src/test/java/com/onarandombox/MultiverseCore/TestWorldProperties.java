@@ -198,9 +198,11 @@ public class TestWorldProperties {
         verify(playerRespawnNormal).setRespawnLocation(mvWorld.getSpawnLocation());
 
         // call entity regain health event
-        core.getEntityListener().entityRegainHealth(entityRegainHealthEvent);
+        core.getAutoHealListener().entityRegainHealth(entityRegainHealthEvent);
         // autoheal is on so nothing should happen
         verify(entityRegainHealthEvent, never()).setCancelled(true);
+        // and no world needs the listener
+        assertFalse(core.getFeatureListeners().isRegistered(core.getAutoHealListener()));
 
 
         /* ************************ *
@@ -298,9 +300,11 @@ public class TestWorldProperties {
         verify(playerRespawnNormal).setRespawnLocation(netherWorld.getSpawnLocation());
 
         // call entity regain health event
-        core.getEntityListener().entityRegainHealth(entityRegainHealthEvent);
+        core.getAutoHealListener().entityRegainHealth(entityRegainHealthEvent);
         // autoheal is off so something should happen
         verify(entityRegainHealthEvent).setCancelled(true);
+        assertTrue(core.getFeatureListeners().isRegistered(core.getAutoHealListener()));
+        assertTrue(core.getFeatureListeners().isRegistered(core.getWeatherListener()));
 
 
         /* ****************************************** *
@@ -339,6 +343,20 @@ public class TestWorldProperties {
         assertEquals(false, mvWorld.getBedRespawn());
         assertEquals(false, mvWorld.getAutoLoad());
         assertEquals(new SpawnLocation(1, 1, 1), mvWorld.getSpawnLocation());
+
+        // the rules the listeners check follow the reloaded properties
+        WorldRules rules = core.getWorldRules(mvWorld.getCBWorld());
+        assertNotNull(rules);
+        assertFalse(rules.hasHunger());
+        assertFalse(rules.hasAutoHeal());
+        assertFalse(rules.isWeatherEnabled());
+        assertFalse(rules.hasBedRespawn());
+        assertEquals("world_nether", rules.getRespawnWorld());
+        assertTrue(core.getFeatureListeners().isRegistered(core.getHungerListener()));
+        mvWorld.setHunger(true);
+        assertTrue(core.getWorldRules(mvWorld.getCBWorld()).hasHunger());
+        // the nether still has hunger on
+        assertFalse(core.getFeatureListeners().isRegistered(core.getHungerListener()));
     }
 
     public void createEvents(MultiverseWorld mvWorld) {
@@ -7,17 +7,20 @@
 
 package com.onarandombox.MultiverseCore;
 
+import com.onarandombox.MultiverseCore.api.MVWorldManager;
 import com.onarandombox.MultiverseCore.api.MultiverseWorld;
 import com.onarandombox.MultiverseCore.exceptions.PropertyDoesNotExistException;
 import com.onarandombox.MultiverseCore.utils.MockWorldFactory;
 import com.onarandombox.MultiverseCore.utils.TestInstanceCreator;
 import com.onarandombox.MultiverseCore.utils.WorldCreatorMatcher;
+import com.onarandombox.MultiverseCore.utils.WorldManager;
 import org.bukkit.ChatColor;
 import org.bukkit.GameMode;
 import org.bukkit.Server;
 import org.bukkit.WorldCreator;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.Plugin;
 import org.junit.After;
 import org.junit.Before;
@@ -26,9 +29,14 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.internal.verification.VerificationModeFactory;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
@@ -277,6 +285,127 @@ public class TestWorldStuff {
         verify(mockCommandSender).sendMessage(ChatColor.RED + "Sorry, You can't set: '" + ChatColor.GRAY + "blah" + ChatColor.RED + "'");
     }
 
+    @Test
+    public void testReloadOnlyAppliesChanges() {
+        Plugin plugin = mockServer.getPluginManager().getPlugin("Multiverse-Core");
+        Command mockCommand = mock(Command.class);
+        when(mockCommand.getName()).thenReturn("mv");
+        this.createInitialWorlds(plugin, mockCommand);
+
+        MultiverseWorld mainWorld = creator.getCore().getMVWorldManager().getMVWorld("world");
+        MultiverseWorld netherWorld = creator.getCore().getMVWorldManager().getMVWorld("world_nether");
+        // Changed without saving, so worlds.yml still says otherwise.
+        mainWorld.setHidden(true);
+
+        plugin.onCommand(mockCommandSender, mockCommand, "", new String[]{ "reload" });
+        verify(mockCommandSender).sendMessage(ChatColor.GREEN + "Reload Complete!");
+
+        // The worlds weren't recreated, but took over the value from worlds.yml.
+        assertEquals(3, creator.getCore().getMVWorldManager().getMVWorlds().size());
+        assertSame(mainWorld, creator.getCore().getMVWorldManager().getMVWorld("world"));
+        assertSame(netherWorld, creator.getCore().getMVWorldManager().getMVWorld("world_nether"));
+        assertFalse(mainWorld.isHidden());
+    }
+
+    @Test
+    public void testUnloadedWorldKeepsItsProperties() {
+        Plugin plugin = mockServer.getPluginManager().getPlugin("Multiverse-Core");
+        Command mockCommand = mock(Command.class);
+        when(mockCommand.getName()).thenReturn("mv");
+        this.createInitialWorlds(plugin, mockCommand);
+
+        MVWorldManager worldManager = creator.getCore().getMVWorldManager();
+        MultiverseWorld netherWorld = worldManager.getMVWorld("world_nether");
+        netherWorld.setHidden(true);
+        netherWorld.setAlias("hell");
+        assertTrue(worldManager.unloadWorld("world_nether"));
+
+        // Its properties are compacted now, but the alias can still be found.
+        assertTrue(worldManager.getUnloadedWorlds().contains("world_nether"));
+        assertTrue(worldManager.hasUnloadedWorld("hell", false));
+        assertTrue(worldManager.saveWorldsConfig());
+
+        // The saved file has the compacted world as a plain world.
+        YamlConfiguration saved = YamlConfiguration.loadConfiguration(
+                new File(creator.getCore().getDataFolder(), "worlds.yml"));
+        assertTrue(saved.get("worlds.world_nether") instanceof WorldProperties);
+        assertEquals("hell", ((WorldProperties) saved.get("worlds.world_nether")).getAlias());
+        // Plugins reading the config still find every world in it.
+        assertEquals(3, ((WorldManager) worldManager).getConfigWorlds()
+                .getConfigurationSection("worlds").getKeys(false).size());
+
+        assertTrue(worldManager.loadWorld("world_nether"));
+        netherWorld = worldManager.getMVWorld("world_nether");
+        assertTrue(netherWorld.isHidden());
+        assertEquals("hell", netherWorld.getAlias());
+    }
+
+    @Test
+    public void testEmptyWorldsFileDoesNotUnloadWorlds() {
+        Plugin plugin = mockServer.getPluginManager().getPlugin("Multiverse-Core");
+        Command mockCommand = mock(Command.class);
+        when(mockCommand.getName()).thenReturn("mv");
+        this.createInitialWorlds(plugin, mockCommand);
+
+        // Like a worlds.yml that was truncated by an editor before it's written again.
+        MVWorldManager worldManager = creator.getCore().getMVWorldManager();
+        worldManager.loadWorldConfig(new YamlConfiguration());
+        assertEquals(3, worldManager.getMVWorlds().size());
+        assertTrue(worldManager.isMVWorld("world_nether"));
+        assertTrue(worldManager.saveWorldsConfig());
+        worldManager.loadWorldConfig(new File(creator.getCore().getDataFolder(), "worlds.yml"));
+        assertEquals(3, worldManager.getMVWorlds().size());
+    }
+
+    @Test
+    public void testWorldsCanBeFoundWhileLoading() {
+        Plugin plugin = mockServer.getPluginManager().getPlugin("Multiverse-Core");
+        Command mockCommand = mock(Command.class);
+        when(mockCommand.getName()).thenReturn("mv");
+        this.createInitialWorlds(plugin, mockCommand);
+
+        // Count the worlds that can be found whenever the next one is created.
+        final MVWorldManager worldManager = creator.getCore().getMVWorldManager();
+        final List<Integer> found = new ArrayList<Integer>();
+        when(mockServer.createWorld(ArgumentMatchers.isA(WorldCreator.class))).thenAnswer(invocation -> {
+            int count = 0;
+            for (String name : Arrays.asList("world", "world_nether", "world_the_end")) {
+                if (worldManager.isMVWorld(name) && worldManager.getMVWorld(name) != null) {
+                    count++;
+                }
+            }
+            assertEquals(count, worldManager.getMVWorlds().size());
+            found.add(count);
+            WorldCreator worldCreator = invocation.getArgument(0);
+            return MockWorldFactory.makeNewMockWorld(worldCreator.name(), worldCreator.environment(),
+                    worldCreator.type());
+        });
+        worldManager.loadWorlds(true);
+        assertEquals(Arrays.asList(0, 1, 2), found);
+        assertEquals(3, worldManager.getMVWorlds().size());
+    }
+
+    @Test
+    public void testHasUnloadedWorld() {
+        Plugin plugin = mockServer.getPluginManager().getPlugin("Multiverse-Core");
+        Command mockCommand = mock(Command.class);
+        when(mockCommand.getName()).thenReturn("mv");
+        this.createInitialWorlds(plugin, mockCommand);
+
+        MVWorldManager worldManager = creator.getCore().getMVWorldManager();
+        assertTrue(worldManager.unloadWorld("world_nether"));
+        assertTrue(worldManager.hasUnloadedWorld("world_nether", false));
+        assertTrue(worldManager.hasUnloadedWorld("world_nether", true));
+        // Loaded worlds only count if asked for.
+        assertFalse(worldManager.hasUnloadedWorld("world", false));
+        assertTrue(worldManager.hasUnloadedWorld("world", true));
+        assertFalse(worldManager.hasUnloadedWorld("nowhere", true));
+
+        assertTrue(worldManager.loadWorld("world_nether"));
+        assertFalse(worldManager.hasUnloadedWorld("world_nether", false));
+        assertFalse(worldManager.getUnloadedWorlds().contains("world_nether"));
+    }
+
     private void createInitialWorlds(Plugin plugin, Command command) {
         MockWorldFactory.createWorldDirectory("world");
         MockWorldFactory.createWorldDirectory("world_nether");
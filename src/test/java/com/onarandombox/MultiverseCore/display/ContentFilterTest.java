@@ -0,0 +1,54 @@
+package com.onarandombox.MultiverseCore.display;
+
+import org.bukkit.ChatColor;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ContentFilterTest {
+
+    private static final List<String> LINES = Arrays.asList(
+            ChatColor.AQUA + "world" + ChatColor.WHITE + " - " + ChatColor.GREEN + "NORMAL",
+            ChatColor.GRAY + "[H] " + ChatColor.RED + "World_Nether - NETHER",
+            "plain text (with brackets) and a.dot",
+            "",
+            ChatColor.GRAY + "skyblock - UNLOADED"
+    );
+
+    @Test
+    public void testLiteralFilterMatchesLikeRegex() {
+        for (String filterString : Arrays.asList("world", "WORLD", "nether", "[h]", "(with", "a.dot", "a*dot", "-", "",
+                "unloaded", "missing")) {
+            ContentFilter filter = new ContentFilter(filterString);
+            Pattern regex = filter.getPattern();
+            for (String line : LINES) {
+                assertEquals(filterString + " on " + line,
+                        regex.matcher(ChatColor.stripColor(line)).find(), filter.checkMatch(line));
+            }
+        }
+    }
+
+    @Test
+    public void testRegexFilter() {
+        ContentFilter filter = new ContentFilter("r=^world.*NORMAL$");
+        assertTrue(filter.checkMatch(LINES.get(0)));
+        assertFalse(filter.checkMatch(LINES.get(1)));
+
+        ContentFilter exact = new ContentFilter("r=world", true);
+        assertFalse(exact.checkMatch(LINES.get(0)));
+        assertTrue(exact.checkMatch(ChatColor.GOLD + "world"));
+    }
+
+    @Test
+    public void testNoFilter() {
+        assertTrue(ContentFilter.DEFAULT.checkMatch(null));
+        assertFalse(new ContentFilter("world").checkMatch(null));
+        assertFalse(new ContentFilter("r=[").checkMatch("world"));
+    }
+}
@@ -0,0 +1,156 @@
+package com.onarandombox.MultiverseCore.display;
+
+import com.onarandombox.MultiverseCore.display.settings.PagedDisplaySettings;
+import org.bukkit.ChatColor;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.entity.Player;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class LazyContentTest {
+
+    private Player player;
+    private AtomicInteger formatted;
+    private Function<String, String> formatter;
+
+    @Before
+    public void setUp() {
+        player = mock(Player.class);
+        formatted = new AtomicInteger();
+        formatter = name -> {
+            formatted.incrementAndGet();
+            return ChatColor.AQUA + name;
+        };
+    }
+
+    private static List<String> names(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> (i % 3 == 0 ? "nether_" : "world_") + i)
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> lines(String... names) {
+        List<String> lines = new ArrayList<>();
+        for (String name : names) {
+            lines.add(name.isEmpty() ? "" : ChatColor.WHITE.toString() + ChatColor.AQUA + name);
+        }
+        return lines;
+    }
+
+    private ContentDisplay<LazyContent<?>> display(LazyContent<?> content, ContentFilter filter, int page,
+                                                   int linesPerPage) {
+        return ContentDisplay.forContent(content)
+                .filter(filter)
+                .setting(PagedDisplaySettings.SHOW_PAGE, page)
+                .setting(PagedDisplaySettings.LINES_PER_PAGE, linesPerPage)
+                .build();
+    }
+
+    @Test
+    public void testOnlyTheShownPageIsFormatted() throws DisplayFormatException {
+        ContentDisplay<LazyContent<?>> display = display(LazyContent.of(names(20), formatter), ContentFilter.DEFAULT,
+                2, 8);
+        Collection<String> content = DisplayHandlers.LAZY_PAGE_LIST.format(player, display);
+
+        assertEquals(lines("world_8", "nether_9", "world_10", "world_11", "nether_12", "world_13", "world_14",
+                "nether_15"), content);
+        assertEquals(8, formatted.get());
+        assertEquals(3, (int) display.getSetting(PagedDisplaySettings.TOTAL_PAGE));
+    }
+
+    @Test
+    public void testFilterAcrossPages() throws DisplayFormatException {
+        // The filter reads the plain name, so nothing is formatted to find the matches.
+        LazyContent<String> content = LazyContent.of(names(30), formatter).filterOn(Function.identity());
+        ContentFilter filter = new ContentFilter("nether");
+
+        // 10 matches on pages of 4, the last page is padded.
+        ContentDisplay<LazyContent<?>> display = display(content, filter, 3, 4);
+        assertEquals(lines("nether_24", "nether_27", "", ""), DisplayHandlers.LAZY_PAGE_LIST.format(player, display));
+        assertEquals(3, (int) display.getSetting(PagedDisplaySettings.TOTAL_PAGE));
+        assertEquals(2, formatted.get());
+
+        display = display(content, filter, 1, 4);
+        assertEquals(lines("nether_0", "nether_3", "nether_6", "nether_9"),
+                DisplayHandlers.LAZY_PAGE_LIST.format(player, display));
+        assertEquals(6, formatted.get());
+    }
+
+    @Test
+    public void testFilterOnFormattedLines() throws DisplayFormatException {
+        // Without filterOn, the colours of the formatted line don't get in the way.
+        ContentDisplay<LazyContent<?>> display = display(LazyContent.of(names(6), formatter),
+                new ContentFilter("r=^world_[45]$"), 1, 8);
+        assertEquals(lines("world_4", "world_5", "", "", "", "", "", ""),
+                DisplayHandlers.LAZY_PAGE_LIST.format(player, display));
+    }
+
+    @Test
+    public void testPageOutOfRange() {
+        LazyContent<String> content = LazyContent.of(names(20), formatter);
+        for (int page : Arrays.asList(0, 4)) {
+            try {
+                DisplayHandlers.LAZY_PAGE_LIST.format(player, display(content, ContentFilter.DEFAULT, page, 8));
+                fail("Page " + page + " was shown.");
+            } catch (DisplayFormatException e) {
+                assertEquals("Please enter a page from 1 to 3.", e.getMessage());
+            }
+        }
+        try {
+            DisplayHandlers.LAZY_PAGE_LIST.format(player, display(content, ContentFilter.DEFAULT, 2, 20));
+            fail("Page 2 was shown.");
+        } catch (DisplayFormatException e) {
+            assertEquals("There is only 1 page!", e.getMessage());
+        }
+        assertEquals(0, formatted.get());
+    }
+
+    @Test
+    public void testNothingMatches() throws DisplayFormatException {
+        ContentDisplay<LazyContent<?>> display = display(
+                LazyContent.of(names(20), formatter).filterOn(Function.identity()), new ContentFilter("end"), 1, 3);
+        Collection<String> content = DisplayHandlers.LAZY_PAGE_LIST.format(player, display);
+        assertEquals(Arrays.asList(display.getEmptyMessage(), "", ""), content);
+        assertEquals(0, formatted.get());
+    }
+
+    @Test
+    public void testConsoleGetsEverythingThatMatches() throws DisplayFormatException {
+        ContentDisplay<LazyContent<?>> display = display(
+                LazyContent.of(names(30), formatter).filterOn(Function.identity()), new ContentFilter("nether_2"), 1, 4);
+        assertEquals(lines("nether_21", "nether_24", "nether_27"),
+                DisplayHandlers.LAZY_PAGE_LIST.format(mock(ConsoleCommandSender.class), display));
+        assertEquals(3, formatted.get());
+    }
+
+    @Test
+    public void testStreamContentIsReadOnce() {
+        AtomicInteger read = new AtomicInteger();
+        Stream<String> stream = names(20).stream().peek(name -> read.incrementAndGet());
+        LazyContent<String> content = LazyContent.of(stream, formatter).filterOn(Function.identity());
+
+        ContentDisplay.forContent(content)
+                .setting(PagedDisplaySettings.SHOW_PAGE, 3)
+                .show(player);
+        assertEquals(20, read.get());
+        assertEquals(4, formatted.get());
+        verify(player).sendMessage(String.format("%s[ Page %s of %s ]", ChatColor.GRAY, 3, 3));
+        verify(player).sendMessage(lines("world_16", "world_17", "nether_18", "world_19", "", "", "", "")
+                .toArray(new String[0]));
+    }
+}
@@ -0,0 +1,97 @@
+package com.onarandombox.MultiverseCore.utils;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AnchorGridTest {
+
+    private World world;
+    private World otherWorld;
+    private AnchorGrid grid;
+
+    @Before
+    public void setUp() {
+        world = mock(World.class);
+        when(world.getName()).thenReturn("world");
+        otherWorld = mock(World.class);
+        when(otherWorld.getName()).thenReturn("other");
+        grid = new AnchorGrid();
+    }
+
+    @Test
+    public void testNearestAcrossChunks() {
+        grid.add("home", new Location(world, 0, 64, 0));
+        grid.add("far", new Location(world, 500, 64, -500));
+        grid.add("near", new Location(world, -20, 64, 10));
+        grid.add("elsewhere", new Location(otherWorld, 1, 64, 1));
+
+        assertEquals(Arrays.asList("near", "home"), grid.findNearest(new Location(world, -15, 64, 8), 2));
+        assertEquals(Arrays.asList("near", "home", "far"), grid.findNearest(new Location(world, -15, 64, 8), 5));
+        assertEquals(Collections.singletonList("far"), grid.findNearest(new Location(world, 480, 64, -480), 1));
+    }
+
+    @Test
+    public void testWithin() {
+        grid.add("home", new Location(world, 0, 64, 0));
+        grid.add("edge", new Location(world, 30, 64, 0));
+        grid.add("out", new Location(world, 31, 64, 0));
+
+        assertEquals(Arrays.asList("home", "edge"), grid.findWithin(new Location(world, 0, 64, 0), 30));
+        assertTrue(grid.findWithin(new Location(otherWorld, 0, 64, 0), 1000).isEmpty());
+    }
+
+    @Test
+    public void testRemove() {
+        Location home = new Location(world, 0, 64, 0);
+        grid.add("home", home);
+        grid.remove("home", home);
+
+        assertTrue(grid.findNearest(home, 1).isEmpty());
+        assertTrue(grid.getAnchors("world").isEmpty());
+    }
+
+    @Test
+    public void testNearestMatchesBruteForce() {
+        Random random = new Random(42);
+        final List<Location> locations = new ArrayList<Location>();
+        for (int i = 0; i < 2000; i++) {
+            Location location = new Location(world, random.nextInt(4000) - 2000, 64, random.nextInt(4000) - 2000);
+            locations.add(location);
+            grid.add("a" + i, location);
+        }
+        for (int i = 0; i < 50; i++) {
+            final Location center = new Location(world, random.nextInt(5000) - 2500, 64, random.nextInt(5000) - 2500);
+            List<Integer> indices = new ArrayList<Integer>();
+            for (int j = 0; j < locations.size(); j++) {
+                indices.add(j);
+            }
+            Collections.sort(indices, new Comparator<Integer>() {
+                @Override
+                public int compare(Integer a, Integer b) {
+                    return Double.compare(locations.get(a).distanceSquared(center),
+                            locations.get(b).distanceSquared(center));
+                }
+            });
+            List<String> found = grid.findNearest(center, 3);
+            assertEquals(3, found.size());
+            for (int j = 0; j < 3; j++) {
+                assertEquals(locations.get(indices.get(j)).distanceSquared(center),
+                        locations.get(Integer.parseInt(found.get(j).substring(1))).distanceSquared(center), 0.0);
+            }
+        }
+    }
+}
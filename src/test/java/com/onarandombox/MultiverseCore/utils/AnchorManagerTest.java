@@ -0,0 +1,178 @@
+package com.onarandombox.MultiverseCore.utils;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.WorldType;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AnchorManagerTest {
+    private static final long SAVE_DELAY_TICKS = 20L;
+
+    private TestInstanceCreator creator;
+    private VirtualScheduler scheduler;
+    private AnchorManager anchorManager;
+    private File anchorFile;
+    private World world;
+
+    @Before
+    public void setUp() throws Exception {
+        creator = new TestInstanceCreator(true);
+        assertTrue(creator.setUp());
+        scheduler = creator.getVirtualScheduler();
+        world = MockWorldFactory.makeNewMockWorld("world", World.Environment.NORMAL, WorldType.NORMAL);
+        anchorFile = new File(creator.getCore().getDataFolder(), "anchors.yml");
+        anchorManager = creator.getCore().getAnchorManager();
+        scheduler.runUntilIdle(100);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        creator.tearDown();
+    }
+
+    private Set<String> savedAnchors() {
+        if (!anchorFile.exists()) {
+            return Collections.emptySet();
+        }
+        ConfigurationSection anchors = YamlConfiguration.loadConfiguration(anchorFile).getConfigurationSection("anchors");
+        return anchors != null ? anchors.getKeys(false) : Collections.<String>emptySet();
+    }
+
+    private void writeAnchors(String contents) throws IOException {
+        Files.write(anchorFile.toPath(), ("anchors:\n" + contents).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testChangesAreWrittenOnceInTheBackground() {
+        int pending = scheduler.getPendingTaskCount();
+        assertTrue(anchorManager.saveAnchorLocation("first", new Location(world, 1, 64, 1)));
+        assertTrue(anchorManager.saveAnchorLocation("second", new Location(world, 2, 64, 2)));
+        assertTrue(anchorManager.saveAnchorLocation("third", new Location(world, 3, 64, 3)));
+        assertTrue(anchorManager.deleteAnchor("second"));
+        // One save for all of the changes.
+        assertEquals(pending + 1, scheduler.getPendingTaskCount());
+        assertTrue(savedAnchors().isEmpty());
+
+        scheduler.advance(SAVE_DELAY_TICKS);
+        // The snapshot was taken, it's written off the main thread on the next tick.
+        assertTrue(savedAnchors().isEmpty());
+        scheduler.advance(1);
+        assertEquals(new HashSet<String>(Arrays.asList("first", "third")), savedAnchors());
+        assertEquals(pending, scheduler.getPendingTaskCount());
+    }
+
+    @Test
+    public void testOlderSnapshotsDoNotOverwriteNewerOnes() {
+        assertTrue(anchorManager.saveAnchorLocation("first", new Location(world, 1, 64, 1)));
+        scheduler.advance(SAVE_DELAY_TICKS);
+        // The background write of "first" is waiting while an anchor is added and saved right away.
+        assertTrue(anchorManager.saveAnchorLocation("second", new Location(world, 2, 64, 2)));
+        assertTrue(anchorManager.saveAnchors());
+        assertEquals(new HashSet<String>(Arrays.asList("first", "second")), savedAnchors());
+
+        scheduler.advance(1);
+        assertEquals(new HashSet<String>(Arrays.asList("first", "second")), savedAnchors());
+        scheduler.runUntilIdle(100);
+        assertEquals(new HashSet<String>(Arrays.asList("first", "second")), savedAnchors());
+    }
+
+    @Test
+    public void testFlushWritesWhatWasNotWrittenYet() {
+        assertTrue(anchorManager.saveAnchorLocation("first", new Location(world, 1, 64, 1)));
+        // Like when the plugin is disabled before the background save ran.
+        assertTrue(anchorManager.flushAnchors());
+        assertEquals(Collections.singleton("first"), savedAnchors());
+
+        // Nothing changed since, so there's nothing to write.
+        assertTrue(anchorFile.delete());
+        assertTrue(anchorManager.flushAnchors());
+        assertFalse(anchorFile.exists());
+    }
+
+    @Test
+    public void testDisabledPluginSavesRightAway() {
+        int pending = scheduler.getPendingTaskCount();
+        doReturn(false).when(creator.getCore()).isEnabled();
+        assertTrue(anchorManager.saveAnchorLocation("first", new Location(world, 1, 64, 1)));
+        assertEquals(Collections.singleton("first"), savedAnchors());
+        assertEquals(pending, scheduler.getPendingTaskCount());
+        doReturn(true).when(creator.getCore()).isEnabled();
+    }
+
+    @Test
+    public void testPlayerViewsExpire() {
+        AtomicLong now = new AtomicLong(1000L);
+        anchorManager.setClock(now::get);
+        creator.getCore().getMVConfig().setEnforceAccess(true);
+        assertTrue(anchorManager.saveAnchorLocation("home", new Location(world, 1, 64, 1)));
+        Player player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(player.getName()).thenReturn("player");
+        when(player.hasPermission("multiverse.access.world")).thenReturn(true);
+        assertEquals(Collections.singleton("home"), anchorManager.getAnchors(player));
+
+        // Permissions can change without us knowing, the view is trusted for a few seconds.
+        when(player.hasPermission("multiverse.access.world")).thenReturn(false);
+        now.addAndGet(4999L);
+        assertEquals(Collections.singleton("home"), anchorManager.getAnchors(player));
+        now.addAndGet(1L);
+        assertTrue(anchorManager.getAnchors(player).isEmpty());
+
+        // Changing the anchors or the access setting drops the views right away.
+        when(player.hasPermission("multiverse.access.world")).thenReturn(true);
+        assertTrue(anchorManager.getAnchors(player).isEmpty());
+        assertTrue(anchorManager.saveAnchorLocation("work", new Location(world, 2, 64, 2)));
+        assertEquals(new HashSet<String>(Arrays.asList("home", "work")), anchorManager.getAnchors(player));
+        when(player.hasPermission("multiverse.access.world")).thenReturn(false);
+        creator.getCore().getMVConfig().setEnforceAccess(false);
+        assertEquals(new HashSet<String>(Arrays.asList("home", "work")), anchorManager.getAnchors(player));
+        creator.getCore().getMVConfig().setEnforceAccess(true);
+        assertTrue(anchorManager.getAnchors(player).isEmpty());
+    }
+
+    @Test
+    public void testAnchorsOfUnloadedWorldsAreKept() throws IOException {
+        writeAnchors("  home: world:1.00,64.00,1.00:0.00:0.00\n"
+                + "  far: gone:5.00,64.00,5.00:0.00:0.00\n");
+        anchorManager.loadAnchors();
+        assertNotNull(anchorManager.getAnchorLocation("home"));
+        assertNull(anchorManager.getAnchorLocation("far"));
+        assertEquals(Collections.singleton("home"), anchorManager.getAllAnchors());
+
+        // Saving other anchors writes the one in the unloaded world back too.
+        assertTrue(anchorManager.saveAnchorLocation("work", new Location(world, 2, 64, 2)));
+        assertTrue(anchorManager.flushAnchors());
+        assertEquals(new HashSet<String>(Arrays.asList("home", "far", "work")), savedAnchors());
+
+        // Once the world is there, loading the same file picks the anchor up.
+        MockWorldFactory.makeNewMockWorld("gone", World.Environment.NORMAL, WorldType.NORMAL);
+        anchorManager.loadAnchors();
+        assertNotNull(anchorManager.getAnchorLocation("far"));
+        assertEquals(new HashSet<String>(Arrays.asList("home", "far", "work")), anchorManager.getAllAnchors());
+    }
+}
@@ -29,6 +29,7 @@ import java.util.WeakHashMap;
 
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyBoolean;
+import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -150,6 +151,11 @@ public class MockWorldFactory {
                 return mockBlock;
             }
         });
+        when(mockWorld.getBlockAt(anyInt(), anyInt(), anyInt())).thenAnswer(invocation -> mockWorld.getBlockAt(
+                new Location(mockWorld, invocation.<Integer>getArgument(0), invocation.<Integer>getArgument(1),
+                        invocation.<Integer>getArgument(2))));
+        when(mockWorld.getHighestBlockYAt(anyInt(), anyInt())).thenReturn(64);
+        when(mockWorld.getMaxHeight()).thenReturn(256);
         when(mockWorld.getUID()).thenReturn(UUID.randomUUID());
         return mockWorld;
     }
@@ -10,7 +10,10 @@ package com.onarandombox.MultiverseCore.utils;
 import buscript.Buscript;
 import com.onarandombox.MultiverseCore.MultiverseCore;
 import com.onarandombox.MultiverseCore.api.MultiverseWorld;
+import com.onarandombox.MultiverseCore.listeners.MVAutoHealListener;
+import com.onarandombox.MultiverseCore.listeners.MVEnderPortalListener;
 import com.onarandombox.MultiverseCore.listeners.MVEntityListener;
+import com.onarandombox.MultiverseCore.listeners.MVHungerListener;
 import com.onarandombox.MultiverseCore.listeners.MVPlayerListener;
 import com.onarandombox.MultiverseCore.listeners.MVWeatherListener;
 import junit.framework.Assert;
@@ -55,11 +58,28 @@ public class TestInstanceCreator {
     private MultiverseCore core;
     private Server mockServer;
     private CommandSender commandSender;
+    private final VirtualScheduler virtualScheduler;
 
     public static final File pluginDirectory = new File("bin/test/server/plugins/coretest");
     public static final File serverDirectory = new File("bin/test/server");
     public static final File worldsDirectory = new File("bin/test/server");
 
+    /**
+     * Creates a test instance whose scheduler runs sync delayed tasks right away.
+     */
+    public TestInstanceCreator() {
+        this(false);
+    }
+
+    /**
+     * Creates a test instance.
+     *
+     * @param virtualTime True to use a {@link VirtualScheduler}, where tasks only run when the test advances ticks.
+     */
+    public TestInstanceCreator(boolean virtualTime) {
+        this.virtualScheduler = virtualTime ? new VirtualScheduler() : null;
+    }
+
     public boolean setUp() {
         TestingMode.enable();
         try {
@@ -195,7 +215,8 @@ public class TestInstanceCreator {
                     arg.run();
                     return null;
                 }});
-            when(mockServer.getScheduler()).thenReturn(mockScheduler);
+            when(mockServer.getScheduler()).thenReturn(
+                    virtualScheduler != null ? virtualScheduler.getScheduler() : mockScheduler);
 
             // Set server
             Field serverfield = JavaPlugin.class.getDeclaredField("server");
@@ -240,6 +261,25 @@ public class TestInstanceCreator {
             weatherlistenerfield.setAccessible(true);
             weatherlistenerfield.set(core, wl);
 
+            // Set the listeners that are only registered while a world uses their feature
+            Field hungerlistenerfield = MultiverseCore.class.getDeclaredField("hungerListener");
+            hungerlistenerfield.setAccessible(true);
+            hungerlistenerfield.set(core, spy(new MVHungerListener(core)));
+            Field autoheallistenerfield = MultiverseCore.class.getDeclaredField("autoHealListener");
+            autoheallistenerfield.setAccessible(true);
+            autoheallistenerfield.set(core, spy(new MVAutoHealListener(core)));
+            Field enderportallistenerfield = MultiverseCore.class.getDeclaredField("enderPortalListener");
+            enderportallistenerfield.setAccessible(true);
+            enderportallistenerfield.set(core, spy(new MVEnderPortalListener(core)));
+            Field featurelistenersfield = MultiverseCore.class.getDeclaredField("featureListeners");
+            featurelistenersfield.setAccessible(true);
+            featurelistenersfield.set(core, new FeatureListeners(core));
+
+            // Set anchorManager, so changed anchors reach the destination factory of the spy
+            Field anchormanagerfield = MultiverseCore.class.getDeclaredField("anchorManager");
+            anchormanagerfield.setAccessible(true);
+            anchormanagerfield.set(core, new AnchorManager(core));
+
             // Init our command sender
             final Logger commandSenderLogger = Logger.getLogger("CommandSender");
             commandSenderLogger.setParent(Util.logger);
@@ -313,4 +353,11 @@ public class TestInstanceCreator {
     public CommandSender getCommandSender() {
         return commandSender;
     }
+
+    /**
+     * @return The virtual scheduler, or null if this instance runs sync delayed tasks right away.
+     */
+    public VirtualScheduler getVirtualScheduler() {
+        return virtualScheduler;
+    }
 }
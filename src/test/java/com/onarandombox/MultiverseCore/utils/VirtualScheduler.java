@@ -0,0 +1,300 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.utils;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.mockito.invocation.InvocationOnMock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A {@link BukkitScheduler} that only moves on when the test tells it to.
+ *
+ * <p>Tasks run on the test thread when their tick comes up in {@link #advance(long)}, async tasks included, so tests
+ * are deterministic. Like Bukkit, a task scheduled without delay runs on the next tick. Every tick that ran any task
+ * is recorded, so tests can assert how work is spread over ticks. Tasks may be scheduled from other threads, like a
+ * watcher thread handing work to the main thread.</p>
+ */
+public class VirtualScheduler {
+
+    private final BukkitScheduler scheduler;
+    private final PriorityQueue<ScheduledTask> queue = new PriorityQueue<>();
+    private final Map<Integer, ScheduledTask> tasks = new HashMap<>();
+    private final List<TickStats> ticks = new ArrayList<>();
+    private long currentTick;
+    private int nextTaskId = 1;
+
+    public VirtualScheduler() {
+        this.scheduler = mock(BukkitScheduler.class);
+
+        when(scheduler.scheduleSyncDelayedTask(any(Plugin.class), any(Runnable.class), anyLong())).thenAnswer(
+                invocation -> schedule(invocation, arg(invocation, 2), -1, false).getTaskId());
+        when(scheduler.scheduleSyncDelayedTask(any(Plugin.class), any(Runnable.class))).thenAnswer(
+                invocation -> schedule(invocation, 0, -1, false).getTaskId());
+        when(scheduler.scheduleSyncRepeatingTask(any(Plugin.class), any(Runnable.class), anyLong(), anyLong()))
+                .thenAnswer(invocation -> schedule(invocation, arg(invocation, 2), arg(invocation, 3), false).getTaskId());
+
+        when(scheduler.runTask(any(Plugin.class), any(Runnable.class))).thenAnswer(
+                invocation -> schedule(invocation, 0, -1, false));
+        when(scheduler.runTaskLater(any(Plugin.class), any(Runnable.class), anyLong())).thenAnswer(
+                invocation -> schedule(invocation, arg(invocation, 2), -1, false));
+        when(scheduler.runTaskTimer(any(Plugin.class), any(Runnable.class), anyLong(), anyLong())).thenAnswer(
+                invocation -> schedule(invocation, arg(invocation, 2), arg(invocation, 3), false));
+        when(scheduler.runTaskAsynchronously(any(Plugin.class), any(Runnable.class))).thenAnswer(
+                invocation -> schedule(invocation, 0, -1, true));
+        when(scheduler.runTaskLaterAsynchronously(any(Plugin.class), any(Runnable.class), anyLong())).thenAnswer(
+                invocation -> schedule(invocation, arg(invocation, 2), -1, true));
+        when(scheduler.runTaskTimerAsynchronously(any(Plugin.class), any(Runnable.class), anyLong(), anyLong()))
+                .thenAnswer(invocation -> schedule(invocation, arg(invocation, 2), arg(invocation, 3), true));
+
+        doAnswer(invocation -> {
+            cancel(invocation.getArgument(0));
+            return null;
+        }).when(scheduler).cancelTask(anyInt());
+        doAnswer(invocation -> {
+            Plugin plugin = invocation.getArgument(0);
+            for (ScheduledTask task : new ArrayList<>(tasks.values())) {
+                if (task.plugin == plugin) {
+                    cancel(task.getTaskId());
+                }
+            }
+            return null;
+        }).when(scheduler).cancelTasks(any(Plugin.class));
+        when(scheduler.isQueued(anyInt())).thenAnswer(invocation -> tasks.containsKey(invocation.<Integer>getArgument(0)));
+        when(scheduler.isCurrentlyRunning(anyInt())).thenReturn(false);
+    }
+
+    /**
+     * @return The mocked {@link BukkitScheduler} to hand to the server.
+     */
+    public BukkitScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * @return The tick the scheduler is at, starting at 0.
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * @return The number of tasks waiting to run, repeating ones included.
+     */
+    public synchronized int getPendingTaskCount() {
+        return tasks.size();
+    }
+
+    /**
+     * Moves time forward, running every task that comes up in order.
+     *
+     * @param ticks The number of ticks to move forward.
+     */
+    public void advance(long ticks) {
+        for (long i = 0; i < ticks; i++) {
+            tick();
+        }
+    }
+
+    /**
+     * Moves time forward until no tasks are waiting anymore.
+     *
+     * @param maxTicks The most ticks to move forward, so repeating tasks don't run forever.
+     * @return The number of ticks it took.
+     */
+    public long runUntilIdle(long maxTicks) {
+        long start = currentTick;
+        while (!tasks.isEmpty() && currentTick - start < maxTicks) {
+            tick();
+        }
+        return currentTick - start;
+    }
+
+    private synchronized void tick() {
+        currentTick++;
+        int ran = 0;
+        long started = System.nanoTime();
+        while (!queue.isEmpty() && queue.peek().runAt <= currentTick) {
+            ScheduledTask task = queue.poll();
+            if (task.cancelled) {
+                continue;
+            }
+            ran++;
+            if (task.period > 0) {
+                task.runAt = currentTick + task.period;
+                queue.add(task);
+            } else {
+                tasks.remove(task.getTaskId());
+            }
+            task.runnable.run();
+        }
+        if (ran > 0) {
+            ticks.add(new TickStats(currentTick, ran, System.nanoTime() - started));
+        }
+    }
+
+    /**
+     * @return The ticks that ran any tasks, oldest first.
+     */
+    public List<TickStats> getTicks() {
+        return Collections.unmodifiableList(ticks);
+    }
+
+    /**
+     * @return The most tasks that ran in a single tick.
+     */
+    public int getMaxTasksPerTick() {
+        int max = 0;
+        for (TickStats tick : ticks) {
+            max = Math.max(max, tick.getTasks());
+        }
+        return max;
+    }
+
+    /**
+     * @return The longest time the tasks of a single tick took, in nanoseconds.
+     */
+    public long getMaxTickNanos() {
+        long max = 0;
+        for (TickStats tick : ticks) {
+            max = Math.max(max, tick.getNanos());
+        }
+        return max;
+    }
+
+    /**
+     * Asserts that no tick ran more than the given number of tasks.
+     *
+     * @param maxTasks The most tasks a tick may run.
+     */
+    public void assertTasksPerTickAtMost(int maxTasks) {
+        for (TickStats tick : ticks) {
+            assertTrue(String.format("Tick %d ran %d tasks, expected at most %d.", tick.getTick(), tick.getTasks(),
+                    maxTasks), tick.getTasks() <= maxTasks);
+        }
+    }
+
+    /**
+     * Forgets the recorded ticks.
+     */
+    public void resetStats() {
+        ticks.clear();
+    }
+
+    private synchronized ScheduledTask schedule(InvocationOnMock invocation, long delay, long period, boolean async) {
+        ScheduledTask task = new ScheduledTask(nextTaskId++, invocation.getArgument(0), invocation.getArgument(1),
+                currentTick + Math.max(1, delay), period < 0 ? -1 : Math.max(1, period), async);
+        tasks.put(task.id, task);
+        queue.add(task);
+        return task;
+    }
+
+    private synchronized void cancel(int taskId) {
+        ScheduledTask task = tasks.remove(taskId);
+        if (task != null) {
+            // Left in the queue, it's skipped when it comes up.
+            task.cancelled = true;
+        }
+    }
+
+    private static long arg(InvocationOnMock invocation, int index) {
+        return invocation.<Long>getArgument(index);
+    }
+
+    /**
+     * What happened in one tick.
+     */
+    public static final class TickStats {
+        private final long tick;
+        private final int tasks;
+        private final long nanos;
+
+        private TickStats(long tick, int tasks, long nanos) {
+            this.tick = tick;
+            this.tasks = tasks;
+            this.nanos = nanos;
+        }
+
+        public long getTick() {
+            return tick;
+        }
+
+        public int getTasks() {
+            return tasks;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+    }
+
+    private final class ScheduledTask implements BukkitTask, Comparable<ScheduledTask> {
+        private final int id;
+        private final Plugin plugin;
+        private final Runnable runnable;
+        private final long period;
+        private final boolean async;
+        private long runAt;
+        private boolean cancelled;
+
+        private ScheduledTask(int id, Plugin plugin, Runnable runnable, long runAt, long period, boolean async) {
+            this.id = id;
+            this.plugin = plugin;
+            this.runnable = runnable;
+            this.runAt = runAt;
+            this.period = period;
+            this.async = async;
+        }
+
+        @Override
+        public int getTaskId() {
+            return id;
+        }
+
+        @Override
+        public Plugin getOwner() {
+            return plugin;
+        }
+
+        @Override
+        public boolean isSync() {
+            return !async;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void cancel() {
+            VirtualScheduler.this.cancel(id);
+        }
+
+        @Override
+        public int compareTo(ScheduledTask other) {
+            int result = Long.compare(runAt, other.runAt);
+            return result != 0 ? result : Integer.compare(id, other.getTaskId());
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.onarandombox.MultiverseCore.utils;
+
+import com.onarandombox.MultiverseCore.WorldProperties;
+import com.onarandombox.MultiverseCore.api.MultiverseWorld;
+import org.bukkit.World;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class WorldRegistryTest {
+
+    private Map<String, MultiverseWorld> worlds;
+    private Map<String, World> bukkitWorlds;
+    private Map<String, WorldConfigEntry> config;
+
+    @Before
+    public void setUp() {
+        worlds = new LinkedHashMap<String, MultiverseWorld>();
+        bukkitWorlds = new LinkedHashMap<String, World>();
+        config = new LinkedHashMap<String, WorldConfigEntry>();
+    }
+
+    private MultiverseWorld addWorld(String name, String alias, boolean loaded) {
+        WorldProperties props = new WorldProperties();
+        if (alias != null) {
+            props.setAlias(alias);
+        }
+        config.put(name, new WorldConfigEntry(props));
+        MultiverseWorld world = mock(MultiverseWorld.class);
+        when(world.getName()).thenReturn(name);
+        when(world.getAlias()).thenReturn(alias);
+        if (loaded) {
+            worlds.put(name, world);
+            bukkitWorlds.put(name, mock(World.class));
+        }
+        return world;
+    }
+
+    private WorldRegistry build() {
+        return new WorldRegistry(worlds, bukkitWorlds, config, null, null);
+    }
+
+    @Test
+    public void testAliasesIgnoreCase() {
+        MultiverseWorld world = addWorld("world", "Home", true);
+        MultiverseWorld nether = addWorld("world_nether", "", true);
+        WorldRegistry registry = build();
+
+        assertSame(world, registry.getWorldByAlias("home"));
+        assertSame(world, registry.getWorldByAlias("HOME"));
+        // Worlds without an alias are found by their name in any case.
+        assertSame(nether, registry.getWorldByAlias("World_Nether"));
+        assertNull(registry.getWorldByAlias("world"));
+        // Names are exact.
+        assertSame(world, registry.getWorld("world"));
+        assertNull(registry.getWorld("World"));
+    }
+
+    @Test
+    public void testFirstWorldWithAnAliasWins() {
+        MultiverseWorld first = addWorld("first", "shared", true);
+        addWorld("second", "Shared", true);
+        WorldRegistry registry = build();
+        assertSame(first, registry.getWorldByAlias("SHARED"));
+
+        // Loading a world with the same alias later doesn't take it over either.
+        MultiverseWorld third = addWorld("third", "SHARED", false);
+        registry = registry.withLoadedWorld(third, mock(World.class));
+        assertSame(first, registry.getWorldByAlias("shared"));
+        assertSame(third, registry.getWorld("third"));
+    }
+
+    @Test
+    public void testRenamedWorldUsesItsNewAlias() {
+        MultiverseWorld world = addWorld("world", "home", true);
+        WorldRegistry registry = new WorldRegistry(worlds, bukkitWorlds, config, world, "spawn");
+        assertSame(world, registry.getWorldByAlias("Spawn"));
+        assertNull(registry.getWorldByAlias("home"));
+        assertTrue(registry.isConfigured("spawn"));
+    }
+
+    @Test
+    public void testUnloadedAndConfiguredWorlds() {
+        addWorld("world", "home", true);
+        addWorld("far", "away", false);
+        WorldRegistry registry = build();
+
+        assertEquals(Collections.singletonList("far"), registry.getUnloadedWorlds());
+        assertTrue(registry.getUnloadedWorlds().contains("far"));
+        assertFalse(registry.getUnloadedWorlds().contains("world"));
+        // Names and aliases of loaded and unloaded worlds, exactly.
+        assertTrue(registry.isConfigured("far"));
+        assertTrue(registry.isConfigured("away"));
+        assertTrue(registry.isConfigured("home"));
+        assertFalse(registry.isConfigured("Away"));
+        assertFalse(registry.isConfigured("nowhere"));
+    }
+
+    @Test
+    public void testLoadedWorldLeavesTheUnloadedWorlds() {
+        addWorld("world", null, true);
+        MultiverseWorld far = addWorld("far", "away", false);
+        WorldRegistry before = build();
+        World bukkitWorld = mock(World.class);
+        WorldRegistry after = before.withLoadedWorld(far, bukkitWorld);
+
+        assertTrue(after.getUnloadedWorlds().isEmpty());
+        assertSame(far, after.getWorld(bukkitWorld));
+        assertSame(far, after.getWorldByAlias("AWAY"));
+        assertTrue(after.isConfigured("away"));
+        assertEquals(2, after.getWorlds().size());
+        // The old snapshot stays as it was.
+        assertEquals(Arrays.asList("far"), before.getUnloadedWorlds());
+        assertNull(before.getWorld("far"));
+        assertEquals(1, before.getWorlds().size());
+    }
+
+    @Test
+    public void testSnapshotsDoNotChange() {
+        addWorld("world", null, true);
+        WorldRegistry registry = build();
+        // Changing the world manager's maps later doesn't show in the snapshot.
+        addWorld("later", null, true);
+        assertEquals(1, registry.getWorlds().size());
+        assertNull(registry.getWorld("later"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testWorldsAreUnmodifiable() {
+        addWorld("world", null, true);
+        build().getWorlds().clear();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnloadedWorldsAreUnmodifiable() {
+        addWorld("far", null, false);
+        build().getUnloadedWorlds().add("other");
+    }
+}
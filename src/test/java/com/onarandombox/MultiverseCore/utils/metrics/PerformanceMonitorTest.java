@@ -0,0 +1,225 @@
+package com.onarandombox.MultiverseCore.utils.metrics;
+
+import org.bukkit.Server;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PerformanceMonitorTest {
+
+    private Plugin plugin;
+    private PluginManager pluginManager;
+    private PerformanceMonitor monitor;
+
+    @Before
+    public void setUp() {
+        plugin = mock(Plugin.class);
+        Server server = mock(Server.class);
+        pluginManager = mock(PluginManager.class);
+        when(plugin.getServer()).thenReturn(server);
+        when(server.getPluginManager()).thenReturn(pluginManager);
+        monitor = new PerformanceMonitor(plugin);
+    }
+
+    private static long micros(long micros) {
+        return TimeUnit.MICROSECONDS.toNanos(micros);
+    }
+
+    @Test
+    public void testLatenciesGoIntoPowerOfTwoBuckets() {
+        LatencyProbe probe = monitor.probe("test");
+        // Below a microsecond, then 1, 3 and 1000 microseconds.
+        probe.record(500L);
+        assertEquals(1L, probe.getPercentileMicros(1.0));
+        probe.record(micros(1));
+        assertEquals(2L, probe.getPercentileMicros(1.0));
+        probe.record(micros(3));
+        assertEquals(4L, probe.getPercentileMicros(1.0));
+        probe.record(micros(1000));
+        assertEquals(1024L, probe.getPercentileMicros(1.0));
+
+        assertEquals(4L, probe.getCount());
+        assertEquals(500L + micros(1004), probe.getTotalNanos());
+        assertEquals(micros(1000), probe.getMaxNanos());
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyProbe probe = monitor.probe("test");
+        assertEquals(0L, probe.getPercentileMicros(0.5));
+        for (int i = 0; i < 90; i++) {
+            probe.record(micros(3));
+        }
+        for (int i = 0; i < 10; i++) {
+            probe.record(micros(1000));
+        }
+        assertEquals(4L, probe.getPercentileMicros(0.5));
+        assertEquals(4L, probe.getPercentileMicros(0.9));
+        assertEquals(1024L, probe.getPercentileMicros(0.91));
+        assertEquals(1024L, probe.getPercentileMicros(0.99));
+    }
+
+    @Test
+    public void testSlowestCallsUseTheMax() {
+        LatencyProbe probe = monitor.probe("test");
+        probe.record(micros(3));
+        // Well over the last bucket.
+        long slow = TimeUnit.SECONDS.toNanos(100);
+        probe.record(slow);
+        assertEquals(4L, probe.getPercentileMicros(0.5));
+        assertEquals(TimeUnit.NANOSECONDS.toMicros(slow), probe.getPercentileMicros(1.0));
+
+        probe.reset();
+        assertEquals(0L, probe.getCount());
+        assertEquals(0L, probe.getMaxNanos());
+        assertEquals(0L, probe.getPercentileMicros(1.0));
+    }
+
+    @Test
+    public void testProbesOnlyTimeWhileEnabled() {
+        LatencyProbe probe = monitor.probe("test");
+        assertSame(probe, monitor.probe("test"));
+
+        long start = probe.start();
+        assertEquals(LatencyProbe.NOT_TIMED, start);
+        probe.stop(start);
+        assertEquals(0L, probe.getCount());
+        assertTrue(monitor.getActiveProbes().isEmpty());
+
+        monitor.setEnabled(true);
+        probe.stop(probe.start());
+        assertEquals(1L, probe.getCount());
+        assertEquals(1, monitor.getActiveProbes().size());
+        monitor.reset();
+        assertTrue(monitor.getActiveProbes().isEmpty());
+    }
+
+    @Test
+    public void testActiveProbesBySlowestFirst() {
+        monitor.probe("fast").record(micros(1));
+        monitor.probe("idle");
+        monitor.probe("slow").record(micros(100));
+        assertEquals(2, monitor.getActiveProbes().size());
+        assertEquals("slow", monitor.getActiveProbes().get(0).getName());
+        assertEquals("fast", monitor.getActiveProbes().get(1).getName());
+    }
+
+    @Test
+    public void testTimedEventExecutor() throws Exception {
+        monitor.setEnabled(true);
+        LatencyProbe probe = monitor.probe("test");
+        Method method = PingListener.class.getMethod("onPing", PingEvent.class);
+        EventExecutor executor = new TimedEventExecutor(method, PingEvent.class, probe);
+        PingListener listener = new PingListener();
+
+        executor.execute(listener, new PingEvent());
+        assertEquals(1, listener.pings);
+        assertEquals(1L, probe.getCount());
+
+        // Events of other types sharing the handler list are skipped.
+        executor.execute(listener, new OtherEvent());
+        assertEquals(1, listener.pings);
+        assertEquals(1L, probe.getCount());
+
+        // A handler that throws is still timed, and the exception is passed on like Bukkit does.
+        listener.fail = true;
+        try {
+            executor.execute(listener, new PingEvent());
+            fail("The handler's exception wasn't passed on.");
+        } catch (EventException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertEquals(2L, probe.getCount());
+    }
+
+    @Test
+    public void testListenersAreRegisteredAgainWhenToggled() {
+        PingListener listener = new PingListener();
+        monitor.registerTimedListener(listener);
+        verify(pluginManager, times(1)).registerEvents(listener, plugin);
+        verify(pluginManager, never()).registerEvent(any(), any(Listener.class), any(EventPriority.class),
+                any(EventExecutor.class), any(Plugin.class), anyBoolean());
+
+        monitor.setEnabled(true);
+        verify(pluginManager, times(1)).registerEvent(eq(PingEvent.class), eq(listener), eq(EventPriority.HIGH),
+                isA(TimedEventExecutor.class), eq(plugin), eq(true));
+        // Enabling it again changes nothing.
+        monitor.setEnabled(true);
+        verify(pluginManager, times(1)).registerEvent(eq(PingEvent.class), eq(listener), eq(EventPriority.HIGH),
+                isA(TimedEventExecutor.class), eq(plugin), eq(true));
+
+        monitor.setEnabled(false);
+        verify(pluginManager, times(2)).registerEvents(listener, plugin);
+
+        // Listeners that were unregistered stay unregistered.
+        monitor.unregisterTimedListener(listener);
+        monitor.setEnabled(true);
+        verify(pluginManager, times(1)).registerEvent(eq(PingEvent.class), eq(listener), eq(EventPriority.HIGH),
+                isA(TimedEventExecutor.class), eq(plugin), eq(true));
+        verify(pluginManager, times(2)).registerEvents(listener, plugin);
+    }
+
+    public static class PingEvent extends Event {
+        private static final HandlerList HANDLERS = new HandlerList();
+
+        @Override
+        public HandlerList getHandlers() {
+            return HANDLERS;
+        }
+
+        public static HandlerList getHandlerList() {
+            return HANDLERS;
+        }
+    }
+
+    public static class OtherEvent extends Event {
+        private static final HandlerList HANDLERS = new HandlerList();
+
+        @Override
+        public HandlerList getHandlers() {
+            return HANDLERS;
+        }
+
+        public static HandlerList getHandlerList() {
+            return HANDLERS;
+        }
+    }
+
+    public static class PingListener implements Listener {
+        private int pings;
+        private boolean fail;
+
+        @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+        public void onPing(PingEvent event) {
+            if (fail) {
+                throw new IllegalStateException("Failed on purpose.");
+            }
+            pings++;
+        }
+    }
+}